@@ -0,0 +1,27 @@
+package com.grade.rapidjavadevelopment.benchmarks;
+
+import com.grade.rapidjavadevelopment.RapidJavaDevelopmentApplication;
+import com.grade.rapidjavadevelopment.config.TestConfig;
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * The application's beans against a real datasource. Benchmarks run from the test classpath, so
+ * the mocked repositories in {@link TestConfig} have to be kept out of the scan, and scheduling
+ * is left off so the reconcile job cannot fire mid-measurement.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(basePackageClasses = RapidJavaDevelopmentApplication.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                classes = {RapidJavaDevelopmentApplication.class, TestConfig.class}))
+@EntityScan(basePackageClasses = Grade.class)
+@EnableJpaRepositories(basePackageClasses = GradeRepository.class)
+public class BenchmarkApplication {
+}
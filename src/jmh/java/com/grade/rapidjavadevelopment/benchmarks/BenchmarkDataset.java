@@ -0,0 +1,268 @@
+package com.grade.rapidjavadevelopment.benchmarks;
+
+import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeRow;
+import com.grade.rapidjavadevelopment.models.Role;
+import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.repositories.CourseRepository;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import com.grade.rapidjavadevelopment.services.CourseService;
+import com.grade.rapidjavadevelopment.services.GpaCache;
+import com.grade.rapidjavadevelopment.services.GradeColumnStore;
+import com.grade.rapidjavadevelopment.services.GradeService;
+import com.grade.rapidjavadevelopment.services.GradeStatisticsService;
+import lombok.Getter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Deterministic grade data for benchmarks, served either from plain in-memory collections (with
+ * the column store loaded, no database at all) or from an H2 database behind the real Spring
+ * context. Every student is graded in {@value #GRADES_PER_STUDENT} courses, spread over the last
+ * {@value #HISTORY_DAYS} days, so datasets of different sizes keep the same shape.
+ */
+@Getter
+public class BenchmarkDataset implements AutoCloseable {
+
+    public static final String IN_MEMORY = "in-memory";
+    public static final String H2 = "h2";
+
+    static final int GRADES_PER_STUDENT = 20;
+    static final int HISTORY_DAYS = 120;
+    private static final int MAX_COURSES = 500;
+    private static final int INSERT_BATCH_SIZE = 5000;
+
+    private final User[] students;
+    private final Course[] courses;
+    private final GradeService gradeService;
+    private final GradeStatisticsService statisticsService;
+    private final GpaCache gpaCache;
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkDataset(User[] students, Course[] courses, GradeService gradeService,
+                             GradeStatisticsService statisticsService, GpaCache gpaCache,
+                             ConfigurableApplicationContext context) {
+        this.students = students;
+        this.courses = courses;
+        this.gradeService = gradeService;
+        this.statisticsService = statisticsService;
+        this.gpaCache = gpaCache;
+        this.context = context;
+    }
+
+    public static BenchmarkDataset create(String backend, int gradeCount) {
+        int studentCount = Math.max(1, gradeCount / GRADES_PER_STUDENT);
+        int courseCount = Math.max(GRADES_PER_STUDENT, Math.min(MAX_COURSES, gradeCount / 100));
+        User[] students = new User[studentCount];
+        for (int i = 0; i < studentCount; i++) {
+            User student = new User();
+            student.setId(i + 1L);
+            student.setUsername("student" + (i + 1));
+            student.setEmail("student" + (i + 1) + "@example.com");
+            student.setPassword("{noop}password");
+            student.setRole(Role.ROLE_USER);
+            students[i] = student;
+        }
+        Course[] courses = new Course[courseCount];
+        for (int i = 0; i < courseCount; i++) {
+            Course course = new Course();
+            course.setId(i + 1L);
+            course.setCourseName("Course " + (i + 1));
+            course.setCourseCode("C" + (i + 1));
+            course.setCredits(1 + i % 6);
+            courses[i] = course;
+        }
+        List<Grade> grades = generateGrades(gradeCount, students, courses);
+
+        return switch (backend) {
+            case IN_MEMORY -> inMemory(students, courses, grades);
+            case H2 -> h2(students, courses, grades);
+            default -> throw new IllegalArgumentException("Unknown benchmark backend: " + backend);
+        };
+    }
+
+    private static List<Grade> generateGrades(int gradeCount, User[] students, Course[] courses) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<Grade> grades = new ArrayList<>(gradeCount);
+        for (int i = 0; i < gradeCount; i++) {
+            User student = students[(i / GRADES_PER_STUDENT) % students.length];
+            // Consecutive courses per student, offset by student, so course sizes stay even.
+            Course course = courses[(int) ((student.getId() * 7 + i % GRADES_PER_STUDENT) % courses.length)];
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(HISTORY_DAYS * 24 * 60));
+
+            Grade grade = new Grade();
+            grade.setId(i + 1L);
+            grade.setStudent(student);
+            grade.setCourse(course);
+            grade.setGrade(50 + random.nextInt(101) / 2.0);
+            grade.setCreatedAt(createdAt);
+            grade.setUpdatedAt(createdAt);
+            grades.add(grade);
+        }
+        return grades;
+    }
+
+    private static BenchmarkDataset inMemory(User[] students, Course[] courses, List<Grade> grades) {
+        Map<Long, List<Grade>> byStudent = new HashMap<>();
+        Map<Long, List<Grade>> byStudentAndCourse = new HashMap<>();
+        for (Grade grade : grades) {
+            long studentId = grade.getStudent().getId();
+            byStudent.computeIfAbsent(studentId, id -> new ArrayList<>()).add(grade);
+            byStudentAndCourse.computeIfAbsent(studentId * courses.length + grade.getCourse().getId(),
+                    key -> new ArrayList<>()).add(grade);
+        }
+        byStudentAndCourse.values().forEach(list ->
+                list.sort((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt())));
+
+        Map<String, Function<Object[], Object>> gradeQueries = new HashMap<>();
+        gradeQueries.put("findByStudent", args -> byStudent.getOrDefault(((User) args[0]).getId(), List.of()));
+        gradeQueries.put("findByCourseAndStudentOrderByCreatedAtDesc", args -> byStudentAndCourse.getOrDefault(
+                ((User) args[1]).getId() * courses.length + ((Course) args[0]).getId(), List.of()));
+        gradeQueries.put("findGradeRowsAfter", args -> gradeRowsAfter(grades, (Long) args[0], (Pageable) args[1]));
+        GradeRepository gradeRepository = repository(GradeRepository.class, gradeQueries);
+
+        List<Long> courseIds = new ArrayList<>();
+        for (Course course : courses) {
+            courseIds.add(course.getId());
+        }
+        CourseRepository courseRepository = repository(CourseRepository.class,
+                Map.of("findAllIds", args -> courseIds));
+
+        CourseService courseService = new CourseService();
+        ReflectionTestUtils.setField(courseService, "courseRepository", courseRepository);
+
+        GradeColumnStore columnStore = new GradeColumnStore();
+        ReflectionTestUtils.setField(columnStore, "gradeRepository", gradeRepository);
+        columnStore.load();
+
+        ApplicationEventPublisher noEvents = event -> { };
+        GpaCache gpaCache = new GpaCache();
+        GradeService gradeService = new GradeService();
+        ReflectionTestUtils.setField(gradeService, "gradeRepository", gradeRepository);
+        ReflectionTestUtils.setField(gradeService, "courseService", courseService);
+        ReflectionTestUtils.setField(gradeService, "eventPublisher", noEvents);
+        ReflectionTestUtils.setField(gradeService, "gpaCache", gpaCache);
+        ReflectionTestUtils.setField(gradeService, "gradeColumnStore", columnStore);
+
+        GradeStatisticsService statisticsService = new GradeStatisticsService();
+        ReflectionTestUtils.setField(statisticsService, "gradeService", gradeService);
+        ReflectionTestUtils.setField(statisticsService, "courseService", courseService);
+        ReflectionTestUtils.setField(statisticsService, "eventPublisher", noEvents);
+        ReflectionTestUtils.setField(statisticsService, "gradeColumnStore", columnStore);
+        ReflectionTestUtils.setField(statisticsService, "recomputeSource", "column-store");
+
+        return new BenchmarkDataset(students, courses, gradeService, statisticsService, gpaCache, null);
+    }
+
+    private static List<GradeRow> gradeRowsAfter(List<Grade> grades, Long afterId, Pageable pageable) {
+        // Grade ids are 1..n in list order.
+        int from = (int) Math.max(0, Math.min(afterId, grades.size()));
+        int to = Math.min(grades.size(), from + pageable.getPageSize());
+        List<GradeRow> rows = new ArrayList<>(to - from);
+        for (Grade grade : grades.subList(from, to)) {
+            rows.add(new GradeRow(grade.getId(), grade.getStudent().getId(), grade.getCourse().getId(),
+                    grade.getCourse().getCredits(), grade.getGrade(), grade.getCreatedAt()));
+        }
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> queries) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> query = queries.get(method.getName());
+            if (query != null) {
+                return query.apply(args);
+            }
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName();
+                default:
+                    break;
+            }
+            throw new UnsupportedOperationException(method.getName() + " is not available in benchmarks");
+        });
+    }
+
+    private static BenchmarkDataset h2(User[] students, Course[] courses, List<Grade> grades) {
+        // Command-line arguments so they override application.properties (the MySQL datasource).
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchmarkApplication.class).run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + grades.size(),
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--server.port=0",
+                "--analytics.column-store.enabled=false",
+                "--logging.level.root=WARN");
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> userRows = new ArrayList<>(students.length);
+        for (User student : students) {
+            userRows.add(new Object[]{student.getId(), student.getUsername(), student.getEmail(),
+                    student.getPassword(), student.getRole().name(), student.getTokenVersion()});
+        }
+        insert(jdbcTemplate, "insert into users (id, username, email, password, role, token_version) "
+                + "values (?, ?, ?, ?, ?, ?)", userRows);
+
+        List<Object[]> courseRows = new ArrayList<>(courses.length);
+        for (Course course : courses) {
+            courseRows.add(new Object[]{course.getId(), course.getCourseName(), course.getCourseCode(), course.getCredits()});
+        }
+        insert(jdbcTemplate, "insert into courses (id, course_name, course_code, credits) values (?, ?, ?, ?)", courseRows);
+
+        List<Object[]> gradeRows = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (Grade grade : grades) {
+            Timestamp createdAt = Timestamp.valueOf(grade.getCreatedAt());
+            gradeRows.add(new Object[]{grade.getId(), grade.getStudent().getId(), grade.getCourse().getId(),
+                    grade.getGrade(), createdAt, createdAt});
+            if (gradeRows.size() == INSERT_BATCH_SIZE) {
+                insertGrades(jdbcTemplate, gradeRows);
+                gradeRows.clear();
+            }
+        }
+        insertGrades(jdbcTemplate, gradeRows);
+
+        return new BenchmarkDataset(students, courses, context.getBean(GradeService.class),
+                context.getBean(GradeStatisticsService.class), context.getBean(GpaCache.class), context);
+    }
+
+    private static void insertGrades(JdbcTemplate jdbcTemplate, List<Object[]> rows) {
+        insert(jdbcTemplate, "insert into grades (id, user_id, course_id, grade, created_at, updated_at) "
+                + "values (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(rows.size(), from + INSERT_BATCH_SIZE)));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
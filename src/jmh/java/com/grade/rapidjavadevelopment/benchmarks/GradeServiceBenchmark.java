@@ -0,0 +1,78 @@
+package com.grade.rapidjavadevelopment.benchmarks;
+
+import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GPA lookups for one student at a time, cycling through every student so no single row stays
+ * hot. {@code calculateGpaUncached} evicts the student first and so measures the full load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class GradeServiceBenchmark {
+
+    @Param({BenchmarkDataset.IN_MEMORY, BenchmarkDataset.H2})
+    private String backend;
+
+    @Param({"1000", "100000", "1000000"})
+    private int grades;
+
+    private BenchmarkDataset dataset;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.create(backend, grades);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    private User nextStudent() {
+        User[] students = dataset.getStudents();
+        next = next + 1 < students.length ? next + 1 : 0;
+        return students[next];
+    }
+
+    @Benchmark
+    public double calculateGpaUncached() {
+        User student = nextStudent();
+        dataset.getGpaCache().evict(student.getId());
+        return dataset.getGradeService().calculateGPA(student);
+    }
+
+    @Benchmark
+    public double calculateGpaCached() {
+        return dataset.getGradeService().calculateGPA(nextStudent());
+    }
+
+    @Benchmark
+    public Double calculateCourseGpa() {
+        User student = nextStudent();
+        Course[] courses = dataset.getCourses();
+        // The first course the dataset assigned to this student, so the lookup always finds grades.
+        Course course = courses[(int) ((student.getId() * 7) % courses.length)];
+        return dataset.getGradeService().calculateCourseGPA(course, student);
+    }
+}
@@ -0,0 +1,55 @@
+package com.grade.rapidjavadevelopment.benchmarks;
+
+import com.grade.rapidjavadevelopment.models.CourseStatisticsSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full statistics recompute. The in-memory backend recomputes from the column store, the H2
+ * backend runs the aggregate queries the database source uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class GradeStatisticsServiceBenchmark {
+
+    @Param({BenchmarkDataset.IN_MEMORY, BenchmarkDataset.H2})
+    private String backend;
+
+    @Param({"1000", "100000", "1000000"})
+    private int grades;
+
+    private BenchmarkDataset dataset;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataset = BenchmarkDataset.create(backend, grades);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataset.close();
+    }
+
+    @Benchmark
+    public CourseStatisticsSnapshot updateCourseStatistics() {
+        dataset.getStatisticsService().updateCourseStatistics();
+        return dataset.getStatisticsService().getSnapshot();
+    }
+}
@@ -0,0 +1,53 @@
+package com.grade.rapidjavadevelopment.config;
+
+import com.grade.rapidjavadevelopment.exception.RateLimitExceededException;
+import com.grade.rapidjavadevelopment.services.AuthRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
+/**
+ * Applies {@link AuthRateLimiter} to the form login and registration posts before the
+ * credentials are bound or checked. Not a bean, so it only runs inside the form-login chain.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final RequestMatcher CREDENTIAL_POSTS = new OrRequestMatcher(
+            antMatcher(HttpMethod.POST, "/login"),
+            antMatcher(HttpMethod.POST, "/register"));
+
+    private final AuthRateLimiter rateLimiter;
+
+    public AuthRateLimitFilter(AuthRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !CREDENTIAL_POSTS.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            rateLimiter.checkAttempt(request.getRemoteAddr(), request.getParameter("username"));
+        } catch (RateLimitExceededException e) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), e.getMessage());
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,83 @@
+package com.grade.rapidjavadevelopment.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * JCache region factory that sizes each Caffeine cache from Hibernate properties:
+ * {@code hibernate.cache.caffeine.<region>.maximum-size} and
+ * {@code hibernate.cache.caffeine.<region>.expire-after-write} (an ISO-8601 duration). Regions
+ * without settings are unbounded, which is what the update timestamps region needs.
+ * <p>
+ * Every session factory gets a cache manager of its own, so two of them in one JVM, each on its
+ * own database, never see each other's entries.
+ */
+public class CaffeineRegionFactory extends JCacheRegionFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(CaffeineRegionFactory.class);
+
+    static final String SETTINGS_PREFIX = "hibernate.cache.caffeine.";
+    static final String MAXIMUM_SIZE = "maximum-size";
+    static final String EXPIRE_AFTER_WRITE = "expire-after-write";
+
+    private final Map<String, CaffeineConfiguration<Object, Object>> configurations = new HashMap<>();
+
+    @Override
+    protected CacheManager resolveCacheManager(SessionFactoryOptions settings, Map<String, Object> properties) {
+        properties.forEach((key, value) -> {
+            if (key.startsWith(SETTINGS_PREFIX) && value != null) {
+                configure(key.substring(SETTINGS_PREFIX.length()), value.toString().trim());
+            }
+        });
+        CachingProvider provider = getCachingProvider(properties);
+        return provider.getCacheManager(URI.create("urn:hibernate-l2:" + UUID.randomUUID()), getClassLoader(provider));
+    }
+
+    private void configure(String regionAndSetting, String value) {
+        int separator = regionAndSetting.lastIndexOf('.');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Expected " + SETTINGS_PREFIX + "<region>.<setting>, got "
+                    + SETTINGS_PREFIX + regionAndSetting);
+        }
+        String region = regionAndSetting.substring(0, separator);
+        String setting = regionAndSetting.substring(separator + 1);
+        CaffeineConfiguration<Object, Object> configuration = configurations.computeIfAbsent(region,
+                name -> newConfiguration());
+        switch (setting) {
+            case MAXIMUM_SIZE -> configuration.setMaximumSize(OptionalLong.of(Long.parseLong(value)));
+            case EXPIRE_AFTER_WRITE ->
+                    configuration.setExpireAfterWrite(OptionalLong.of(Duration.parse(value).toNanos()));
+            default -> throw new IllegalArgumentException("Unknown cache setting " + SETTINGS_PREFIX + regionAndSetting);
+        }
+    }
+
+    private static CaffeineConfiguration<Object, Object> newConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate only stores immutable, disassembled state; copying it on every access is wasted work.
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        CaffeineConfiguration<Object, Object> configuration = configurations.get(regionName);
+        if (configuration == null) {
+            logger.debug("No size or expiry configured for cache region {}; it is unbounded", regionName);
+            configuration = newConfiguration();
+        }
+        return getCacheManager().createCache(regionName, configuration);
+    }
+}
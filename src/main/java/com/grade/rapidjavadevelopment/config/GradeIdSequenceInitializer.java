@@ -0,0 +1,65 @@
+package com.grade.rapidjavadevelopment.config;
+
+import com.grade.rapidjavadevelopment.models.Grade;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the grade id sequence past ids already in the table. Grades used to be IDENTITY
+ * columns, so an existing database has rows the new sequence knows nothing about. Runs once the
+ * schema exists and before the web server accepts requests; it never moves the sequence back.
+ */
+@Component
+public class GradeIdSequenceInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeIdSequenceInitializer.class);
+
+    static final String SEQUENCE_NAME = "grades_seq";
+
+    @Autowired
+    private ObjectProvider<JdbcTemplate> jdbcTemplateProvider;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        JdbcTemplate jdbcTemplate = jdbcTemplateProvider.getIfAvailable();
+        if (jdbcTemplate != null) {
+            seed(jdbcTemplate);
+        }
+    }
+
+    void seed(JdbcTemplate jdbcTemplate) {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from grades", Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // Hibernate's pooled optimizer hands out (value - allocationSize, value] for each value it
+        // reads, so the first id after seeding is maxId + 1.
+        long target = maxId + Grade.ID_ALLOCATION_SIZE;
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+
+        if ("H2".equals(product)) {
+            Long next = jdbcTemplate.queryForObject("select base_value from information_schema.sequences "
+                    + "where upper(sequence_name) = upper(?)", Long.class, SEQUENCE_NAME);
+            if (next != null && next < target) {
+                jdbcTemplate.execute("alter sequence " + SEQUENCE_NAME + " restart with " + target);
+                logger.info("Moved {} from {} to {}", SEQUENCE_NAME, next, target);
+            }
+        } else if ("MySQL".equals(product)) {
+            // MySQL has no sequences; Hibernate emulates one with a single-row table.
+            int updated = jdbcTemplate.update("update " + SEQUENCE_NAME + " set next_val = ? where next_val < ?",
+                    target, target);
+            if (updated > 0) {
+                logger.info("Moved {} to {}", SEQUENCE_NAME, target);
+            }
+        } else {
+            logger.warn("Not seeding {} on {}; make sure it starts above {}", SEQUENCE_NAME, product, maxId);
+        }
+    }
+}
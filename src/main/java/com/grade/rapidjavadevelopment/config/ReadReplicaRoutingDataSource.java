@@ -0,0 +1,109 @@
+package com.grade.rapidjavadevelopment.config;
+
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary.
+ * After a user's write commits, that user's reads stay on the primary for a while, so a page
+ * loaded right after saving never shows the replica's older copy.
+ * <p>
+ * The routing key is read when a connection is actually needed, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for its connection before the transaction is marked read-only.
+ * <p>
+ * Work that compares against what has just been committed, whatever the user, wraps itself in
+ * {@link #onPrimary} instead of relying on the read-your-writes window.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    @FunctionalInterface
+    public interface PrimaryWork<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    // Writes made outside a login (registration, scheduled jobs) share one window.
+    static final String ANONYMOUS_WRITER = "";
+
+    private static final int SWEEP_THRESHOLD = 10_000;
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final long readYourWritesNanos;
+    private final Map<String, Long> lastWriteNanosByUser = new ConcurrentHashMap<>();
+
+    public ReadReplicaRoutingDataSource(long readYourWritesMs) {
+        this.readYourWritesNanos = readYourWritesMs * 1_000_000;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Any read-write transaction counts as a write; telling a real one apart is not worth it.
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    // Ahead of after-commit listeners, which may read back what was just written.
+                    @Override
+                    public int getOrder() {
+                        return Ordered.HIGHEST_PRECEDENCE;
+                    }
+
+                    @Override
+                    public void afterCommit() {
+                        recordWrite(user);
+                    }
+                });
+            }
+            return Target.PRIMARY;
+        }
+        return PINNED_TO_PRIMARY.get() != null || wroteRecently(user) ? Target.PRIMARY : Target.REPLICA;
+    }
+
+    /**
+     * Runs {@code work} with the read-only transactions it starts on this thread routed to the
+     * primary. Threads it hands work to must pin themselves. Without a replica this just runs it.
+     */
+    public static <T, E extends Exception> T onPrimary(PrimaryWork<T, E> work) throws E {
+        if (PINNED_TO_PRIMARY.get() != null) {
+            return work.run();
+        }
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+        try {
+            return work.run();
+        } finally {
+            PINNED_TO_PRIMARY.remove();
+        }
+    }
+
+    void recordWrite(String user) {
+        long now = System.nanoTime();
+        lastWriteNanosByUser.put(user, now);
+        if (lastWriteNanosByUser.size() > SWEEP_THRESHOLD) {
+            lastWriteNanosByUser.values().removeIf(writtenAt -> now - writtenAt >= readYourWritesNanos);
+        }
+    }
+
+    boolean wroteRecently(String user) {
+        Long writtenAt = lastWriteNanosByUser.get(user);
+        return writtenAt != null && System.nanoTime() - writtenAt < readYourWritesNanos;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return ANONYMOUS_WRITER;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,53 @@
+package com.grade.rapidjavadevelopment.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hit ratio per second-level cache region. Hibernate's own meters count hits and misses; this
+ * adds the ratio, which is what the region sizes and expiry are tuned against.
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    @Autowired
+    private ObjectProvider<EntityManagerFactory> entityManagerFactoryProvider;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        EntityManagerFactory entityManagerFactory = entityManagerFactoryProvider.getIfAvailable();
+        if (entityManagerFactory == null) {
+            return;
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            // Timestamps are checked by the query cache, not looked up by key; a ratio means nothing there.
+            if (RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(region)) {
+                continue;
+            }
+            Gauge.builder("hibernate.second.level.cache.hit.ratio", statistics, s -> hitRatio(s, region))
+                    .tag("region", region)
+                    .description("Share of second-level cache lookups answered from the cache")
+                    .register(registry);
+        }
+    }
+
+    static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) {
+            return 0.0;
+        }
+        long hits = regionStatistics.getHitCount();
+        long total = hits + regionStatistics.getMissCount();
+        return total > 0 ? (double) hits / total : 0.0;
+    }
+}
@@ -1,17 +1,21 @@
 package com.grade.rapidjavadevelopment.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grade.rapidjavadevelopment.exception.PasswordHashingBusyException;
+import com.grade.rapidjavadevelopment.services.AuthRateLimiter;
 import com.grade.rapidjavadevelopment.services.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -26,13 +30,16 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final CustomUserDetailsService userDetailsService;
     private final ObjectMapper objectMapper;
+    private final AuthRateLimiter authRateLimiter;
 
     public SecurityConfig(JwtAuthenticationFilter jwtAuthFilter,
                           CustomUserDetailsService userDetailsService,
-                          ObjectMapper objectMapper) {
+                          ObjectMapper objectMapper,
+                          AuthRateLimiter authRateLimiter) {
         this.jwtAuthFilter = jwtAuthFilter;
         this.userDetailsService = userDetailsService;
         this.objectMapper = objectMapper;
+        this.authRateLimiter = authRateLimiter;
     }
 
     @Bean
@@ -41,8 +48,10 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:10}") int strength,
+                                           @Value("${security.password.hash-threads:4}") int threads,
+                                           @Value("${security.password.hash-queue-capacity:64}") int queueCapacity) {
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity);
     }
 
     @Bean
@@ -52,7 +61,10 @@ public class SecurityConfig {
                 .securityMatcher("/api/**")
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches resume a request that was already authorized (e.g. SSE streams).
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/api/grades/import", "/api/grades/export").hasAuthority("ROLE_ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
@@ -81,6 +93,8 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/register", "/register/**", "/login", "/css/**", "/js/**").permitAll()
+                        // Scraped without a session; served only on management.server.port, off the public network.
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         .requestMatchers("/admin/**").hasAuthority("ROLE_ADMIN")
                         .requestMatchers("/user/**").hasAuthority("ROLE_USER")
                         .anyRequest().authenticated()
@@ -88,13 +102,21 @@ public class SecurityConfig {
                 .formLogin(form -> form
                         .loginPage("/login")
                         .defaultSuccessUrl("/courses", true)
-                        .failureUrl("/login?error")
+                        .failureHandler((request, response, exception) -> {
+                            if (exception instanceof PasswordHashingBusyException) {
+                                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, exception.getMessage());
+                            } else {
+                                response.sendRedirect(request.getContextPath() + "/login?error");
+                            }
+                        })
                         .permitAll()
                 )
                 .logout(logout -> logout
                         .logoutUrl("/logout")
                         .logoutSuccessUrl("/login")
-                        .permitAll());
+                        .permitAll())
+                .addFilterBefore(new AuthRateLimitFilter(authRateLimiter), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -2,14 +2,21 @@ package com.grade.rapidjavadevelopment.controllers;
 
 import com.grade.rapidjavadevelopment.models.AuthRequest;
 import com.grade.rapidjavadevelopment.models.AuthResponse;
+import com.grade.rapidjavadevelopment.models.RefreshRequest;
+import com.grade.rapidjavadevelopment.models.UserPrincipal;
+import com.grade.rapidjavadevelopment.services.AuthRateLimiter;
 import com.grade.rapidjavadevelopment.services.CustomUserDetailsService;
+import com.grade.rapidjavadevelopment.services.RefreshTokenService;
 import com.grade.rapidjavadevelopment.utils.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.Data;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -23,19 +30,29 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final CustomUserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final AuthRateLimiter authRateLimiter;
 
     public AuthController(AuthenticationManager authenticationManager,
                           CustomUserDetailsService userDetailsService,
-                          JwtUtil jwtUtil) {
+                          JwtUtil jwtUtil,
+                          RefreshTokenService refreshTokenService,
+                          AuthRateLimiter authRateLimiter) {
         this.authenticationManager = authenticationManager;
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
+        this.refreshTokenService = refreshTokenService;
+        this.authRateLimiter = authRateLimiter;
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> createAuthenticationToken(@Valid @RequestBody AuthRequest authRequest) {
+    public ResponseEntity<?> createAuthenticationToken(@Valid @RequestBody AuthRequest authRequest,
+                                                       HttpServletRequest request) {
+        authRateLimiter.checkAttempt(request.getRemoteAddr(), authRequest.getUsername());
+
+        Authentication authentication;
         try {
-            authenticationManager.authenticate(
+            authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
                             authRequest.getUsername(),
                             authRequest.getPassword()
@@ -47,12 +64,35 @@ public class AuthController {
                     .body(new ErrorResponse("Invalid username or password"));
         }
 
-        final UserDetails userDetails = userDetailsService
-                .loadUserByUsername(authRequest.getUsername());
+        final UserDetails userDetails = authentication != null && authentication.getPrincipal() instanceof UserDetails principal
+                ? principal
+                : userDetailsService.loadUserByUsername(authRequest.getUsername());
         final String jwt = jwtUtil.generateToken(userDetails);
 
+        if (userDetails instanceof UserPrincipal principal && principal.getId() != null) {
+            String refreshToken = refreshTokenService.issue(principal.getId(), principal.getTokenVersion());
+            return ResponseEntity.ok(new AuthResponse(jwt, refreshToken, jwtUtil.getAccessTokenValiditySeconds()));
+        }
         return ResponseEntity.ok(new AuthResponse(jwt));
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshAuthenticationToken(@Valid @RequestBody RefreshRequest refreshRequest) {
+        return refreshTokenService.rotate(refreshRequest.getRefreshToken())
+                .<ResponseEntity<?>>map(rotation -> ResponseEntity.ok(new AuthResponse(
+                        jwtUtil.generateToken(rotation.getPrincipal()),
+                        rotation.getRefreshToken(),
+                        jwtUtil.getAccessTokenValiditySeconds())))
+                .orElseGet(() -> ResponseEntity
+                        .status(HttpStatus.UNAUTHORIZED)
+                        .body(new ErrorResponse("Invalid or expired refresh token")));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> revokeRefreshToken(@Valid @RequestBody RefreshRequest refreshRequest) {
+        refreshTokenService.revoke(refreshRequest.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
 }
 
 @Data
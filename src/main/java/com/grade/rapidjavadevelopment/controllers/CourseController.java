@@ -1,19 +1,28 @@
 package com.grade.rapidjavadevelopment.controllers;
 
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseDistribution;
 import com.grade.rapidjavadevelopment.models.User;
 import com.grade.rapidjavadevelopment.services.CourseService;
+import com.grade.rapidjavadevelopment.services.GradeService;
 import com.grade.rapidjavadevelopment.services.GradeStatisticsService;
+import com.grade.rapidjavadevelopment.services.StatisticsBroadcaster;
 import com.grade.rapidjavadevelopment.services.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 @RequestMapping("/courses")
@@ -29,6 +38,12 @@ public class CourseController {
     @Autowired
     private GradeStatisticsService gradeStatisticsService;
 
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private StatisticsBroadcaster statisticsBroadcaster;
+
     @GetMapping
     public String listCourses(Model model, Authentication authentication) {
         try {
@@ -36,16 +51,31 @@ public class CourseController {
             List<Course> courses = courseService.getCoursesByUser(currentUser);
             model.addAttribute("courses", courses);
             model.addAttribute("courseAverages", gradeStatisticsService.getCourseAverages());
+            Map<Long, CourseDistribution> courseDistributions = new HashMap<>();
+            courses.forEach(course -> courseDistributions.put(
+                    course.getId(), gradeStatisticsService.getCourseDistribution(course.getId())));
+            model.addAttribute("courseDistributions", courseDistributions);
             model.addAttribute("statisticsLastUpdate", gradeStatisticsService.getLastUpdateTime());
         } catch (Exception e) {
             logger.error("Error fetching course list or statistics: {}", e.getMessage());
             model.addAttribute("courses", List.of());
             model.addAttribute("courseAverages", List.of());
+            model.addAttribute("courseDistributions", Map.of());
             model.addAttribute("statisticsLastUpdate", null);
         }
         return "courses/list";
     }
 
+    @GetMapping(path = "/statistics/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamStatistics(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return statisticsBroadcaster.subscribe(lastEventId);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
     @GetMapping("/create")
     public String showCreateForm(Model model) {
         model.addAttribute("course", new Course());
@@ -80,12 +110,16 @@ public class CourseController {
     public String updateCourse(@PathVariable Long id, @ModelAttribute Course course, Authentication authentication) {
         try {
             Course existingCourse = courseService.getCourseById(id);
+            boolean creditsChanged = existingCourse.getCredits() != course.getCredits();
 
             existingCourse.setCourseName(course.getCourseName());
             existingCourse.setCourseCode(course.getCourseCode());
             existingCourse.setCredits(course.getCredits());
 
             courseService.saveCourse(existingCourse);
+            if (creditsChanged) {
+                gradeService.courseCreditsChanged(id, existingCourse.getCredits());
+            }
 
             return "redirect:/courses";
         } catch (Exception e) {
@@ -1,15 +1,16 @@
 package com.grade.rapidjavadevelopment.controllers;
 
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseSummary;
+import com.grade.rapidjavadevelopment.models.CursorPage;
 import com.grade.rapidjavadevelopment.services.CourseService;
+import com.grade.rapidjavadevelopment.services.GradeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/courses")
 public class CourseRestController {
@@ -17,34 +18,45 @@ public class CourseRestController {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private GradeService gradeService;
+
     @GetMapping
-    public ResponseEntity<List<Course>> getAllCourses() {
-        return ResponseEntity.ok(courseService.getAllCourses());
+    public ResponseEntity<CursorPage<CourseSummary>> getAllCourses(@RequestParam(defaultValue = CourseService.SORT_BY_ID) String sort,
+                                                                   @RequestParam(required = false) String after,
+                                                                   @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(courseService.getCoursePage(sort, after, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Course> getCourseById(@PathVariable Long id) {
-        Course course = courseService.getCourseById(id);
-        if (course == null) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found with id: " + id);
-        }
+    public ResponseEntity<CourseSummary> getCourseById(@PathVariable Long id) {
+        CourseSummary course = courseService.getCourseSummary(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found with id: " + id));
         return ResponseEntity.ok(course);
     }
 
     @PostMapping
-    public ResponseEntity<Course> createCourse(@RequestBody Course course) {
+    public ResponseEntity<CourseSummary> createCourse(@RequestBody Course course) {
         Course savedCourse = courseService.saveCourse(course);
-        return ResponseEntity.ok(savedCourse);
+        return ResponseEntity.ok(CourseSummary.of(savedCourse));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Course> updateCourse(@PathVariable Long id, @RequestBody Course course) {
+    public ResponseEntity<CourseSummary> updateCourse(@PathVariable Long id, @RequestBody Course course) {
         Course existingCourse = courseService.getCourseById(id);
+        boolean creditsChanged = existingCourse.getCredits() != course.getCredits();
         existingCourse.setCourseName(course.getCourseName());
         existingCourse.setCourseCode(course.getCourseCode());
         existingCourse.setCredits(course.getCredits());
         Course updatedCourse = courseService.saveCourse(existingCourse);
-        return ResponseEntity.ok(updatedCourse);
+        if (creditsChanged) {
+            gradeService.courseCreditsChanged(id, existingCourse.getCredits());
+        }
+        return ResponseEntity.ok(CourseSummary.of(updatedCourse));
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,37 @@
+package com.grade.rapidjavadevelopment.controllers;
+
+import com.grade.rapidjavadevelopment.models.CourseDistribution;
+import com.grade.rapidjavadevelopment.models.CourseWindowStatistics;
+import com.grade.rapidjavadevelopment.services.GradeStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/courses/{courseId}/statistics")
+public class CourseStatisticsRestController {
+
+    @Autowired
+    private GradeStatisticsService gradeStatisticsService;
+
+    @GetMapping
+    public ResponseEntity<CourseDistribution> getCourseDistribution(@PathVariable Long courseId) {
+        return ResponseEntity.ok(gradeStatisticsService.getCourseDistribution(courseId));
+    }
+
+    @GetMapping("/window")
+    public ResponseEntity<CourseWindowStatistics> getCourseWindowStatistics(@PathVariable Long courseId,
+                                                                            @RequestParam(defaultValue = "30") int window) {
+        try {
+            return ResponseEntity.ok(gradeStatisticsService.getCourseWindowStatistics(courseId, window));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
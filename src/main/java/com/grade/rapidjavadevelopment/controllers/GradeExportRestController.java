@@ -0,0 +1,45 @@
+package com.grade.rapidjavadevelopment.controllers;
+
+import com.grade.rapidjavadevelopment.services.GradeExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/grades/export")
+public class GradeExportRestController {
+
+    @Autowired
+    private GradeExportService gradeExportService;
+
+    /**
+     * Streams grades straight into the response body. Written on the request thread rather than
+     * asynchronously, so a long export is not cut off by the async request timeout.
+     */
+    @GetMapping
+    public void exportGrades(@RequestParam(defaultValue = GradeExportService.FORMAT_CSV) String format,
+                             @RequestParam(required = false) Long courseId,
+                             @RequestParam(required = false) Long studentId,
+                             HttpServletResponse response) throws IOException {
+        if (!GradeExportService.isSupportedFormat(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        }
+        response.setContentType(GradeExportService.FORMAT_CSV.equals(format)
+                ? GradeImportRestController.TEXT_CSV
+                : MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("grades." + format).build().toString());
+        gradeExportService.export(courseId, studentId, format, response.getOutputStream());
+    }
+}
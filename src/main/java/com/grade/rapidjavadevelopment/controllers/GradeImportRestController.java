@@ -0,0 +1,43 @@
+package com.grade.rapidjavadevelopment.controllers;
+
+import com.grade.rapidjavadevelopment.models.GradeImportReport;
+import com.grade.rapidjavadevelopment.services.GradeImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/grades/import")
+public class GradeImportRestController {
+
+    static final String TEXT_CSV = "text/csv";
+
+    @Autowired
+    private GradeImportService gradeImportService;
+
+    /**
+     * Imports grades from the raw request body, read as a stream rather than buffered. Rows that
+     * cannot be imported are listed in the report; the rest are stored.
+     */
+    @PostMapping(consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<GradeImportReport> importGrades(@RequestHeader("Content-Type") MediaType contentType,
+                                                          InputStream body) throws IOException {
+        String format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? GradeImportService.FORMAT_NDJSON
+                : GradeImportService.FORMAT_CSV;
+        try {
+            return ResponseEntity.ok(gradeImportService.importGrades(body, format));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.grade.rapidjavadevelopment.controllers;
 
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseGpa;
+import com.grade.rapidjavadevelopment.models.CursorPage;
 import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeSummary;
 import com.grade.rapidjavadevelopment.models.User;
 import com.grade.rapidjavadevelopment.services.CourseService;
 import com.grade.rapidjavadevelopment.services.GradeService;
@@ -11,9 +14,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/courses/{courseId}/grades")
@@ -29,15 +32,22 @@ public class GradeRestController {
     private UserService userService;
 
     @GetMapping
-    public ResponseEntity<List<Grade>> getGradesForCourse(@PathVariable Long courseId, Authentication authentication) {
+    public ResponseEntity<CursorPage<GradeSummary>> getGradesForCourse(@PathVariable Long courseId,
+                                                                       @RequestParam(defaultValue = GradeService.SORT_NEWEST_FIRST) String sort,
+                                                                       @RequestParam(required = false) String after,
+                                                                       @RequestParam(required = false) Integer limit,
+                                                                       Authentication authentication) {
         Course course = courseService.getCourseById(courseId);
         User currentUser = userService.findByUsername(authentication.getName());
-        List<Grade> grades = gradeService.getGradesByCourseAndStudent(course, currentUser);
-        return ResponseEntity.ok(grades);
+        try {
+            return ResponseEntity.ok(gradeService.getGradePage(course, currentUser, sort, after, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 
     @PostMapping
-    public ResponseEntity<Grade> addGrade(@PathVariable Long courseId, @RequestBody Grade grade, Authentication authentication) {
+    public ResponseEntity<GradeSummary> addGrade(@PathVariable Long courseId, @RequestBody Grade grade, Authentication authentication) {
         User currentUser = userService.findByUsername(authentication.getName());
         Course course = courseService.getCourseById(courseId);
 
@@ -47,7 +57,7 @@ public class GradeRestController {
         grade.setUpdatedAt(LocalDateTime.now());
 
         Grade savedGrade = gradeService.saveGrade(grade);
-        return ResponseEntity.ok(savedGrade);
+        return ResponseEntity.ok(GradeSummary.of(savedGrade));
     }
 
     @DeleteMapping("/{gradeId}")
@@ -63,10 +73,9 @@ public class GradeRestController {
     }
 
     @GetMapping("/gpa")
-    public ResponseEntity<Double> getCourseGPA(@PathVariable Long courseId, Authentication authentication) {
+    public ResponseEntity<CourseGpa> getCourseGPA(@PathVariable Long courseId, Authentication authentication) {
         Course course = courseService.getCourseById(courseId);
         User currentUser = userService.findByUsername(authentication.getName());
-        Double gpa = gradeService.calculateCourseGPA(course, currentUser);
-        return ResponseEntity.ok(gpa);
+        return ResponseEntity.ok(gradeService.getCourseGpa(course.getId(), currentUser.getId()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package com.grade.rapidjavadevelopment.controllers;
+
+import com.grade.rapidjavadevelopment.models.CourseStatisticsSnapshot;
+import com.grade.rapidjavadevelopment.models.CourseWindowStatistics;
+import com.grade.rapidjavadevelopment.models.StatisticsRecomputeReport;
+import com.grade.rapidjavadevelopment.services.GradeStatisticsService;
+import com.grade.rapidjavadevelopment.services.StatisticsBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/statistics")
+public class StatisticsRestController {
+
+    @Autowired
+    private GradeStatisticsService gradeStatisticsService;
+
+    @Autowired
+    private StatisticsBroadcaster statisticsBroadcaster;
+
+    @GetMapping("/courses")
+    public ResponseEntity<CourseStatisticsSnapshot> getCourseStatistics(WebRequest request) {
+        CourseStatisticsSnapshot snapshot = gradeStatisticsService.getSnapshot();
+        String eTag = "\"" + gradeStatisticsService.getSnapshotEpoch() + "-" + snapshot.getVersion() + "\"";
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(snapshot);
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCourseStatistics(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            return statisticsBroadcaster.subscribe(lastEventId);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @GetMapping("/courses/window")
+    public ResponseEntity<List<CourseWindowStatistics>> getWindowStatistics(@RequestParam(defaultValue = "30") int window) {
+        try {
+            return ResponseEntity.ok(gradeStatisticsService.getWindowStatistics(window));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/recompute")
+    public ResponseEntity<StatisticsRecomputeReport> getLastRecomputeReport() {
+        StatisticsRecomputeReport report = gradeStatisticsService.getLastRecomputeReport();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.noContent().build();
+    }
+}
@@ -1,8 +1,11 @@
 package com.grade.rapidjavadevelopment.controllers;
 
+import com.grade.rapidjavadevelopment.exception.PasswordHashingBusyException;
 import com.grade.rapidjavadevelopment.models.Role;
 import com.grade.rapidjavadevelopment.models.User;
 import com.grade.rapidjavadevelopment.services.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -14,6 +17,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @Controller
 public class UserController {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserController.class);
+
     @Autowired
     private UserService userService;
 
@@ -37,8 +42,10 @@ public class UserController {
 
             redirectAttributes.addFlashAttribute("successMessage", "Registration successful!");
             return "redirect:/login";
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
-            System.out.println("Registration error: " + e.getMessage());
+            logger.warn("Registration failed: {}", e.getMessage());
             redirectAttributes.addFlashAttribute("errorMessage", "Registration failed. Please try again.");
             return "redirect:/register";
         }
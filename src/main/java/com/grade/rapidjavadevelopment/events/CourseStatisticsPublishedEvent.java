@@ -0,0 +1,11 @@
+package com.grade.rapidjavadevelopment.events;
+
+import com.grade.rapidjavadevelopment.models.CourseStatisticsSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CourseStatisticsPublishedEvent {
+    private final CourseStatisticsSnapshot snapshot;
+}
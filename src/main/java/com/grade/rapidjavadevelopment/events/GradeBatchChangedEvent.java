@@ -0,0 +1,29 @@
+package com.grade.rapidjavadevelopment.events;
+
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeRow;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Many grade changes committed together, such as one chunk of an import or the grades of a
+ * deleted course. Listeners apply every change and then publish their results once, instead of
+ * once per grade.
+ */
+@Getter
+@AllArgsConstructor
+public class GradeBatchChangedEvent {
+
+    private final List<GradeChangedEvent> changes;
+
+    public static GradeBatchChangedEvent added(Collection<Grade> grades) {
+        return new GradeBatchChangedEvent(grades.stream().map(GradeChangedEvent::added).toList());
+    }
+
+    public static GradeBatchChangedEvent removed(Collection<GradeRow> rows) {
+        return new GradeBatchChangedEvent(rows.stream().map(GradeChangedEvent::removed).toList());
+    }
+}
@@ -0,0 +1,51 @@
+package com.grade.rapidjavadevelopment.events;
+
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeRow;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class GradeChangedEvent {
+
+    public enum Type {
+        ADDED,
+        UPDATED,
+        REMOVED
+    }
+
+    private final Type type;
+    private final Long gradeId;
+    private final Long courseId;
+    private final Long studentId;
+    private final Double value;
+    private final LocalDateTime createdAt;
+    private final Integer credits;
+
+    public static GradeChangedEvent added(Grade grade) {
+        return of(Type.ADDED, grade);
+    }
+
+    public static GradeChangedEvent updated(Grade grade) {
+        return of(Type.UPDATED, grade);
+    }
+
+    public static GradeChangedEvent removed(Grade grade) {
+        return of(Type.REMOVED, grade);
+    }
+
+    public static GradeChangedEvent removed(GradeRow row) {
+        return new GradeChangedEvent(Type.REMOVED, row.getGradeId(), row.getCourseId(), row.getStudentId(),
+                row.getValue(), row.getCreatedAt(), row.getCredits());
+    }
+
+    private static GradeChangedEvent of(Type type, Grade grade) {
+        Long courseId = grade.getCourse() != null ? grade.getCourse().getId() : null;
+        Integer credits = grade.getCourse() != null ? grade.getCourse().getCredits() : null;
+        Long studentId = grade.getStudent() != null ? grade.getStudent().getId() : null;
+        return new GradeChangedEvent(type, grade.getId(), courseId, studentId, grade.getGrade(), grade.getCreatedAt(), credits);
+    }
+}
@@ -0,0 +1,14 @@
+package com.grade.rapidjavadevelopment.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+/**
+ * Thrown when the password-hashing queue is full. It is an authentication exception so login
+ * flows treat it as a failed attempt rather than an internal error, and it maps to 503.
+ */
+public class PasswordHashingBusyException extends AuthenticationServiceException {
+
+    public PasswordHashingBusyException() {
+        super("Too many password checks in progress, try again shortly");
+    }
+}
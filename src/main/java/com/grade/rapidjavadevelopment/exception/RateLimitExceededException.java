@@ -0,0 +1,18 @@
+package com.grade.rapidjavadevelopment.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a client or username has used up its login or registration attempts; maps to 429
+ * with a {@code Retry-After} header.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(long retryAfterSeconds) {
+        super("Too many attempts, try again later");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
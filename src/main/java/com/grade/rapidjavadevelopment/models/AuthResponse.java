@@ -5,8 +5,16 @@ import lombok.Data;
 @Data
 public class AuthResponse {
     private String token;
+    private String refreshToken;
+    private Long expiresIn;
 
     public AuthResponse(String token) {
         this.token = token;
     }
-}
\ No newline at end of file
+
+    public AuthResponse(String token, String refreshToken, long expiresIn) {
+        this.token = token;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+}
@@ -7,19 +7,29 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "courses")
+@Table(name = "courses", indexes = {
+        @Index(name = "idx_courses_course_code", columnList = "courseCode"),
+        @Index(name = "idx_courses_course_name", columnList = "courseName, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Course.CACHE_REGION)
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@JsonIgnoreProperties({"grades"})
+@JsonIgnoreProperties({"grades", "hibernateLazyInitializer", "handler"})
 public class Course {
 
+    public static final String CACHE_REGION = "courses";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -40,13 +50,22 @@ public class Course {
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<Grade> grades = new HashSet<>();
 
+    /**
+     * Links the grade to this course. The grade owns the association, so the {@code grades} set is
+     * only kept in step when it is already loaded; touching it otherwise would load every grade
+     * of the course.
+     */
     public void addGrade(Grade grade) {
-        grades.add(grade);
+        if (Hibernate.isInitialized(grades)) {
+            grades.add(grade);
+        }
         grade.setCourse(this);
     }
 
     public void removeGrade(Grade grade) {
-        grades.remove(grade);
+        if (Hibernate.isInitialized(grades)) {
+            grades.remove(grade);
+        }
         grade.setCourse(null);
     }
 }
\ No newline at end of file
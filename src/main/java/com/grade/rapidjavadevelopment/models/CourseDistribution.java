@@ -0,0 +1,20 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CourseDistribution {
+    private final Long courseId;
+    private final long count;
+    private final double average;
+    private final Double min;
+    private final Double max;
+    private final Double median;
+    private final Double p10;
+    private final Double p90;
+    private final List<HistogramBucket> buckets;
+}
@@ -0,0 +1,13 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CourseGpa {
+    private final Long courseId;
+    private final Long studentId;
+    private final Double gpa;
+    private final Long gradeCount;
+}
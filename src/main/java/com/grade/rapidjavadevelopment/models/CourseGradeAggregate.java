@@ -0,0 +1,15 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CourseGradeAggregate {
+    private final Long courseId;
+    private final Long count;
+    private final Double sum;
+    private final Double average;
+    private final Double min;
+    private final Double max;
+}
@@ -0,0 +1,164 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable view of every course average at one point in time. Course ids are kept in a sorted
+ * primitive array next to their averages, so lookups are a binary search without boxing, and a
+ * published snapshot can be shared between threads without copying or locking.
+ */
+public final class CourseStatisticsSnapshot {
+
+    public static final CourseStatisticsSnapshot EMPTY =
+            new CourseStatisticsSnapshot(0L, null, new long[0], new double[0]);
+
+    @Getter
+    private final long version;
+    @Getter
+    private final LocalDateTime timestamp;
+    @Getter
+    private final Map<Long, Double> averages;
+
+    private final long[] courseIds;
+    private final double[] averageValues;
+
+    private CourseStatisticsSnapshot(long version, LocalDateTime timestamp, long[] courseIds, double[] averageValues) {
+        this.version = version;
+        this.timestamp = timestamp;
+        this.courseIds = courseIds;
+        this.averageValues = averageValues;
+        this.averages = new AveragesView();
+    }
+
+    /**
+     * Builds a snapshot from parallel arrays. The arrays are taken over by the snapshot and must
+     * not be modified afterwards.
+     */
+    public static CourseStatisticsSnapshot of(long version, LocalDateTime timestamp, long[] courseIds, double[] averages) {
+        if (courseIds.length != averages.length) {
+            throw new IllegalArgumentException("Course ids and averages must have the same length");
+        }
+        long[] sortedIds = courseIds;
+        double[] sortedAverages = averages;
+        if (!isSorted(courseIds)) {
+            Integer[] order = new Integer[courseIds.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(courseIds[a], courseIds[b]));
+            sortedIds = new long[courseIds.length];
+            sortedAverages = new double[averages.length];
+            for (int i = 0; i < order.length; i++) {
+                sortedIds[i] = courseIds[order[i]];
+                sortedAverages[i] = averages[order[i]];
+            }
+        }
+        return new CourseStatisticsSnapshot(version, timestamp, sortedIds, sortedAverages);
+    }
+
+    /**
+     * Copy of this snapshot with new averages for courses it already holds. The course ids are
+     * shared with this snapshot, so a change to a few courses costs one array copy, not a sort.
+     *
+     * @throws IllegalArgumentException when a course is not part of this snapshot
+     */
+    public CourseStatisticsSnapshot withAverages(long version, LocalDateTime timestamp,
+                                                 long[] changedCourseIds, double[] changedAverages) {
+        if (changedCourseIds.length != changedAverages.length) {
+            throw new IllegalArgumentException("Course ids and averages must have the same length");
+        }
+        double[] updated = averageValues.clone();
+        for (int i = 0; i < changedCourseIds.length; i++) {
+            int index = Arrays.binarySearch(courseIds, changedCourseIds[i]);
+            if (index < 0) {
+                throw new IllegalArgumentException("Course " + changedCourseIds[i] + " is not in this snapshot");
+            }
+            updated[index] = changedAverages[i];
+        }
+        return new CourseStatisticsSnapshot(version, timestamp, courseIds, updated);
+    }
+
+    private static boolean isSorted(long[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1] >= values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public double getAverage(long courseId) {
+        int index = Arrays.binarySearch(courseIds, courseId);
+        return index >= 0 ? averageValues[index] : 0.0;
+    }
+
+    public boolean containsCourse(long courseId) {
+        return Arrays.binarySearch(courseIds, courseId) >= 0;
+    }
+
+    public int size() {
+        return courseIds.length;
+    }
+
+    private final class AveragesView extends AbstractMap<Long, Double> {
+
+        @Override
+        public Double get(Object key) {
+            if (!(key instanceof Long courseId)) {
+                return null;
+            }
+            int index = Arrays.binarySearch(courseIds, courseId);
+            return index >= 0 ? averageValues[index] : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Long courseId && containsCourse(courseId);
+        }
+
+        @Override
+        public int size() {
+            return courseIds.length;
+        }
+
+        @Override
+        public Set<Entry<Long, Double>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Long, Double>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < courseIds.length;
+                        }
+
+                        @Override
+                        public Entry<Long, Double> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = next++;
+                            return new SimpleImmutableEntry<>(courseIds[index], averageValues[index]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return courseIds.length;
+                }
+            };
+        }
+    }
+}
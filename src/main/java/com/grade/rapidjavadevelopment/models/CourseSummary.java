@@ -0,0 +1,20 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Read-only view of a course for REST responses; carries no associations.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseSummary {
+    private final Long id;
+    private final String courseName;
+    private final String courseCode;
+    private final int credits;
+
+    public static CourseSummary of(Course course) {
+        return new CourseSummary(course.getId(), course.getCourseName(), course.getCourseCode(), course.getCredits());
+    }
+}
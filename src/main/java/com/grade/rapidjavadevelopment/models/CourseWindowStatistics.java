@@ -0,0 +1,17 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class CourseWindowStatistics {
+    private final Long courseId;
+    private final int windowDays;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long count;
+    private final double average;
+}
@@ -10,22 +10,32 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "grades")
+@Table(name = "grades", indexes = {
+        @Index(name = "idx_grades_student_course_grade", columnList = "user_id, course_id, grade"),
+        @Index(name = "idx_grades_course_student_created", columnList = "course_id, user_id, created_at")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 @Setter
 @Getter
 public class Grade {
 
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Sequence ids (a table on MySQL) are assigned before the insert, so Hibernate can batch grade
+    // inserts; IDENTITY forces one round trip per row. allocationSize must match the sequence increment.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "grade_seq")
+    @SequenceGenerator(name = "grade_seq", sequenceName = "grades_seq", allocationSize = Grade.ID_ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    // Lazy so listing grades never loads their users and courses one row at a time; repository
+    // methods that need them fetch them with an entity graph.
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User student;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id")
     private Course course;
 
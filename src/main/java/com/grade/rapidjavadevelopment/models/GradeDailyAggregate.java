@@ -0,0 +1,15 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+@Getter
+@AllArgsConstructor
+public class GradeDailyAggregate {
+    private final Long courseId;
+    private final LocalDate day;
+    private final Long count;
+    private final Double sum;
+}
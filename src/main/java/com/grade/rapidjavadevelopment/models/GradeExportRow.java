@@ -0,0 +1,22 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One exported grade. Field names match the import columns, so an export can be imported again.
+ */
+@Getter
+@AllArgsConstructor
+public class GradeExportRow {
+    private final Long id;
+    private final String username;
+    private final String courseCode;
+    private final Double grade;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long studentId;
+    private final Long courseId;
+}
@@ -0,0 +1,11 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GradeImportError {
+    private final long line;
+    private final String message;
+}
@@ -0,0 +1,39 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a grade import. Every rejected row is counted, but only the first
+ * {@code maxReportedErrors} are listed so a bad file cannot grow the report without bound.
+ */
+@Getter
+public class GradeImportReport {
+    private long imported;
+    private long failed;
+    private final List<GradeImportError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Getter(AccessLevel.NONE)
+    private final int maxReportedErrors;
+
+    public GradeImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public void recordImported(int count) {
+        imported += count;
+    }
+
+    public void recordError(long line, String message) {
+        failed++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new GradeImportError(line, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+}
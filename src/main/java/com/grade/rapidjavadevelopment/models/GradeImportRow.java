@@ -0,0 +1,25 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One parsed line of a grade import. {@code error} is set, and the other fields may be null, when
+ * the line could not be parsed.
+ */
+@Getter
+@AllArgsConstructor
+public class GradeImportRow {
+    private final long line;
+    private final String username;
+    private final String courseCode;
+    private final Double grade;
+    private final LocalDateTime createdAt;
+    private final String error;
+
+    public static GradeImportRow invalid(long line, String error) {
+        return new GradeImportRow(line, null, null, null, null, error);
+    }
+}
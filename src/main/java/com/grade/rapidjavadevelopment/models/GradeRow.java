@@ -0,0 +1,17 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class GradeRow {
+    private final Long gradeId;
+    private final Long studentId;
+    private final Long courseId;
+    private final Integer credits;
+    private final Double value;
+    private final LocalDateTime createdAt;
+}
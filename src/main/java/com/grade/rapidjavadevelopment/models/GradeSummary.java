@@ -0,0 +1,32 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a grade for REST responses. The course and student are referenced by id only,
+ * so building one never loads either association.
+ */
+@Getter
+@AllArgsConstructor
+public class GradeSummary {
+    private final Long id;
+    private final Long courseId;
+    private final Long studentId;
+    private final Double grade;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    public static GradeSummary of(Grade grade) {
+        // Reading the id of an uninitialized proxy does not hit the database.
+        return new GradeSummary(
+                grade.getId(),
+                grade.getCourse() != null ? grade.getCourse().getId() : null,
+                grade.getStudent() != null ? grade.getStudent().getId() : null,
+                grade.getGrade(),
+                grade.getCreatedAt(),
+                grade.getUpdatedAt());
+    }
+}
@@ -0,0 +1,12 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GradeValueCount {
+    private final Long courseId;
+    private final Double value;
+    private final Long count;
+}
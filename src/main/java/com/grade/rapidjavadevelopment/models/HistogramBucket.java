@@ -0,0 +1,12 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class HistogramBucket {
+    private final double lowerBound;
+    private final double upperBound;
+    private final long count;
+}
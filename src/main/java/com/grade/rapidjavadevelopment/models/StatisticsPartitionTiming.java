@@ -0,0 +1,16 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class StatisticsPartitionTiming {
+    private final int partition;
+    private final Long firstCourseId;
+    private final Long lastCourseId;
+    private final int courses;
+    private final long waitMillis;
+    private final long queryMillis;
+    private final long totalMillis;
+}
@@ -0,0 +1,19 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class StatisticsRecomputeReport {
+    private final boolean parallel;
+    private final LocalDateTime startedAt;
+    private final long durationMillis;
+    private final int courses;
+    private final int poolSize;
+    private final int maxDbConnections;
+    private final List<StatisticsPartitionTiming> partitions;
+}
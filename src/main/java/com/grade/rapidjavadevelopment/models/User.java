@@ -6,23 +6,35 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_role", columnList = "role"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.CACHE_REGION)
+@NaturalIdCache(region = User.USERNAME_CACHE_REGION)
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@JsonIgnoreProperties({"courses"})
+@JsonIgnoreProperties({"courses", "hibernateLazyInitializer", "handler"})
 public class User {
 
+    public static final String CACHE_REGION = "users";
+    public static final String USERNAME_CACHE_REGION = "users-by-username";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Admins can rename accounts, hence mutable.
+    @NaturalId(mutable = true)
     @Column(unique = true)
     private String username;
     private String email;
@@ -31,6 +43,10 @@ public class User {
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // Bumped whenever the account changes; tokens carrying an older version are rejected.
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion;
+
     @ManyToMany(mappedBy = "students")
     private Set<Course> courses = new HashSet<>();
 }
\ No newline at end of file
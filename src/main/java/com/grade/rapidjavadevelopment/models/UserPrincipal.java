@@ -0,0 +1,25 @@
+package com.grade.rapidjavadevelopment.models;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * The authenticated user, either loaded from the database at login or rebuilt from a verified
+ * JWT, in which case the password is empty.
+ */
+@Getter
+public class UserPrincipal extends User {
+
+    private final Long id;
+    private final int tokenVersion;
+
+    public UserPrincipal(Long id, String username, String password, int tokenVersion,
+                         Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+        this.tokenVersion = tokenVersion;
+    }
+}
@@ -1,13 +1,53 @@
 package com.grade.rapidjavadevelopment.repositories;
 
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseSummary;
 import com.grade.rapidjavadevelopment.models.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
-    List<Course> findByStudentsContaining(User user);
+    String COURSE_SUMMARY_COLUMNS = "c.id, c.courseName, c.courseCode, c.credits";
+
+    // A join rather than the derived "containing" query, which tests every course with a subquery.
+    @Query("select c from Course c join c.students s where s = :user")
+    List<Course> findByStudentsContaining(@Param("user") User user);
+
+    List<Course> findByCourseCodeIn(Collection<String> courseCodes);
+
+    @Query("select c.id from Course c order by c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Long> findAllIds();
+
+    @Query("select new com.grade.rapidjavadevelopment.models.CourseSummary(" + COURSE_SUMMARY_COLUMNS + ") " +
+            "from Course c where c.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<CourseSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.CourseSummary(" + COURSE_SUMMARY_COLUMNS + ") " +
+            "from Course c where c.id > :afterId order by c.id")
+    List<CourseSummary> findPageOrderById(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Courses without a name sort first; these two queries cover positions inside and after that block.
+    @Query("select new com.grade.rapidjavadevelopment.models.CourseSummary(" + COURSE_SUMMARY_COLUMNS + ") " +
+            "from Course c where (c.courseName is null and c.id > :afterId) or c.courseName is not null " +
+            "order by c.courseName asc nulls first, c.id")
+    List<CourseSummary> findPageOrderByCourseNameAfterUnnamed(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.CourseSummary(" + COURSE_SUMMARY_COLUMNS + ") " +
+            "from Course c where c.courseName > :afterName or (c.courseName = :afterName and c.id > :afterId) " +
+            "order by c.courseName, c.id")
+    List<CourseSummary> findPageOrderByCourseNameAfter(@Param("afterName") String afterName,
+                                                       @Param("afterId") Long afterId, Pageable pageable);
 }
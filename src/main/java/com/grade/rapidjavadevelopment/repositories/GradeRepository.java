@@ -1,16 +1,135 @@
 package com.grade.rapidjavadevelopment.repositories;
 
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseGpa;
+import com.grade.rapidjavadevelopment.models.CourseGradeAggregate;
 import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeDailyAggregate;
+import com.grade.rapidjavadevelopment.models.GradeRow;
+import com.grade.rapidjavadevelopment.models.GradeSummary;
+import com.grade.rapidjavadevelopment.models.GradeValueCount;
 import com.grade.rapidjavadevelopment.models.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface GradeRepository extends JpaRepository<Grade, Long> {
+public interface GradeRepository extends JpaRepository<Grade, Long>, GradeRepositoryCustom {
+    String GRADE_SUMMARY_COLUMNS = "g.id, g.course.id, g.student.id, g.grade, g.createdAt, g.updatedAt";
+
+    // Callers check ownership and adjust course statistics, so load both ends with the grade.
+    @Override
+    @EntityGraph(attributePaths = {"course", "student"})
+    Optional<Grade> findById(Long id);
+
+    // GPA weighting reads every grade's course credits.
+    @EntityGraph(attributePaths = "course")
     List<Grade> findByStudent(User student);
+
+    @EntityGraph(attributePaths = "student")
     List<Grade> findByCourse(Course course);
+
     List<Grade> findByCourseAndStudentOrderByCreatedAtDesc(Course course, User student);
-}
\ No newline at end of file
+
+    @Query("select distinct g.student.id from Grade g where g.course.id = :courseId")
+    List<Long> findStudentIdsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.CourseGradeAggregate(" +
+            "c.id, count(g), sum(g.grade), avg(g.grade), min(g.grade), max(g.grade)) " +
+            "from Course c left join c.grades g group by c.id")
+    List<CourseGradeAggregate> aggregateGradesByCourse();
+
+    @Query("select new com.grade.rapidjavadevelopment.models.CourseGradeAggregate(" +
+            "c.id, count(g), sum(g.grade), avg(g.grade), min(g.grade), max(g.grade)) " +
+            "from Course c left join c.grades g where c.id = :courseId group by c.id")
+    Optional<CourseGradeAggregate> aggregateGradesForCourse(@Param("courseId") Long courseId);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.CourseGradeAggregate(" +
+            "c.id, count(g), sum(g.grade), avg(g.grade), min(g.grade), max(g.grade)) " +
+            "from Course c left join c.grades g where c.id between :fromCourseId and :toCourseId group by c.id")
+    List<CourseGradeAggregate> aggregateGradesForCourseRange(@Param("fromCourseId") Long fromCourseId,
+                                                             @Param("toCourseId") Long toCourseId);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.GradeValueCount(g.course.id, g.grade, count(g)) " +
+            "from Grade g group by g.course.id, g.grade")
+    List<GradeValueCount> countGradeValuesByCourse();
+
+    @Query("select new com.grade.rapidjavadevelopment.models.GradeValueCount(g.course.id, g.grade, count(g)) " +
+            "from Grade g where g.course.id = :courseId group by g.course.id, g.grade")
+    List<GradeValueCount> countGradeValuesForCourse(@Param("courseId") Long courseId);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.GradeValueCount(g.course.id, g.grade, count(g)) " +
+            "from Grade g where g.course.id between :fromCourseId and :toCourseId group by g.course.id, g.grade")
+    List<GradeValueCount> countGradeValuesForCourseRange(@Param("fromCourseId") Long fromCourseId,
+                                                         @Param("toCourseId") Long toCourseId);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.GradeDailyAggregate(" +
+            "g.course.id, cast(g.createdAt as LocalDate), count(g), sum(g.grade)) " +
+            "from Grade g where g.createdAt >= :since and g.course.id between :fromCourseId and :toCourseId " +
+            "group by g.course.id, cast(g.createdAt as LocalDate)")
+    List<GradeDailyAggregate> aggregateGradesByDaySince(@Param("since") LocalDateTime since,
+                                                        @Param("fromCourseId") Long fromCourseId,
+                                                        @Param("toCourseId") Long toCourseId);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.GradeRow(" +
+            "g.id, s.id, c.id, c.credits, g.grade, g.createdAt) " +
+            "from Grade g join g.course c left join g.student s where g.id > :afterId order by g.id")
+    List<GradeRow> findGradeRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.GradeRow(" +
+            "g.id, s.id, c.id, c.credits, g.grade, g.createdAt) " +
+            "from Grade g join g.course c left join g.student s where c.id = :courseId")
+    List<GradeRow> findGradeRowsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.GradeRow(" +
+            "g.id, s.id, c.id, c.credits, g.grade, g.createdAt) " +
+            "from Grade g join g.course c join g.student s where s.id = :studentId")
+    List<GradeRow> findGradeRowsByStudentId(@Param("studentId") Long studentId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Grade g where g.student.id = :studentId")
+    int deleteByStudentId(@Param("studentId") Long studentId);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.CourseGpa(g.course.id, g.student.id, avg(g.grade), count(g)) " +
+            "from Grade g where g.course.id = :courseId and g.student.id = :studentId group by g.course.id, g.student.id")
+    Optional<CourseGpa> findCourseGpa(@Param("courseId") Long courseId, @Param("studentId") Long studentId);
+
+    // REST listings select only the grade's own columns and the foreign keys, never the associations.
+    @Query("select new com.grade.rapidjavadevelopment.models.GradeSummary(" + GRADE_SUMMARY_COLUMNS + ") " +
+            "from Grade g where g.course = :course and g.student = :student and g.id > :afterId order by g.id")
+    List<GradeSummary> findPageByCourseAndStudentOrderById(@Param("course") Course course, @Param("student") User student,
+                                                           @Param("afterId") Long afterId, Pageable pageable);
+
+    // Newest first; grades without a timestamp sort last.
+    @Query("select new com.grade.rapidjavadevelopment.models.GradeSummary(" + GRADE_SUMMARY_COLUMNS + ") " +
+            "from Grade g where g.course = :course and g.student = :student " +
+            "order by g.createdAt desc nulls last, g.id desc")
+    List<GradeSummary> findFirstPageByCourseAndStudentNewestFirst(@Param("course") Course course,
+                                                                  @Param("student") User student, Pageable pageable);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.GradeSummary(" + GRADE_SUMMARY_COLUMNS + ") " +
+            "from Grade g where g.course = :course and g.student = :student " +
+            "and (g.createdAt < :before or (g.createdAt = :before and g.id < :beforeId) or g.createdAt is null) " +
+            "order by g.createdAt desc nulls last, g.id desc")
+    List<GradeSummary> findPageByCourseAndStudentNewestFirstBefore(@Param("course") Course course,
+                                                                   @Param("student") User student,
+                                                                   @Param("before") LocalDateTime before,
+                                                                   @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("select new com.grade.rapidjavadevelopment.models.GradeSummary(" + GRADE_SUMMARY_COLUMNS + ") " +
+            "from Grade g where g.course = :course and g.student = :student " +
+            "and g.createdAt is null and g.id < :beforeId order by g.id desc")
+    List<GradeSummary> findPageByCourseAndStudentUndatedBefore(@Param("course") Course course,
+                                                               @Param("student") User student,
+                                                               @Param("beforeId") Long beforeId, Pageable pageable);
+}
@@ -0,0 +1,26 @@
+package com.grade.rapidjavadevelopment.repositories;
+
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeExportRow;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface GradeRepositoryCustom {
+
+    /**
+     * Inserts new grades in JDBC batches and then clears the persistence context, so a long-running
+     * import does not keep every grade (and the users and courses it loaded) managed. Entities
+     * loaded earlier in the transaction are detached as well.
+     */
+    void insertAll(List<Grade> grades);
+
+    /**
+     * Streams grades in id order through a forward-only cursor, handing each row to {@code consumer}
+     * as it is read. Rows are projections, never managed entities, so the persistence context
+     * stays empty however many rows pass through. Either filter may be null.
+     *
+     * @return the number of rows read
+     */
+    long exportRows(Long courseId, Long studentId, int fetchSize, Consumer<GradeExportRow> consumer);
+}
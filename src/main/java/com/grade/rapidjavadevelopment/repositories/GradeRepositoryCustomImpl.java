@@ -0,0 +1,71 @@
+package com.grade.rapidjavadevelopment.repositories;
+
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeExportRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+class GradeRepositoryCustomImpl implements GradeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public void insertAll(List<Grade> grades) {
+        for (Grade grade : grades) {
+            entityManager.persist(grade);
+        }
+        // hibernate.jdbc.batch_size groups these into batched inserts.
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportRows(Long courseId, Long studentId, int fetchSize, Consumer<GradeExportRow> consumer) {
+        List<String> filters = new ArrayList<>();
+        if (courseId != null) {
+            filters.add("c.id = :courseId");
+        }
+        if (studentId != null) {
+            filters.add("s.id = :studentId");
+        }
+        StringBuilder jpql = new StringBuilder("select new com.grade.rapidjavadevelopment.models.GradeExportRow(" +
+                "g.id, s.username, c.courseCode, g.grade, g.createdAt, g.updatedAt, s.id, c.id) " +
+                "from Grade g left join g.student s left join g.course c");
+        if (!filters.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", filters));
+        }
+        jpql.append(" order by g.id");
+
+        Query<GradeExportRow> query = entityManager.unwrap(Session.class)
+                .createQuery(jpql.toString(), GradeExportRow.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true);
+        if (courseId != null) {
+            query.setParameter("courseId", courseId);
+        }
+        if (studentId != null) {
+            query.setParameter("studentId", studentId);
+        }
+
+        long rows = 0;
+        try (ScrollableResults<GradeExportRow> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                consumer.accept(results.get());
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
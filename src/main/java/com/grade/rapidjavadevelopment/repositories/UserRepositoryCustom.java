@@ -0,0 +1,14 @@
+package com.grade.rapidjavadevelopment.repositories;
+
+import com.grade.rapidjavadevelopment.models.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Looks the user up by natural id, so a repeated lookup is answered from the second-level
+     * cache instead of a query on the username.
+     */
+    Optional<User> findByUsername(String username);
+}
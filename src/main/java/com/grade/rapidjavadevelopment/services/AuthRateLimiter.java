@@ -0,0 +1,134 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client-IP and per-username token buckets for the endpoints that hash passwords, so a
+ * credential-stuffing burst is turned away before it reaches BCrypt. The IP bucket is checked
+ * first; a request it rejects does not spend the username's tokens. Callers pass
+ * {@code request.getRemoteAddr()}, which is the client's address behind a reverse proxy only
+ * because {@code server.forward-headers-strategy} is set; without it every client would share
+ * the proxy's bucket.
+ */
+@Component
+public class AuthRateLimiter implements MeterBinder {
+
+    @Value("${security.rate-limit.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${security.rate-limit.ip.capacity:20}")
+    private int ipCapacity = 20;
+
+    @Value("${security.rate-limit.ip.refill-per-minute:20}")
+    private int ipRefillPerMinute = 20;
+
+    @Value("${security.rate-limit.username.capacity:5}")
+    private int usernameCapacity = 5;
+
+    @Value("${security.rate-limit.username.refill-per-minute:5}")
+    private int usernameRefillPerMinute = 5;
+
+    @Value("${security.rate-limit.max-keys:100000}")
+    private int maxKeys = 100000;
+
+    private TokenBuckets ipBuckets;
+    private TokenBuckets usernameBuckets;
+    private final LongAdder ipRejections = new LongAdder();
+    private final LongAdder usernameRejections = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        long now = System.nanoTime();
+        ipBuckets = new TokenBuckets(ipCapacity, ipRefillPerMinute, maxKeys, now);
+        usernameBuckets = new TokenBuckets(usernameCapacity, usernameRefillPerMinute, maxKeys, now);
+    }
+
+    /**
+     * Spends one attempt for the client and the username, throwing
+     * {@link RateLimitExceededException} when either has none left. A null IP or username skips
+     * that bucket.
+     */
+    public void checkAttempt(String clientIp, String username) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (clientIp != null) {
+            long waitNanos = ipBuckets.tryAcquire(clientIp, now);
+            if (waitNanos > 0) {
+                ipRejections.increment();
+                throw new RateLimitExceededException(toRetryAfterSeconds(waitNanos));
+            }
+        }
+        if (username != null && !username.isBlank()) {
+            // Usernames are matched case-insensitively by the database, so case variants share a bucket.
+            long waitNanos = usernameBuckets.tryAcquire(username.trim().toLowerCase(Locale.ROOT), now);
+            if (waitNanos > 0) {
+                usernameRejections.increment();
+                throw new RateLimitExceededException(toRetryAfterSeconds(waitNanos));
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${security.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        evictions.add(ipBuckets.sweep(now) + usernameBuckets.sweep(now));
+    }
+
+    long getIpRejections() {
+        return ipRejections.sum();
+    }
+
+    long getUsernameRejections() {
+        return usernameRejections.sum();
+    }
+
+    int getBucketCount() {
+        return ipBuckets.size() + usernameBuckets.size();
+    }
+
+    long getCapacityEvictions() {
+        return ipBuckets.getCapacityEvictions() + usernameBuckets.getCapacityEvictions();
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.rate.limit.rejected", ipRejections, LongAdder::sum)
+                .tag("limit", "ip")
+                .description("Login and registration attempts rejected by the per-IP limit")
+                .register(registry);
+        FunctionCounter.builder("auth.rate.limit.rejected", usernameRejections, LongAdder::sum)
+                .tag("limit", "username")
+                .description("Login and registration attempts rejected by the per-username limit")
+                .register(registry);
+        FunctionCounter.builder("auth.rate.limit.evictions", evictions, LongAdder::sum)
+                .tag("cause", "idle")
+                .description("Idle rate-limit buckets dropped")
+                .register(registry);
+        FunctionCounter.builder("auth.rate.limit.evictions", this, AuthRateLimiter::getCapacityEvictions)
+                .tag("cause", "capacity")
+                .description("Rate-limit buckets dropped early to make room for new clients or usernames")
+                .register(registry);
+        Gauge.builder("auth.rate.limit.buckets", this, AuthRateLimiter::getBucketCount)
+                .description("Rate-limit buckets currently tracked")
+                .register(registry);
+    }
+}
@@ -0,0 +1,139 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.models.CourseDistribution;
+import com.grade.rapidjavadevelopment.models.CourseGradeAggregate;
+import com.grade.rapidjavadevelopment.models.HistogramBucket;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class CourseAccumulator {
+
+    private long count;
+    private double sum;
+    // Exact while only growing; a removal that hits a bound falls back to the histogram's bucket edges.
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private final GradeHistogram histogram;
+    private final DailyGradeBuckets dailyBuckets;
+
+    CourseAccumulator(GradeHistogram histogram, DailyGradeBuckets dailyBuckets) {
+        this.histogram = histogram;
+        this.dailyBuckets = dailyBuckets;
+    }
+
+    static CourseAccumulator of(CourseGradeAggregate aggregate, GradeHistogram histogram, DailyGradeBuckets dailyBuckets) {
+        CourseAccumulator accumulator = new CourseAccumulator(histogram, dailyBuckets);
+        accumulator.count = aggregate.getCount() != null ? aggregate.getCount() : 0;
+        accumulator.sum = aggregate.getSum() != null ? aggregate.getSum() : 0.0;
+        accumulator.min = aggregate.getMin() != null ? aggregate.getMin() : Double.NaN;
+        accumulator.max = aggregate.getMax() != null ? aggregate.getMax() : Double.NaN;
+        return accumulator;
+    }
+
+    void add(double value, LocalDateTime createdAt) {
+        add(value, createdAt != null ? createdAt.toLocalDate().toEpochDay() : Long.MIN_VALUE);
+    }
+
+    /**
+     * Allocation-free variant for column scans; {@code epochDay} is ignored when it is
+     * {@link Long#MIN_VALUE}.
+     */
+    synchronized void add(double value, long epochDay) {
+        count++;
+        sum += value;
+        histogram.add(value);
+        if (epochDay != Long.MIN_VALUE) {
+            dailyBuckets.add(epochDay, 1, value);
+        }
+        min = Double.isNaN(min) ? value : Math.min(min, value);
+        max = Double.isNaN(max) ? value : Math.max(max, value);
+    }
+
+    synchronized void remove(double value, LocalDateTime createdAt) {
+        histogram.remove(value);
+        if (createdAt != null) {
+            dailyBuckets.remove(createdAt.toLocalDate().toEpochDay(), value);
+        }
+        if (count <= 1) {
+            count = 0;
+            sum = 0.0;
+            min = Double.NaN;
+            max = Double.NaN;
+            return;
+        }
+        count--;
+        sum -= value;
+        if (value <= min) {
+            min = Double.NaN;
+        }
+        if (value >= max) {
+            max = Double.NaN;
+        }
+    }
+
+    /**
+     * Folds in an accumulator built over other grades of the same course, such as another
+     * partition of a scan. {@code other} must no longer be written to.
+     */
+    synchronized void merge(CourseAccumulator other) {
+        count += other.count;
+        sum += other.sum;
+        min = Double.isNaN(min) ? other.min : Double.isNaN(other.min) ? min : Math.min(min, other.min);
+        max = Double.isNaN(max) ? other.max : Double.isNaN(other.max) ? max : Math.max(max, other.max);
+        histogram.merge(other.histogram);
+        dailyBuckets.merge(other.dailyBuckets);
+    }
+
+    synchronized void addToHistogram(double value, long occurrences) {
+        histogram.add(value, occurrences);
+    }
+
+    synchronized void addToDay(LocalDate day, long occurrences, double total) {
+        dailyBuckets.add(day.toEpochDay(), occurrences, total);
+    }
+
+    synchronized DailyGradeBuckets.Totals window(LocalDate today, int days) {
+        return dailyBuckets.window(today.toEpochDay(), days);
+    }
+
+    synchronized long getCount() {
+        return count;
+    }
+
+    synchronized double getAverage() {
+        return count > 0 ? sum / count : 0.0;
+    }
+
+    synchronized CourseDistribution toDistribution(Long courseId) {
+        List<HistogramBucket> buckets = new ArrayList<>(histogram.size());
+        for (int i = 0; i < histogram.size(); i++) {
+            double lower = histogram.bucketLowerBound(i);
+            buckets.add(new HistogramBucket(lower, lower + histogram.getBucketWidth(), histogram.countAt(i)));
+        }
+        return new CourseDistribution(
+                courseId,
+                count,
+                getAverage(),
+                boundOrNull(min, histogram.lowestValue()),
+                boundOrNull(max, histogram.highestValue()),
+                quantileOrNull(0.5),
+                quantileOrNull(0.1),
+                quantileOrNull(0.9),
+                buckets);
+    }
+
+    private Double quantileOrNull(double q) {
+        double value = histogram.quantile(q);
+        return Double.isNaN(value) ? null : value;
+    }
+
+    private static Double boundOrNull(double exact, double approximate) {
+        if (!Double.isNaN(exact)) {
+            return exact;
+        }
+        return Double.isNaN(approximate) ? null : approximate;
+    }
+}
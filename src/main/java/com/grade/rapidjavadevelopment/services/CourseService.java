@@ -1,24 +1,90 @@
 package com.grade.rapidjavadevelopment.services;
 
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseSummary;
+import com.grade.rapidjavadevelopment.models.CursorPage;
+import com.grade.rapidjavadevelopment.models.GradeRow;
 import com.grade.rapidjavadevelopment.models.User;
 import com.grade.rapidjavadevelopment.repositories.CourseRepository;
-import jakarta.transaction.Transactional;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import com.grade.rapidjavadevelopment.utils.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class CourseService {
 
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_NAME = "courseName";
+
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${api.pagination.default-limit:50}")
+    private int defaultPageLimit = 50;
+
+    @Value("${api.pagination.max-limit:200}")
+    private int maxPageLimit = 200;
+
+    @Transactional(readOnly = true)
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
 
+    /**
+     * One keyset page of courses ordered by {@code sort}, starting after the {@code after} cursor
+     * from the previous page. Each page is a range scan from the cursor, so deep pages cost the
+     * same as the first.
+     *
+     * @throws IllegalArgumentException for an unknown sort key, a malformed cursor or a limit below 1
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CourseSummary> getCoursePage(String sort, String after, Integer limit) {
+        int pageSize = KeysetCursor.resolveLimit(limit, defaultPageLimit, maxPageLimit);
+        KeysetCursor cursor = after != null && !after.isBlank() ? KeysetCursor.decode(after, sort) : null;
+        PageRequest rows = PageRequest.of(0, pageSize + 1);
+
+        if (SORT_BY_ID.equals(sort)) {
+            List<CourseSummary> courses = courseRepository.findPageOrderById(cursor != null ? cursor.getId() : Long.MIN_VALUE, rows);
+            return CursorPage.fromRows(courses, pageSize,
+                    last -> new KeysetCursor(SORT_BY_ID, null, last.getId()).encode());
+        }
+        if (SORT_BY_NAME.equals(sort)) {
+            List<CourseSummary> courses = cursor != null && cursor.getValue() != null
+                    ? courseRepository.findPageOrderByCourseNameAfter(cursor.getValue(), cursor.getId(), rows)
+                    : courseRepository.findPageOrderByCourseNameAfterUnnamed(
+                            cursor != null ? cursor.getId() : Long.MIN_VALUE, rows);
+            return CursorPage.fromRows(courses, pageSize,
+                    last -> new KeysetCursor(SORT_BY_NAME, last.getCourseName(), last.getId()).encode());
+        }
+        throw new IllegalArgumentException("Unsupported sort key: " + sort);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> getAllCourseIds() {
+        return courseRepository.findAllIds();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CourseSummary> getCourseSummary(Long id) {
+        return courseRepository.findSummaryById(id);
+    }
+
+    @Transactional(readOnly = true)
     public Course getCourseById(Long id) {
         return courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -37,10 +103,20 @@ public class CourseService {
         return courseRepository.save(course);
     }
 
+    /**
+     * Deletes the course together with its grades and announces those grades as removed, so the
+     * statistics, the column store and cached GPAs drop them once the delete commits.
+     */
+    @Transactional
     public void deleteCourse(Long id) {
+        List<GradeRow> grades = gradeRepository.findGradeRowsByCourseId(id);
         courseRepository.deleteById(id);
+        if (!grades.isEmpty()) {
+            eventPublisher.publishEvent(GradeBatchChangedEvent.removed(grades));
+        }
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByUser(User user) {
         return courseRepository.findByStudentsContaining(user);
     }
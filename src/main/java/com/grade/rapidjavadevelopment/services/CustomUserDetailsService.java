@@ -1,36 +1,90 @@
 package com.grade.rapidjavadevelopment.services;
 
 import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.models.UserPrincipal;
 import com.grade.rapidjavadevelopment.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService, MeterBinder {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    private volatile Timer foundTimer;
+    private volatile Timer notFoundTimer;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long start = System.nanoTime();
+        boolean found = false;
+        try {
+            UserDetails user = userDetailsCache.get(username, () -> loadFromDatabase(username));
+            found = true;
+            return user;
+        } finally {
+            Timer timer = found ? foundTimer : notFoundTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private UserPrincipal loadFromDatabase(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        System.out.println("Found user: " + username);
-        System.out.println("User role: " + user.getRole());
-
         SimpleGrantedAuthority authority = new SimpleGrantedAuthority(user.getRole().toString());
 
-        return new org.springframework.security.core.userdetails.User(
+        return new UserPrincipal(
+                user.getId(),
                 user.getUsername(),
                 user.getPassword(),
+                user.getTokenVersion(),
                 Collections.singletonList(authority)
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Stores a rehashed password after a successful login whose stored hash used an older cost.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePassword(user.getUsername(), newPassword);
+        userDetailsCache.evict(user.getUsername());
+        if (user instanceof UserPrincipal principal) {
+            return new UserPrincipal(principal.getId(), principal.getUsername(), newPassword,
+                    principal.getTokenVersion(), principal.getAuthorities());
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        foundTimer = loadTimer("found", registry);
+        notFoundTimer = loadTimer("not_found", registry);
+    }
+
+    private static Timer loadTimer(String result, MeterRegistry registry) {
+        return Timer.builder("user.details.load.duration")
+                .tag("result", result)
+                .description("Time spent loading a user for authentication, including cache hits")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,92 @@
+package com.grade.rapidjavadevelopment.services;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer of per-day grade counts and sums covering the last {@code days} days. Each slot
+ * remembers which epoch day it holds, so stale slots are ignored and reused without a sweep.
+ * Not thread-safe.
+ */
+class DailyGradeBuckets {
+
+    record Totals(long count, double sum) {
+    }
+
+    private final long[] days;
+    private final long[] counts;
+    private final double[] sums;
+
+    DailyGradeBuckets(int days) {
+        if (days < 1) {
+            throw new IllegalArgumentException("Window must cover at least one day");
+        }
+        this.days = new long[days];
+        this.counts = new long[days];
+        this.sums = new double[days];
+        Arrays.fill(this.days, Long.MIN_VALUE);
+    }
+
+    void add(long epochDay, long count, double sum) {
+        int slot = slot(epochDay);
+        if (days[slot] != epochDay) {
+            if (days[slot] > epochDay) {
+                // Older than anything the buffer can still hold.
+                return;
+            }
+            days[slot] = epochDay;
+            counts[slot] = 0;
+            sums[slot] = 0.0;
+        }
+        counts[slot] += count;
+        sums[slot] += sum;
+    }
+
+    void remove(long epochDay, double value) {
+        int slot = slot(epochDay);
+        if (days[slot] == epochDay && counts[slot] > 0) {
+            counts[slot]--;
+            sums[slot] = counts[slot] == 0 ? 0.0 : sums[slot] - value;
+        }
+    }
+
+    /**
+     * Adds every day {@code other} still holds, as if its grades had been added here.
+     *
+     * @throws IllegalArgumentException when the two cover a different number of days
+     */
+    void merge(DailyGradeBuckets other) {
+        if (other.days.length != days.length) {
+            throw new IllegalArgumentException("Cannot merge daily buckets of different sizes");
+        }
+        for (int slot = 0; slot < other.days.length; slot++) {
+            if (other.days[slot] != Long.MIN_VALUE) {
+                add(other.days[slot], other.counts[slot], other.sums[slot]);
+            }
+        }
+    }
+
+    /**
+     * Sums the {@code windowDays} days ending with {@code today}.
+     */
+    Totals window(long today, int windowDays) {
+        int span = Math.min(windowDays, days.length);
+        long count = 0;
+        double sum = 0.0;
+        for (long day = today - span + 1; day <= today; day++) {
+            int slot = slot(day);
+            if (days[slot] == day) {
+                count += counts[slot];
+                sum += sums[slot];
+            }
+        }
+        return new Totals(count, sum);
+    }
+
+    int capacity() {
+        return days.length;
+    }
+
+    private int slot(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) days.length);
+    }
+}
@@ -0,0 +1,157 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
+import com.grade.rapidjavadevelopment.events.GradeChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-student GPA totals (weighted grade sum and total credits), bounded by
+ * {@code gpa.cache.max-size}. Grade writes evict the student once they have committed; the next
+ * lookup reloads the totals.
+ */
+@Component
+public class GpaCache implements MeterBinder {
+
+    @Getter
+    @AllArgsConstructor
+    public static class Totals {
+        private final double weightedSum;
+        private final long totalCredits;
+
+        public double getGpa() {
+            return totalCredits > 0 ? weightedSum / totalCredits : 0.0;
+        }
+    }
+
+    private static final int VERSION_STRIPES = 1024;
+
+    @Value("${gpa.cache.max-size:100000}")
+    private int maxSize = 100000;
+
+    private final Map<Long, Totals> totalsByStudent = new ConcurrentHashMap<>();
+    // Bumped for a student's stripe on every change to that student, and globally by evictAll(), so
+    // a load that raced with a write does not cache stale totals. Writes to other students only
+    // block caching when they share a stripe.
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder explicitEvictions = new LongAdder();
+
+    public Totals get(Long studentId, Supplier<Totals> loader) {
+        Totals cached = totalsByStudent.get(studentId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        int stripe = stripe(studentId);
+        long generationBeforeLoad = generation.get();
+        long versionBeforeLoad = versions.get(stripe);
+        Totals loaded = loader.get();
+        if (unchangedSince(stripe, versionBeforeLoad, generationBeforeLoad)) {
+            makeRoom();
+            totalsByStudent.putIfAbsent(studentId, loaded);
+            // An eviction that landed between the check and the put found nothing to remove; drop what it missed.
+            if (!unchangedSince(stripe, versionBeforeLoad, generationBeforeLoad)) {
+                totalsByStudent.remove(studentId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    public void evict(Long studentId) {
+        versions.incrementAndGet(stripe(studentId));
+        if (totalsByStudent.remove(studentId) != null) {
+            explicitEvictions.increment();
+        }
+    }
+
+    public void evictAll() {
+        generation.incrementAndGet();
+        totalsByStudent.clear();
+    }
+
+    /**
+     * Evicts every student in a committed batch, such as an import chunk or the grades of a
+     * deleted course or user.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradeBatchChanged(GradeBatchChangedEvent event) {
+        for (GradeChangedEvent change : event.getChanges()) {
+            if (change.getStudentId() != null) {
+                evict(change.getStudentId());
+            }
+        }
+    }
+
+    private boolean unchangedSince(int stripe, long version, long generationBefore) {
+        return versions.get(stripe) == version && generation.get() == generationBefore;
+    }
+
+    // Totals are cheap to reload, so an arbitrary entry makes room rather than tracking recency.
+    private void makeRoom() {
+        Iterator<Long> students = totalsByStudent.keySet().iterator();
+        while (totalsByStudent.size() >= maxSize && students.hasNext()) {
+            students.next();
+            students.remove();
+            sizeEvictions.increment();
+        }
+    }
+
+    private static int stripe(Long studentId) {
+        return studentId != null ? (Long.hashCode(studentId) * 0x9E3779B9 >>> 16) & (VERSION_STRIPES - 1) : 0;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return totalsByStudent.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("gpa.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("GPA lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder("gpa.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("GPA lookups that had to load grades")
+                .register(registry);
+        FunctionCounter.builder("gpa.cache.evictions", sizeEvictions, LongAdder::sum)
+                .tag("cause", "size")
+                .description("Cached GPA totals dropped to stay within the size bound")
+                .register(registry);
+        FunctionCounter.builder("gpa.cache.evictions", explicitEvictions, LongAdder::sum)
+                .tag("cause", "explicit")
+                .description("Cached GPA totals dropped because the student's grades changed")
+                .register(registry);
+        Gauge.builder("gpa.cache.size", totalsByStudent, Map::size)
+                .description("Students with cached GPA totals")
+                .register(registry);
+    }
+}
@@ -0,0 +1,417 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
+import com.grade.rapidjavadevelopment.events.GradeChangedEvent;
+import com.grade.rapidjavadevelopment.models.GradeRow;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Grades held as parallel primitive columns for analytics scans. Course ids are dictionary
+ * encoded into dense codes so callers can aggregate into plain arrays indexed by code. The store
+ * is bulk-loaded in id order once the application is ready and then kept current from
+ * {@link GradeChangedEvent}s; until the load finishes {@link #isReady()} is false and callers
+ * should fall back to the database.
+ */
+@Component
+public class GradeColumnStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeColumnStore.class);
+
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(int courseCode, long studentId, double value, int credits, long createdAtEpochSecond);
+    }
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Value("${analytics.column-store.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${analytics.column-store.load-page-size:10000}")
+    private int loadPageSize = 10000;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] gradeIds = new long[INITIAL_CAPACITY];
+    private long[] studentIds = new long[INITIAL_CAPACITY];
+    private int[] courseCodes = new int[INITIAL_CAPACITY];
+    private int[] credits = new int[INITIAL_CAPACITY];
+    private double[] values = new double[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private boolean[] live = new boolean[INITIAL_CAPACITY];
+    // Chains each student's rows, newest first, starting from firstRowByStudent; dead rows stay linked until compact().
+    private int[] nextRowOfStudent = new int[INITIAL_CAPACITY];
+    private int size;
+    private int liveRows;
+
+    private final LongIntHashMap rowByGradeId = new LongIntHashMap(INITIAL_CAPACITY);
+    private final LongIntHashMap firstRowByStudent = new LongIntHashMap();
+    private final Map<Long, Integer> codeByCourseId = new HashMap<>();
+    private long[] courseIdByCode = new long[64];
+    private int courseCodeCount;
+
+    private boolean loading;
+    private final Set<Long> removedDuringLoad = new HashSet<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "grade-column-store-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Bulk-loads every grade, one keyset page at a time. Events that arrive meanwhile are applied
+     * directly; grades removed during the load are remembered so a page read earlier cannot bring
+     * them back.
+     */
+    public void load() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            loading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            long afterId = Long.MIN_VALUE;
+            List<GradeRow> page;
+            do {
+                page = gradeRepository.findGradeRowsAfter(afterId, PageRequest.of(0, loadPageSize));
+                lock.writeLock().lock();
+                try {
+                    for (GradeRow row : page) {
+                        if (!removedDuringLoad.contains(row.getGradeId()) && !rowByGradeId.containsKey(row.getGradeId())) {
+                            append(row.getGradeId(), row.getStudentId(), row.getCourseId(), row.getCredits(),
+                                    row.getValue(), row.getCreatedAt());
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                if (!page.isEmpty()) {
+                    afterId = page.get(page.size() - 1).getGradeId();
+                }
+            } while (page.size() == loadPageSize);
+
+            ready = true;
+            logger.info("Grade column store loaded {} grades in {} ms", getRowCount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Could not load grade column store, analytics will use the database", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                loading = false;
+                removedDuringLoad.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradeChanged(GradeChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            apply(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradeBatchChanged(GradeBatchChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            event.getChanges().forEach(this::apply);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(GradeChangedEvent event) {
+        if (event.getGradeId() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            case ADDED, UPDATED -> upsert(event);
+            case REMOVED -> {
+                remove(event.getGradeId());
+                if (loading) {
+                    removedDuringLoad.add(event.getGradeId());
+                }
+            }
+        }
+    }
+
+    public void updateCredits(long courseId, int newCredits) {
+        lock.writeLock().lock();
+        try {
+            Integer code = codeByCourseId.get(courseId);
+            if (code == null) {
+                return;
+            }
+            for (int row = 0; row < size; row++) {
+                if (courseCodes[row] == code) {
+                    credits[row] = newCredits;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getRowCount() {
+        lock.readLock().lock();
+        try {
+            return liveRows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Weighted grade sum and credits for one student, read from that student's rows only.
+     */
+    public GpaCache.Totals studentTotals(long studentId) {
+        double weightedSum = 0.0;
+        long totalCredits = 0;
+        lock.readLock().lock();
+        try {
+            for (int row = firstRowByStudent.get(studentId); row != LongIntHashMap.MISSING; row = nextRowOfStudent[row]) {
+                if (live[row]) {
+                    weightedSum += values[row] * credits[row];
+                    totalCredits += credits[row];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new GpaCache.Totals(weightedSum, totalCredits);
+    }
+
+    /**
+     * Visits every live row under a read lock and returns the number of course codes in use, so
+     * callers can size arrays indexed by code. Codes are stable for the lifetime of the store.
+     */
+    public int scan(RowVisitor visitor) {
+        lock.readLock().lock();
+        try {
+            visitRows(0, size, visitor);
+            return courseCodeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits the rows into up to {@code partitions} contiguous ranges and visits each on
+     * {@code executor} with its own visitor from {@code newVisitor}, returned in row order. This
+     * thread holds the read lock until every range is done, so all of them see the same rows.
+     */
+    public <V extends RowVisitor> List<V> scanPartitioned(ExecutorService executor, int partitions,
+                                                          Supplier<V> newVisitor) {
+        lock.readLock().lock();
+        try {
+            int rows = size;
+            int partitionSize = Math.max(1, (rows + Math.max(1, partitions) - 1) / Math.max(1, partitions));
+            List<V> visitors = new ArrayList<>();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int from = 0; from < rows; from += partitionSize) {
+                int start = from;
+                int end = Math.min(from + partitionSize, rows);
+                V visitor = newVisitor.get();
+                visitors.add(visitor);
+                futures.add(executor.submit(() -> visitRows(start, end, visitor)));
+            }
+            try {
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while scanning the grade column store", e);
+            } catch (ExecutionException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Failed to scan the grade column store", e.getCause());
+            }
+            return visitors;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the read lock, or run on behalf of a thread that does.
+    private void visitRows(int from, int to, RowVisitor visitor) {
+        for (int row = from; row < to; row++) {
+            if (live[row]) {
+                visitor.visit(courseCodes[row], studentIds[row], values[row], credits[row], createdAt[row]);
+            }
+        }
+    }
+
+    public long courseIdForCode(int code) {
+        lock.readLock().lock();
+        try {
+            return courseIdByCode[code];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsert(GradeChangedEvent event) {
+        if (event.getCourseId() == null || event.getValue() == null) {
+            return;
+        }
+        int row = rowByGradeId.get(event.getGradeId());
+        long studentId = event.getStudentId() != null ? event.getStudentId() : 0L;
+        if (row != LongIntHashMap.MISSING && studentIds[row] != studentId) {
+            // The row sits in the old student's chain, so retire it and append a fresh one.
+            remove(event.getGradeId());
+            row = LongIntHashMap.MISSING;
+        }
+        if (row == LongIntHashMap.MISSING) {
+            append(event.getGradeId(), event.getStudentId(), event.getCourseId(), event.getCredits(),
+                    event.getValue(), event.getCreatedAt());
+            return;
+        }
+        courseCodes[row] = courseCode(event.getCourseId());
+        credits[row] = event.getCredits() != null ? event.getCredits() : 0;
+        values[row] = event.getValue();
+        createdAt[row] = epochSecond(event.getCreatedAt());
+    }
+
+    private void append(Long gradeId, Long studentId, Long courseId, Integer courseCredits, Double value,
+                        LocalDateTime created) {
+        if (size == gradeIds.length) {
+            grow();
+        }
+        gradeIds[size] = gradeId;
+        studentIds[size] = studentId != null ? studentId : 0L;
+        courseCodes[size] = courseCode(courseId);
+        credits[size] = courseCredits != null ? courseCredits : 0;
+        values[size] = value;
+        createdAt[size] = epochSecond(created);
+        live[size] = true;
+        rowByGradeId.put(gradeId, size);
+        linkToStudent(size);
+        size++;
+        liveRows++;
+    }
+
+    private void linkToStudent(int row) {
+        nextRowOfStudent[row] = firstRowByStudent.get(studentIds[row]);
+        firstRowByStudent.put(studentIds[row], row);
+    }
+
+    private void remove(long gradeId) {
+        int row = rowByGradeId.remove(gradeId);
+        if (row == LongIntHashMap.MISSING) {
+            return;
+        }
+        live[row] = false;
+        liveRows--;
+        if (size > INITIAL_CAPACITY && liveRows < size / 2) {
+            compact();
+        }
+    }
+
+    private int courseCode(Long courseId) {
+        Integer code = codeByCourseId.get(courseId);
+        if (code != null) {
+            return code;
+        }
+        if (courseCodeCount == courseIdByCode.length) {
+            courseIdByCode = Arrays.copyOf(courseIdByCode, courseIdByCode.length * 2);
+        }
+        courseIdByCode[courseCodeCount] = courseId;
+        codeByCourseId.put(courseId, courseCodeCount);
+        return courseCodeCount++;
+    }
+
+    private void grow() {
+        int capacity = gradeIds.length + (gradeIds.length >> 1);
+        gradeIds = Arrays.copyOf(gradeIds, capacity);
+        studentIds = Arrays.copyOf(studentIds, capacity);
+        courseCodes = Arrays.copyOf(courseCodes, capacity);
+        credits = Arrays.copyOf(credits, capacity);
+        values = Arrays.copyOf(values, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        live = Arrays.copyOf(live, capacity);
+        nextRowOfStudent = Arrays.copyOf(nextRowOfStudent, capacity);
+    }
+
+    private void compact() {
+        int target = 0;
+        for (int row = 0; row < size; row++) {
+            if (!live[row]) {
+                continue;
+            }
+            if (target != row) {
+                gradeIds[target] = gradeIds[row];
+                studentIds[target] = studentIds[row];
+                courseCodes[target] = courseCodes[row];
+                credits[target] = credits[row];
+                values[target] = values[row];
+                createdAt[target] = createdAt[row];
+                live[target] = true;
+                rowByGradeId.put(gradeIds[target], target);
+            }
+            target++;
+        }
+        Arrays.fill(live, target, size, false);
+        size = target;
+        firstRowByStudent.clear();
+        for (int row = 0; row < size; row++) {
+            linkToStudent(row);
+        }
+    }
+
+    private static long epochSecond(LocalDateTime dateTime) {
+        // Local time is read as UTC only to get a stable number; floorDiv by 86400 gives back the local date.
+        return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NO_TIMESTAMP;
+    }
+}
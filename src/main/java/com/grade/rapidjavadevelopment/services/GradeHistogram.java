@@ -0,0 +1,122 @@
+package com.grade.rapidjavadevelopment.services;
+
+/**
+ * Fixed-layout histogram over [lowerBound, upperBound). Values outside the range are clamped into
+ * the first or last bucket. Memory is bounded by the bucket count and removals are exact, and
+ * histograms with the same layout merge by adding their buckets. Quantiles interpolate linearly
+ * inside a bucket, so their error is at most one bucket width. Not thread-safe.
+ */
+class GradeHistogram {
+
+    private final double lowerBound;
+    private final double upperBound;
+    private final double bucketWidth;
+    private final long[] counts;
+    private long totalCount;
+
+    GradeHistogram(double lowerBound, double upperBound, int buckets) {
+        if (!(upperBound > lowerBound) || buckets < 1) {
+            throw new IllegalArgumentException("Invalid histogram layout: [" + lowerBound + ", " + upperBound
+                    + ") with " + buckets + " buckets");
+        }
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.bucketWidth = (upperBound - lowerBound) / buckets;
+        this.counts = new long[buckets];
+    }
+
+    int bucketIndex(double value) {
+        int index = (int) Math.floor((value - lowerBound) / bucketWidth);
+        return Math.max(0, Math.min(counts.length - 1, index));
+    }
+
+    void add(double value) {
+        add(value, 1);
+    }
+
+    void add(double value, long count) {
+        counts[bucketIndex(value)] += count;
+        totalCount += count;
+    }
+
+    void remove(double value) {
+        int index = bucketIndex(value);
+        if (counts[index] > 0) {
+            counts[index]--;
+            totalCount--;
+        }
+    }
+
+    /**
+     * Adds every count of {@code other} to this histogram.
+     *
+     * @throws IllegalArgumentException when the two do not share bounds and bucket count
+     */
+    void merge(GradeHistogram other) {
+        if (other.counts.length != counts.length || other.lowerBound != lowerBound || other.upperBound != upperBound) {
+            throw new IllegalArgumentException("Cannot merge histograms with different layouts");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+    }
+
+    /**
+     * Returns the approximate value at quantile {@code q} (0..1), or {@code NaN} when empty.
+     */
+    double quantile(double q) {
+        if (totalCount == 0) {
+            return Double.NaN;
+        }
+        double rank = Math.max(0.0, Math.min(1.0, q)) * totalCount;
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            long bucketCount = counts[i];
+            if (bucketCount > 0 && cumulative + bucketCount >= rank) {
+                double fraction = (rank - cumulative) / bucketCount;
+                return bucketLowerBound(i) + fraction * bucketWidth;
+            }
+            cumulative += bucketCount;
+        }
+        return upperBound;
+    }
+
+    double lowestValue() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                return bucketLowerBound(i);
+            }
+        }
+        return Double.NaN;
+    }
+
+    double highestValue() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return bucketLowerBound(i) + bucketWidth;
+            }
+        }
+        return Double.NaN;
+    }
+
+    double bucketLowerBound(int index) {
+        return lowerBound + index * bucketWidth;
+    }
+
+    long countAt(int index) {
+        return counts[index];
+    }
+
+    int size() {
+        return counts.length;
+    }
+
+    long getTotalCount() {
+        return totalCount;
+    }
+
+    double getBucketWidth() {
+        return bucketWidth;
+    }
+}
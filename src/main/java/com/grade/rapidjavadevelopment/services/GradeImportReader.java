@@ -0,0 +1,192 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grade.rapidjavadevelopment.models.GradeImportRow;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads grade import rows one line at a time, so memory does not depend on the size of the upload.
+ * CSV needs a header naming the {@code username}, {@code courseCode} and {@code grade} columns, with
+ * an optional {@code createdAt}; quoted fields may not span lines. NDJSON has one object per line
+ * with the same field names. Malformed lines come back as rows with an error instead of failing
+ * the whole import.
+ */
+class GradeImportReader implements Closeable {
+
+    private static final String USERNAME = "username";
+    private static final String COURSE_CODE = "courseCode";
+    private static final String GRADE = "grade";
+    private static final String CREATED_AT = "createdAt";
+
+    private final BufferedReader reader;
+    private final boolean csv;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+
+    private int usernameColumn = -1;
+    private int courseCodeColumn = -1;
+    private int gradeColumn = -1;
+    private int createdAtColumn = -1;
+
+    /**
+     * @throws IllegalArgumentException for an unknown format or a CSV header without the required columns
+     */
+    GradeImportReader(InputStream input, String format, ObjectMapper objectMapper) throws IOException {
+        if (!GradeImportService.FORMAT_CSV.equals(format) && !GradeImportService.FORMAT_NDJSON.equals(format)) {
+            throw new IllegalArgumentException("Unsupported import format: " + format);
+        }
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.csv = GradeImportService.FORMAT_CSV.equals(format);
+        this.objectMapper = objectMapper;
+        if (csv) {
+            readHeader();
+        }
+    }
+
+    /**
+     * Returns the next non-blank line as a row, or null at the end of the input.
+     */
+    GradeImportRow next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                return csv ? parseCsv(line) : parseJson(line);
+            }
+        }
+        return null;
+    }
+
+    private void readHeader() throws IOException {
+        String header = reader.readLine();
+        lineNumber++;
+        if (header != null && header.startsWith("\uFEFF")) {
+            // Spreadsheet exports often start with a byte order mark.
+            header = header.substring(1);
+        }
+        List<String> columns = header != null ? splitCsvLine(header) : List.of();
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).toLowerCase(Locale.ROOT)) {
+                case "username" -> usernameColumn = i;
+                case "coursecode" -> courseCodeColumn = i;
+                case "grade" -> gradeColumn = i;
+                case "createdat" -> createdAtColumn = i;
+                default -> { }
+            }
+        }
+        if (usernameColumn < 0 || courseCodeColumn < 0 || gradeColumn < 0) {
+            throw new IllegalArgumentException("CSV header must name the username, courseCode and grade columns");
+        }
+    }
+
+    private GradeImportRow parseCsv(String line) {
+        List<String> fields = splitCsvLine(line);
+        return toRow(field(fields, usernameColumn), field(fields, courseCodeColumn), field(fields, gradeColumn),
+                field(fields, createdAtColumn));
+    }
+
+    private GradeImportRow parseJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return GradeImportRow.invalid(lineNumber, "Malformed JSON");
+        }
+        if (!node.isObject()) {
+            return GradeImportRow.invalid(lineNumber, "Expected a JSON object");
+        }
+        return toRow(text(node, USERNAME), text(node, COURSE_CODE), text(node, GRADE), text(node, CREATED_AT));
+    }
+
+    private GradeImportRow toRow(String username, String courseCode, String grade, String createdAt) {
+        if (username == null) {
+            return GradeImportRow.invalid(lineNumber, "Missing " + USERNAME);
+        }
+        if (courseCode == null) {
+            return GradeImportRow.invalid(lineNumber, "Missing " + COURSE_CODE);
+        }
+        if (grade == null) {
+            return GradeImportRow.invalid(lineNumber, "Missing " + GRADE);
+        }
+        double value;
+        try {
+            value = Double.parseDouble(grade);
+        } catch (NumberFormatException e) {
+            return GradeImportRow.invalid(lineNumber, "Invalid grade: " + grade);
+        }
+        if (!Double.isFinite(value)) {
+            return GradeImportRow.invalid(lineNumber, "Invalid grade: " + grade);
+        }
+        LocalDateTime created = null;
+        if (createdAt != null) {
+            try {
+                created = LocalDateTime.parse(createdAt);
+            } catch (DateTimeParseException e) {
+                return GradeImportRow.invalid(lineNumber, "Invalid createdAt: " + createdAt);
+            }
+        }
+        return new GradeImportRow(lineNumber, username, courseCode, value, created, null);
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size() || fields.get(column).isEmpty()) {
+            return null;
+        }
+        return fields.get(column);
+    }
+
+    private static String text(JsonNode node, String name) {
+        JsonNode value = node.get(name);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        String text = value.asText().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
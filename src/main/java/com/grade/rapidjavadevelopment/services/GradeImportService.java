@@ -0,0 +1,92 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grade.rapidjavadevelopment.models.GradeImportError;
+import com.grade.rapidjavadevelopment.models.GradeImportReport;
+import com.grade.rapidjavadevelopment.models.GradeImportRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk grade import from a CSV or NDJSON stream. Rows are read one at a time and stored in chunks,
+ * each chunk in its own transaction, so memory stays flat however large the file is. A chunk that
+ * cannot be stored is reported row by row and the import carries on with the next one.
+ */
+@Service
+public class GradeImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeImportService.class);
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    @Autowired
+    private GradeImportWriter gradeImportWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // A multiple of hibernate.jdbc.batch_size, so every chunk fills whole insert batches.
+    @Value("${grades.import.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${grades.import.max-reported-errors:1000}")
+    private int maxReportedErrors = 1000;
+
+    /**
+     * @throws IllegalArgumentException for an unknown format or a CSV header without the required columns
+     */
+    public GradeImportReport importGrades(InputStream input, String format) throws IOException {
+        long start = System.nanoTime();
+        GradeImportReport report = new GradeImportReport(maxReportedErrors);
+        try (GradeImportReader reader = new GradeImportReader(input, format, objectMapper)) {
+            List<GradeImportRow> chunk = new ArrayList<>(chunkSize);
+            GradeImportRow row;
+            while ((row = reader.next()) != null) {
+                if (row.getError() != null) {
+                    report.recordError(row.getLine(), row.getError());
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            writeChunk(chunk, report);
+        }
+        logger.info("Imported {} grades, rejected {} rows in {} ms", report.getImported(), report.getFailed(),
+                (System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    private void writeChunk(List<GradeImportRow> chunk, GradeImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        GradeImportWriter.ChunkResult result;
+        try {
+            result = gradeImportWriter.write(chunk);
+        } catch (DataAccessException e) {
+            logger.warn("Could not store grade import lines {}-{}", chunk.get(0).getLine(),
+                    chunk.get(chunk.size() - 1).getLine(), e);
+            String message = "Could not be stored: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            chunk.forEach(row -> report.recordError(row.getLine(), message));
+            return;
+        }
+        report.recordImported(result.getImported());
+        for (GradeImportError error : result.getRejected()) {
+            report.recordError(error.getLine(), error.getMessage());
+        }
+    }
+}
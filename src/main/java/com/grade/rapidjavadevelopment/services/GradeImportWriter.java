@@ -0,0 +1,102 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
+import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeImportError;
+import com.grade.rapidjavadevelopment.models.GradeImportRow;
+import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.repositories.CourseRepository;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import com.grade.rapidjavadevelopment.repositories.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores one chunk of a grade import in its own transaction: one lookup for the chunk's students,
+ * one for its courses, then JDBC-batched inserts. The persistence context is cleared afterwards,
+ * since an open-in-view request would otherwise keep every imported grade managed; the grades
+ * are only read after that, detached.
+ */
+@Component
+public class GradeImportWriter {
+
+    @Getter
+    @AllArgsConstructor
+    public static class ChunkResult {
+        private final int imported;
+        private final List<GradeImportError> rejected;
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public ChunkResult write(List<GradeImportRow> rows) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> courseCodes = new HashSet<>();
+        for (GradeImportRow row : rows) {
+            usernames.add(row.getUsername());
+            courseCodes.add(row.getCourseCode());
+        }
+        Map<String, User> students = new HashMap<>();
+        for (User user : userRepository.findByUsernameIn(usernames)) {
+            students.put(user.getUsername(), user);
+        }
+        Map<String, Course> courses = new HashMap<>();
+        Set<String> ambiguousCodes = new HashSet<>();
+        for (Course course : courseRepository.findByCourseCodeIn(courseCodes)) {
+            if (courses.putIfAbsent(course.getCourseCode(), course) != null) {
+                ambiguousCodes.add(course.getCourseCode());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Grade> grades = new ArrayList<>(rows.size());
+        List<GradeImportError> rejected = new ArrayList<>();
+        for (GradeImportRow row : rows) {
+            User student = students.get(row.getUsername());
+            Course course = courses.get(row.getCourseCode());
+            if (student == null) {
+                rejected.add(new GradeImportError(row.getLine(), "Unknown student: " + row.getUsername()));
+            } else if (ambiguousCodes.contains(row.getCourseCode())) {
+                rejected.add(new GradeImportError(row.getLine(), "Course code matches more than one course: " + row.getCourseCode()));
+            } else if (course == null) {
+                rejected.add(new GradeImportError(row.getLine(), "Unknown course: " + row.getCourseCode()));
+            } else {
+                // The grade owns the association; leaving Course.grades alone keeps it unloaded.
+                grades.add(new Grade(null, student, course, row.getGrade(),
+                        row.getCreatedAt() != null ? row.getCreatedAt() : now, now));
+            }
+        }
+
+        gradeRepository.insertAll(grades);
+        // One event for the chunk, so listeners rebuild and push their results once per chunk. It is
+        // delivered after the commit, so GpaCache cannot re-cache totals without the new grades.
+        if (!grades.isEmpty()) {
+            eventPublisher.publishEvent(GradeBatchChangedEvent.added(grades));
+        }
+        return new ChunkResult(grades.size(), rejected);
+    }
+}
@@ -1,18 +1,35 @@
 package com.grade.rapidjavadevelopment.services;
 
+import com.grade.rapidjavadevelopment.events.GradeChangedEvent;
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseGpa;
+import com.grade.rapidjavadevelopment.models.CourseGradeAggregate;
+import com.grade.rapidjavadevelopment.models.CursorPage;
 import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeDailyAggregate;
+import com.grade.rapidjavadevelopment.models.GradeSummary;
+import com.grade.rapidjavadevelopment.models.GradeValueCount;
 import com.grade.rapidjavadevelopment.models.User;
 import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import com.grade.rapidjavadevelopment.utils.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class GradeService {
 
+    public static final String SORT_NEWEST_FIRST = "createdAt";
+    public static final String SORT_BY_ID = "id";
+
     @Autowired
     private GradeRepository gradeRepository;
 
@@ -22,20 +39,39 @@ public class GradeService {
     @Autowired
     private CourseService courseService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private GpaCache gpaCache;
+
+    @Autowired
+    private GradeColumnStore gradeColumnStore;
+
+    @Value("${api.pagination.default-limit:50}")
+    private int defaultPageLimit = 50;
+
+    @Value("${api.pagination.max-limit:200}")
+    private int maxPageLimit = 200;
+
+    @Transactional(readOnly = true)
     public List<Grade> getAllGrades() {
         return gradeRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<Grade> getGradesByStudent(User student) {
         return gradeRepository.findByStudent(student);
     }
 
+    @Transactional(readOnly = true)
     public Grade getGradeById(Long id) {
         return gradeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Grade not found"));
     }
 
     public Grade saveGrade(Grade grade) {
+        boolean isNew = grade.getId() == null;
         if (grade.getCreatedAt() == null) {
             grade.setCreatedAt(LocalDateTime.now());
         }
@@ -44,7 +80,10 @@ public class GradeService {
         Course course = grade.getCourse();
         course.addGrade(grade);
 
-        return gradeRepository.save(grade);
+        Grade savedGrade = gradeRepository.save(grade);
+        eventPublisher.publishEvent(isNew ? GradeChangedEvent.added(savedGrade) : GradeChangedEvent.updated(savedGrade));
+        evictGpa(savedGrade);
+        return savedGrade;
     }
 
     public Grade addGrade(Long studentId, Long courseId, Double gradeValue) {
@@ -59,22 +98,37 @@ public class GradeService {
 
         course.addGrade(grade);
 
-        return gradeRepository.save(grade);
+        Grade savedGrade = gradeRepository.save(grade);
+        eventPublisher.publishEvent(GradeChangedEvent.added(savedGrade));
+        evictGpa(savedGrade);
+        return savedGrade;
     }
 
     public void deleteGrade(Long id) {
         Grade grade = getGradeById(id);
         Course course = grade.getCourse();
 
+        GradeChangedEvent event = GradeChangedEvent.removed(grade);
+
         course.removeGrade(grade);
         gradeRepository.deleteById(id);
+        eventPublisher.publishEvent(event);
+        evictGpa(grade);
     }
 
+    @Transactional(readOnly = true)
     public double calculateGPA(User student) {
-        List<Grade> grades = gradeRepository.findByStudent(student);
-        if (grades.isEmpty()) {
-            return 0.0;
+        if (student.getId() == null) {
+            return loadGpaTotals(student).getGpa();
         }
+        return gpaCache.get(student.getId(), () -> loadGpaTotals(student)).getGpa();
+    }
+
+    private GpaCache.Totals loadGpaTotals(User student) {
+        if (gradeColumnStore.isReady() && student.getId() != null) {
+            return gradeColumnStore.studentTotals(student.getId());
+        }
+        List<Grade> grades = gradeRepository.findByStudent(student);
 
         double totalWeightedGrade = 0;
         int totalCredits = 0;
@@ -85,13 +139,73 @@ public class GradeService {
             totalCredits += credits;
         }
 
-        return totalCredits > 0 ? totalWeightedGrade / totalCredits : 0.0;
+        return new GpaCache.Totals(totalWeightedGrade, totalCredits);
     }
 
+    // Evicts rather than applying a delta: the write has already committed, so a load that ran since
+    // may have cached totals that include it.
+    private void evictGpa(Grade grade) {
+        if (grade.getStudent() != null) {
+            gpaCache.evict(grade.getStudent().getId());
+        }
+    }
+
+    /**
+     * Drops cached GPA totals for every student graded in the course; call after its credits change.
+     */
+    public void courseCreditsChanged(Long courseId, int credits) {
+        gradeColumnStore.updateCredits(courseId, credits);
+        gradeRepository.findStudentIdsByCourseId(courseId).forEach(gpaCache::evict);
+    }
+
+    @Transactional(readOnly = true)
     public List<Grade> getGradesByCourseAndStudent(Course course, User student) {
         return gradeRepository.findByCourseAndStudentOrderByCreatedAtDesc(course, student);
     }
 
+    /**
+     * One keyset page of a student's grades in a course, newest first by default, starting after
+     * the {@code after} cursor from the previous page.
+     *
+     * @throws IllegalArgumentException for an unknown sort key, a malformed cursor or a limit below 1
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<GradeSummary> getGradePage(Course course, User student, String sort, String after, Integer limit) {
+        int pageSize = KeysetCursor.resolveLimit(limit, defaultPageLimit, maxPageLimit);
+        KeysetCursor cursor = after != null && !after.isBlank() ? KeysetCursor.decode(after, sort) : null;
+        PageRequest rows = PageRequest.of(0, pageSize + 1);
+
+        if (SORT_BY_ID.equals(sort)) {
+            List<GradeSummary> grades = gradeRepository.findPageByCourseAndStudentOrderById(course, student,
+                    cursor != null ? cursor.getId() : Long.MIN_VALUE, rows);
+            return CursorPage.fromRows(grades, pageSize,
+                    last -> new KeysetCursor(SORT_BY_ID, null, last.getId()).encode());
+        }
+        if (SORT_NEWEST_FIRST.equals(sort)) {
+            List<GradeSummary> grades;
+            if (cursor == null) {
+                grades = gradeRepository.findFirstPageByCourseAndStudentNewestFirst(course, student, rows);
+            } else if (cursor.getValue() == null) {
+                grades = gradeRepository.findPageByCourseAndStudentUndatedBefore(course, student, cursor.getId(), rows);
+            } else {
+                grades = gradeRepository.findPageByCourseAndStudentNewestFirstBefore(course, student,
+                        parseTimestamp(cursor.getValue()), cursor.getId(), rows);
+            }
+            return CursorPage.fromRows(grades, pageSize, last -> new KeysetCursor(SORT_NEWEST_FIRST,
+                    last.getCreatedAt() != null ? last.getCreatedAt().toString() : null, last.getId()).encode());
+        }
+        throw new IllegalArgumentException("Unsupported sort key: " + sort);
+    }
+
+    private static LocalDateTime parseTimestamp(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Double calculateCourseGPA(Course course, User student) {
         List<Grade> grades = getGradesByCourseAndStudent(course, student);
         if (grades.isEmpty()) return 0.0;
@@ -102,7 +216,52 @@ public class GradeService {
                 .orElse(0.0);
     }
 
+    /**
+     * The student's average grade in the course, computed by the database without loading any grade.
+     */
+    @Transactional(readOnly = true)
+    public CourseGpa getCourseGpa(Long courseId, Long studentId) {
+        return gradeRepository.findCourseGpa(courseId, studentId)
+                .orElseGet(() -> new CourseGpa(courseId, studentId, 0.0, 0L));
+    }
+
+    @Transactional(readOnly = true)
     public List<Grade> getGradesByCourse(Course course) {
         return gradeRepository.findByCourse(course);
     }
-}
\ No newline at end of file
+
+    @Transactional(readOnly = true)
+    public List<CourseGradeAggregate> getCourseGradeAggregates() {
+        return gradeRepository.aggregateGradesByCourse();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CourseGradeAggregate> getCourseGradeAggregate(Long courseId) {
+        return gradeRepository.aggregateGradesForCourse(courseId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CourseGradeAggregate> getCourseGradeAggregates(Long fromCourseId, Long toCourseId) {
+        return gradeRepository.aggregateGradesForCourseRange(fromCourseId, toCourseId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GradeValueCount> getGradeValueCounts() {
+        return gradeRepository.countGradeValuesByCourse();
+    }
+
+    @Transactional(readOnly = true)
+    public List<GradeValueCount> getGradeValueCounts(Long courseId) {
+        return gradeRepository.countGradeValuesForCourse(courseId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GradeValueCount> getGradeValueCounts(Long fromCourseId, Long toCourseId) {
+        return gradeRepository.countGradeValuesForCourseRange(fromCourseId, toCourseId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GradeDailyAggregate> getDailyGradeAggregates(LocalDateTime since, Long fromCourseId, Long toCourseId) {
+        return gradeRepository.aggregateGradesByDaySince(since, fromCourseId, toCourseId);
+    }
+}
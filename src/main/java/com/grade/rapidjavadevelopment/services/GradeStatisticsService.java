@@ -1,16 +1,56 @@
 package com.grade.rapidjavadevelopment.services;
 
+import com.grade.rapidjavadevelopment.config.ReadReplicaRoutingDataSource;
+import com.grade.rapidjavadevelopment.events.CourseStatisticsPublishedEvent;
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
+import com.grade.rapidjavadevelopment.events.GradeChangedEvent;
+import com.grade.rapidjavadevelopment.models.CourseDistribution;
+import com.grade.rapidjavadevelopment.models.CourseGradeAggregate;
+import com.grade.rapidjavadevelopment.models.CourseStatisticsSnapshot;
+import com.grade.rapidjavadevelopment.models.CourseWindowStatistics;
+import com.grade.rapidjavadevelopment.models.GradeDailyAggregate;
+import com.grade.rapidjavadevelopment.models.GradeValueCount;
+import com.grade.rapidjavadevelopment.models.StatisticsPartitionTiming;
+import com.grade.rapidjavadevelopment.models.StatisticsRecomputeReport;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
 import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
-public class GradeStatisticsService {
+public class GradeStatisticsService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(GradeStatisticsService.class);
 
     @Autowired
     private GradeService gradeService;
@@ -18,32 +58,577 @@ public class GradeStatisticsService {
     @Autowired
     private CourseService courseService;
 
-    private Map<Long, Double> courseAverages = new HashMap<>();
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private GradeColumnStore gradeColumnStore;
+
+    @Value("${statistics.histogram.lower-bound:0}")
+    private double histogramLowerBound = 0.0;
+
+    @Value("${statistics.histogram.upper-bound:100}")
+    private double histogramUpperBound = 100.0;
+
+    @Value("${statistics.histogram.buckets:100}")
+    private int histogramBuckets = 100;
+
+    @Value("${statistics.window.max-days:90}")
+    private int windowMaxDays = 90;
+
+    @Value("${statistics.recompute.source:database}")
+    private String recomputeSource = "database";
+
+    @Value("${statistics.recompute.parallel:false}")
+    private boolean parallelRecompute = false;
+
+    @Value("${statistics.recompute.partitions:8}")
+    private int recomputePartitions = 8;
+
+    @Value("${statistics.recompute.pool-size:4}")
+    private int recomputePoolSize = 4;
+
+    @Value("${statistics.recompute.max-db-connections:2}")
+    private int recomputeMaxDbConnections = 2;
+
+    private ExecutorService recomputeExecutor;
+    private Semaphore dbPermits;
+
+    @Getter
+    private volatile StatisticsRecomputeReport lastRecomputeReport;
+
+    private final Map<Long, CourseAccumulator> courseAccumulators = new ConcurrentHashMap<>();
+    private final Set<Long> coursesChangedDuringUpdate = ConcurrentHashMap.newKeySet();
+    private volatile boolean updating;
+
+    // Snapshot versions restart at 1 with the process; the epoch keeps tags from an earlier run from matching.
     @Getter
-    private LocalDateTime lastUpdateTime;
+    private final String snapshotEpoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final Object publishLock = new Object();
+    private volatile CourseStatisticsSnapshot snapshot = CourseStatisticsSnapshot.EMPTY;
+
+    // Answers distribution lookups for courses without grades; never written to.
+    private volatile CourseAccumulator emptyAccumulator;
+
+    private volatile Timer databaseReconcileTimer;
+    private volatile Timer columnStoreReconcileTimer;
+    // System.nanoTime() of the last completed reconcile; 0 until the first one finishes.
+    private volatile long lastReconcileNanos;
 
-    @Scheduled(fixedRate = 30000)
-    public void updateCourseStatistics() {
-        System.out.println("Updating course statistics at: " + LocalDateTime.now());
+    /**
+     * Full reconcile of the running accumulators against the database. Grade writes keep the
+     * accumulators current on their own, so this only runs as a low-frequency safety net. It reads
+     * from the primary, since a lagging replica would roll back writes the accumulators already hold.
+     */
+    @Scheduled(fixedRateString = "${statistics.reconcile-interval-ms:600000}")
+    public synchronized void updateCourseStatistics() {
+        long start = System.nanoTime();
+        boolean fromColumnStore = "column-store".equals(recomputeSource) && gradeColumnStore.isReady();
 
-        courseService.getAllCourses().forEach(course -> {
-            double avgGrade = gradeService.getGradesByCourse(course).stream()
-                    .mapToDouble(grade -> grade.getGrade())
-                    .average()
-                    .orElse(0.0);
+        coursesChangedDuringUpdate.clear();
+        updating = true;
+        try {
+            Map<Long, CourseAccumulator> rebuilt = ReadReplicaRoutingDataSource.onPrimary(() -> {
+                if (fromColumnStore) {
+                    return recomputeFromColumnStore();
+                }
+                return parallelRecompute ? recomputeInParallel() : recomputeSequentially();
+            });
+
+            courseAccumulators.keySet().retainAll(rebuilt.keySet());
+            courseAccumulators.putAll(rebuilt);
+
+            // A write that committed while the scan was running may or may not be part of it,
+            // so reload just those courses instead of trusting either side.
+            coursesChangedDuringUpdate.forEach(this::reloadCourse);
+        } finally {
+            updating = false;
+        }
+
+        publishSnapshot();
+        long finished = System.nanoTime();
+        lastReconcileNanos = finished;
+        Timer timer = fromColumnStore ? columnStoreReconcileTimer : databaseReconcileTimer;
+        if (timer != null) {
+            timer.record(finished - start, TimeUnit.NANOSECONDS);
+        }
+        logger.debug("Statistics reconcile completed for {} courses", snapshot.size());
+    }
+
+    /**
+     * Seconds since the last full reconcile finished, or {@code NaN} before the first one.
+     */
+    double getSecondsSinceLastReconcile() {
+        long last = lastReconcileNanos;
+        return last == 0 ? Double.NaN : (System.nanoTime() - last) / 1e9;
+    }
+
+    private Map<Long, CourseAccumulator> recomputeSequentially() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+
+        Map<Long, CourseAccumulator> rebuilt = buildAccumulators(
+                gradeService.getCourseGradeAggregates(),
+                gradeService.getGradeValueCounts(),
+                gradeService.getDailyGradeAggregates(windowStart(), Long.MIN_VALUE, Long.MAX_VALUE));
+
+        long elapsed = millisSince(start);
+        Long firstCourseId = rebuilt.keySet().stream().min(Long::compare).orElse(null);
+        Long lastCourseId = rebuilt.keySet().stream().max(Long::compare).orElse(null);
+        recordReport(new StatisticsRecomputeReport(false, startedAt, elapsed, rebuilt.size(), 1, 1,
+                List.of(new StatisticsPartitionTiming(0, firstCourseId, lastCourseId, rebuilt.size(), 0, elapsed, elapsed))));
+        return rebuilt;
+    }
+
+    /**
+     * Rebuilds the accumulators from one pass over the in-memory grade columns. Accumulators are
+     * indexed by the store's course code, so the scan itself does not allocate per grade. With
+     * {@code statistics.recompute.parallel} the rows are split across the recompute pool and each
+     * course's partial accumulators are merged.
+     */
+    private Map<Long, CourseAccumulator> recomputeFromColumnStore() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+
+        List<CourseAccumulator> byCourseCode;
+        int partitions = 1;
+        if (parallelRecompute) {
+            List<CourseCodeAccumulators> scanned = gradeColumnStore.scanPartitioned(recomputeExecutor(),
+                    recomputePartitions, CourseCodeAccumulators::new);
+            partitions = Math.max(1, scanned.size());
+            byCourseCode = new ArrayList<>();
+            for (CourseCodeAccumulators partition : scanned) {
+                mergeByCourseCode(byCourseCode, partition.byCourseCode);
+            }
+        } else {
+            CourseCodeAccumulators all = new CourseCodeAccumulators();
+            gradeColumnStore.scan(all);
+            byCourseCode = all.byCourseCode;
+        }
+
+        Map<Long, CourseAccumulator> fromStore = new HashMap<>();
+        for (int code = 0; code < byCourseCode.size(); code++) {
+            if (byCourseCode.get(code) != null) {
+                fromStore.put(gradeColumnStore.courseIdForCode(code), byCourseCode.get(code));
+            }
+        }
+        // The store only knows graded courses and may still hold grades of deleted ones.
+        Map<Long, CourseAccumulator> rebuilt = new HashMap<>();
+        for (Long courseId : courseService.getAllCourseIds()) {
+            CourseAccumulator accumulator = fromStore.get(courseId);
+            rebuilt.put(courseId, accumulator != null ? accumulator : newAccumulator());
+        }
+
+        long elapsed = millisSince(start);
+        recordReport(new StatisticsRecomputeReport(partitions > 1, startedAt, elapsed, rebuilt.size(),
+                partitions > 1 ? recomputePoolSize : 1, 0,
+                List.of(new StatisticsPartitionTiming(0, null, null, rebuilt.size(), 0, 0, elapsed))));
+        return rebuilt;
+    }
+
+    private static void mergeByCourseCode(List<CourseAccumulator> into, List<CourseAccumulator> partition) {
+        for (int code = 0; code < partition.size(); code++) {
+            CourseAccumulator accumulator = partition.get(code);
+            if (accumulator == null) {
+                continue;
+            }
+            while (into.size() <= code) {
+                into.add(null);
+            }
+            if (into.get(code) == null) {
+                into.set(code, accumulator);
+            } else {
+                into.get(code).merge(accumulator);
+            }
+        }
+    }
+
+    // One scan partition's accumulators, indexed by course code; only touched by the thread scanning it.
+    private final class CourseCodeAccumulators implements GradeColumnStore.RowVisitor {
+
+        private final List<CourseAccumulator> byCourseCode = new ArrayList<>();
+
+        @Override
+        public void visit(int courseCode, long studentId, double value, int credits, long createdAtEpochSecond) {
+            while (byCourseCode.size() <= courseCode) {
+                byCourseCode.add(null);
+            }
+            CourseAccumulator accumulator = byCourseCode.get(courseCode);
+            if (accumulator == null) {
+                accumulator = newAccumulator();
+                byCourseCode.set(courseCode, accumulator);
+            }
+            accumulator.add(value, createdAtEpochSecond == GradeColumnStore.NO_TIMESTAMP
+                    ? Long.MIN_VALUE : Math.floorDiv(createdAtEpochSecond, 86_400L));
+        }
+    }
+
+    /**
+     * Splits the course ids into contiguous ranges and loads each range on the recompute pool.
+     * Partition results are only merged once every partition has finished, so a failed run
+     * leaves the previous statistics untouched.
+     */
+    private Map<Long, CourseAccumulator> recomputeInParallel() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+
+        List<Long> courseIds = courseService.getAllCourseIds();
+        int partitionCount = Math.max(1, Math.min(recomputePartitions, courseIds.size()));
+        int partitionSize = (courseIds.size() + partitionCount - 1) / partitionCount;
+
+        ExecutorService executor = recomputeExecutor();
+        List<Future<PartitionResult>> futures = new ArrayList<>();
+        for (int partition = 0, from = 0; from < courseIds.size(); partition++, from += partitionSize) {
+            int to = Math.min(from + partitionSize, courseIds.size());
+            // Ranges cover the whole id space so courses created mid-run still land in a partition.
+            long lowerBound = from == 0 ? Long.MIN_VALUE : courseIds.get(from);
+            long upperBound = to == courseIds.size() ? Long.MAX_VALUE : courseIds.get(to) - 1;
+            int index = partition;
+            List<Long> partitionIds = courseIds.subList(from, to);
+            futures.add(executor.submit(() -> ReadReplicaRoutingDataSource.onPrimary(
+                    () -> recomputePartition(index, lowerBound, upperBound, partitionIds))));
+        }
+
+        Map<Long, CourseAccumulator> rebuilt = new HashMap<>();
+        List<StatisticsPartitionTiming> timings = new ArrayList<>();
+        try {
+            for (Future<PartitionResult> future : futures) {
+                PartitionResult result = future.get();
+                rebuilt.putAll(result.accumulators());
+                timings.add(result.timing());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while recomputing course statistics", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new IllegalStateException("Failed to recompute course statistics", e.getCause());
+        }
+
+        recordReport(new StatisticsRecomputeReport(true, startedAt, millisSince(start), rebuilt.size(),
+                recomputePoolSize, recomputeMaxDbConnections, timings));
+        return rebuilt;
+    }
+
+    private PartitionResult recomputePartition(int partition, long lowerBound, long upperBound, List<Long> courseIds)
+            throws InterruptedException {
+        long queued = System.nanoTime();
+        List<CourseGradeAggregate> aggregates;
+        List<GradeValueCount> valueCounts;
+        List<GradeDailyAggregate> dailyAggregates;
+        dbPermits.acquire();
+        long acquired = System.nanoTime();
+        try {
+            aggregates = gradeService.getCourseGradeAggregates(lowerBound, upperBound);
+            valueCounts = gradeService.getGradeValueCounts(lowerBound, upperBound);
+            dailyAggregates = gradeService.getDailyGradeAggregates(windowStart(), lowerBound, upperBound);
+        } finally {
+            dbPermits.release();
+        }
+        long queried = System.nanoTime();
+
+        Map<Long, CourseAccumulator> accumulators = buildAccumulators(aggregates, valueCounts, dailyAggregates);
+        StatisticsPartitionTiming timing = new StatisticsPartitionTiming(partition,
+                courseIds.get(0), courseIds.get(courseIds.size() - 1), accumulators.size(),
+                (acquired - queued) / 1_000_000, (queried - acquired) / 1_000_000, millisSince(queued));
+        return new PartitionResult(accumulators, timing);
+    }
+
+    private Map<Long, CourseAccumulator> buildAccumulators(List<CourseGradeAggregate> aggregates,
+                                                           List<GradeValueCount> valueCounts,
+                                                           List<GradeDailyAggregate> dailyAggregates) {
+        Map<Long, CourseAccumulator> accumulators = new HashMap<>();
+        for (CourseGradeAggregate aggregate : aggregates) {
+            accumulators.put(aggregate.getCourseId(), CourseAccumulator.of(aggregate, newHistogram(), newDailyBuckets()));
+        }
+        for (GradeValueCount valueCount : valueCounts) {
+            CourseAccumulator accumulator = accumulators.get(valueCount.getCourseId());
+            if (accumulator != null) {
+                accumulator.addToHistogram(valueCount.getValue(), valueCount.getCount());
+            }
+        }
+        for (GradeDailyAggregate daily : dailyAggregates) {
+            CourseAccumulator accumulator = accumulators.get(daily.getCourseId());
+            if (accumulator != null) {
+                accumulator.addToDay(daily.getDay(), daily.getCount(), daily.getSum());
+            }
+        }
+        return accumulators;
+    }
 
-            courseAverages.put(course.getId(), avgGrade);
+    private void recordReport(StatisticsRecomputeReport report) {
+        lastRecomputeReport = report;
+        logger.info("Course statistics recomputed in {} ms ({} courses, parallel={}, partitions={})",
+                report.getDurationMillis(), report.getCourses(), report.isParallel(), report.getPartitions().size());
+        for (StatisticsPartitionTiming timing : report.getPartitions()) {
+            logger.debug("Partition {} [{}..{}]: {} courses, waited {} ms, queried {} ms, total {} ms",
+                    timing.getPartition(), timing.getFirstCourseId(), timing.getLastCourseId(), timing.getCourses(),
+                    timing.getWaitMillis(), timing.getQueryMillis(), timing.getTotalMillis());
+        }
+    }
+
+    private ExecutorService recomputeExecutor() {
+        if (recomputeExecutor == null) {
+            AtomicInteger threadCount = new AtomicInteger();
+            recomputeExecutor = Executors.newFixedThreadPool(Math.max(1, recomputePoolSize), runnable -> {
+                Thread thread = new Thread(runnable, "statistics-recompute-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            dbPermits = new Semaphore(Math.max(1, recomputeMaxDbConnections), true);
+        }
+        return recomputeExecutor;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recomputeExecutor != null) {
+            recomputeExecutor.shutdownNow();
+            recomputeExecutor = null;
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private record PartitionResult(Map<Long, CourseAccumulator> accumulators, StatisticsPartitionTiming timing) {
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradeChanged(GradeChangedEvent event) {
+        if (apply(event)) {
+            publishSnapshot(List.of(event.getCourseId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGradeBatchChanged(GradeBatchChangedEvent event) {
+        Set<Long> changedCourseIds = new HashSet<>();
+        for (GradeChangedEvent change : event.getChanges()) {
+            if (apply(change)) {
+                changedCourseIds.add(change.getCourseId());
+            }
+        }
+        if (!changedCourseIds.isEmpty()) {
+            publishSnapshot(changedCourseIds);
+        }
+    }
+
+    private boolean apply(GradeChangedEvent event) {
+        Long courseId = event.getCourseId();
+        if (courseId == null) {
+            return false;
+        }
+        if (updating) {
+            coursesChangedDuringUpdate.add(courseId);
+        }
+
+        switch (event.getType()) {
+            case ADDED -> courseAccumulators
+                    .computeIfAbsent(courseId, id -> newAccumulator())
+                    .add(event.getValue(), event.getCreatedAt());
+            case REMOVED -> {
+                CourseAccumulator accumulator = courseAccumulators.get(courseId);
+                if (accumulator != null) {
+                    accumulator.remove(event.getValue(), event.getCreatedAt());
+                }
+            }
+            case UPDATED -> reloadCourse(courseId);
+        }
+        return true;
+    }
+
+    /**
+     * Builds a new snapshot from the accumulators and swaps it in. Publishers are serialized so a
+     * snapshot built from older state can never replace a newer one; readers never take the lock.
+     */
+    private void publishSnapshot() {
+        CourseStatisticsSnapshot published;
+        synchronized (publishLock) {
+            published = rebuildSnapshot(snapshot.getVersion() + 1);
+            snapshot = published;
+        }
+        eventPublisher.publishEvent(new CourseStatisticsPublishedEvent(published));
+    }
+
+    /**
+     * Publishes new averages for the given courses only. When a course was added or removed the
+     * set of ids changed, so the snapshot is rebuilt instead.
+     */
+    private void publishSnapshot(Collection<Long> changedCourseIds) {
+        CourseStatisticsSnapshot published;
+        synchronized (publishLock) {
+            CourseStatisticsSnapshot current = snapshot;
+            long[] courseIds = new long[changedCourseIds.size()];
+            double[] averages = new double[courseIds.length];
+            boolean sameCourses = true;
+            int index = 0;
+            for (Long courseId : changedCourseIds) {
+                CourseAccumulator accumulator = courseAccumulators.get(courseId);
+                if (accumulator == null || !current.containsCourse(courseId)) {
+                    sameCourses = false;
+                    break;
+                }
+                courseIds[index] = courseId;
+                averages[index] = accumulator.getAverage();
+                index++;
+            }
+            published = sameCourses
+                    ? current.withAverages(current.getVersion() + 1, LocalDateTime.now(), courseIds, averages)
+                    : rebuildSnapshot(current.getVersion() + 1);
+            snapshot = published;
+        }
+        eventPublisher.publishEvent(new CourseStatisticsPublishedEvent(published));
+    }
+
+    private CourseStatisticsSnapshot rebuildSnapshot(long version) {
+        long[] courseIds = courseAccumulators.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        double[] averages = new double[courseIds.length];
+        int size = 0;
+        for (long courseId : courseIds) {
+            // Removed since the ids were copied; leave it out rather than publish it as zero.
+            CourseAccumulator accumulator = courseAccumulators.get(courseId);
+            if (accumulator != null) {
+                courseIds[size] = courseId;
+                averages[size] = accumulator.getAverage();
+                size++;
+            }
+        }
+        if (size < courseIds.length) {
+            courseIds = Arrays.copyOf(courseIds, size);
+            averages = Arrays.copyOf(averages, size);
+        }
+        return CourseStatisticsSnapshot.of(version, LocalDateTime.now(), courseIds, averages);
+    }
+
+    // Runs right after a commit, before a replica can be trusted to have it.
+    private void reloadCourse(Long courseId) {
+        ReadReplicaRoutingDataSource.onPrimary(() -> {
+            gradeService.getCourseGradeAggregate(courseId).ifPresentOrElse(aggregate -> {
+                CourseAccumulator accumulator = CourseAccumulator.of(aggregate, newHistogram(), newDailyBuckets());
+                gradeService.getGradeValueCounts(courseId)
+                        .forEach(valueCount -> accumulator.addToHistogram(valueCount.getValue(), valueCount.getCount()));
+                gradeService.getDailyGradeAggregates(windowStart(), courseId, courseId)
+                        .forEach(daily -> accumulator.addToDay(daily.getDay(), daily.getCount(), daily.getSum()));
+                courseAccumulators.put(courseId, accumulator);
+            }, () -> courseAccumulators.remove(courseId));
+            return null;
         });
+    }
+
+    private CourseAccumulator newAccumulator() {
+        return new CourseAccumulator(newHistogram(), newDailyBuckets());
+    }
 
-        lastUpdateTime = LocalDateTime.now();
-        System.out.println("Statistics update completed. Processed " + courseAverages.size() + " courses.");
+    private GradeHistogram newHistogram() {
+        return new GradeHistogram(histogramLowerBound, histogramUpperBound, histogramBuckets);
+    }
+
+    private DailyGradeBuckets newDailyBuckets() {
+        return new DailyGradeBuckets(windowMaxDays);
+    }
+
+    private LocalDateTime windowStart() {
+        return LocalDate.now().minusDays(windowMaxDays - 1).atStartOfDay();
+    }
+
+    public CourseStatisticsSnapshot getSnapshot() {
+        return snapshot;
     }
 
     public Double getCourseAverage(Long courseId) {
-        return courseAverages.getOrDefault(courseId, 0.0);
+        return snapshot.getAverage(courseId);
     }
 
+    /**
+     * Read-only view of the current snapshot; nothing is copied.
+     */
     public Map<Long, Double> getCourseAverages() {
-        return new HashMap<>(courseAverages);
+        return snapshot.getAverages();
+    }
+
+    public LocalDateTime getLastUpdateTime() {
+        return snapshot.getTimestamp();
+    }
+
+    public CourseDistribution getCourseDistribution(Long courseId) {
+        CourseAccumulator accumulator = courseAccumulators.get(courseId);
+        return (accumulator != null ? accumulator : emptyAccumulator()).toDistribution(courseId);
+    }
+
+    private CourseAccumulator emptyAccumulator() {
+        CourseAccumulator empty = emptyAccumulator;
+        if (empty == null) {
+            // Racing callers may each build one; they are identical, so the last write wins harmlessly.
+            empty = newAccumulator();
+            emptyAccumulator = empty;
+        }
+        return empty;
+    }
+
+    /**
+     * Grade count and average for the {@code windowDays} days ending today, summed from the daily
+     * buckets rather than by querying grades.
+     */
+    public CourseWindowStatistics getCourseWindowStatistics(Long courseId, int windowDays) {
+        checkWindow(windowDays);
+        CourseAccumulator accumulator = courseAccumulators.get(courseId);
+        return windowStatistics(courseId, accumulator, windowDays, LocalDate.now());
+    }
+
+    public List<CourseWindowStatistics> getWindowStatistics(int windowDays) {
+        checkWindow(windowDays);
+        LocalDate today = LocalDate.now();
+        List<CourseWindowStatistics> statistics = new ArrayList<>();
+        courseAccumulators.forEach((courseId, accumulator) ->
+                statistics.add(windowStatistics(courseId, accumulator, windowDays, today)));
+        statistics.sort((a, b) -> Long.compare(a.getCourseId(), b.getCourseId()));
+        return statistics;
+    }
+
+    public int getWindowMaxDays() {
+        return windowMaxDays;
+    }
+
+    private void checkWindow(int windowDays) {
+        if (windowDays < 1 || windowDays > windowMaxDays) {
+            throw new IllegalArgumentException("Window must be between 1 and " + windowMaxDays + " days");
+        }
+    }
+
+    private static CourseWindowStatistics windowStatistics(Long courseId, CourseAccumulator accumulator,
+                                                           int windowDays, LocalDate today) {
+        long count = 0;
+        double average = 0.0;
+        if (accumulator != null) {
+            DailyGradeBuckets.Totals totals = accumulator.window(today, windowDays);
+            count = totals.count();
+            average = count > 0 ? totals.sum() / count : 0.0;
+        }
+        return new CourseWindowStatistics(courseId, windowDays, today.minusDays(windowDays - 1), today, count, average);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        databaseReconcileTimer = reconcileTimer("database", registry);
+        columnStoreReconcileTimer = reconcileTimer("column-store", registry);
+        Gauge.builder("statistics.reconcile.age", this, GradeStatisticsService::getSecondsSinceLastReconcile)
+                .baseUnit("seconds")
+                .description("Time since the course statistics were last reconciled against the grades")
+                .register(registry);
+        Gauge.builder("statistics.courses", this, service -> service.snapshot.size())
+                .description("Courses in the published statistics snapshot")
+                .register(registry);
+    }
+
+    private static Timer reconcileTimer(String source, MeterRegistry registry) {
+        return Timer.builder("statistics.reconcile.duration")
+                .tag("source", source)
+                .description("Duration of a full course statistics reconcile")
+                .publishPercentileHistogram()
+                .register(registry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,132 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.models.RefreshToken;
+import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.models.UserPrincipal;
+import com.grade.rapidjavadevelopment.repositories.RefreshTokenRepository;
+import com.grade.rapidjavadevelopment.repositories.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Renewing costs a hash lookup and a user lookup by id,
+ * with no password check; a token only renews while the user's token version is unchanged.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final int TOKEN_BYTES = 32;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Rotation {
+        private final UserPrincipal principal;
+        private final String refreshToken;
+    }
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${jwt.refresh-token.validity-days:14}")
+    private int validityDays = 14;
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Starts a new token family for a user who just logged in and returns its first token.
+     */
+    public String issue(Long userId, int tokenVersion) {
+        return issue(userId, tokenVersion, UUID.randomUUID().toString());
+    }
+
+    private String issue(Long userId, int tokenVersion, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setFamilyId(familyId);
+        token.setUserId(userId);
+        token.setTokenVersion(tokenVersion);
+        token.setExpiresAt(LocalDateTime.now().plusDays(validityDays));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    /**
+     * Exchanges a refresh token for the next one in its family. Empty when the token is unknown,
+     * expired, revoked, already used or belongs to a user whose account changed since login.
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(rawToken)).orElse(null);
+        LocalDateTime now = LocalDateTime.now();
+        if (token == null || token.isRevoked() || !token.getExpiresAt().isAfter(now)) {
+            return Optional.empty();
+        }
+        if (refreshTokenRepository.markUsed(token.getId(), now) == 0) {
+            // A rotated token came back: either a replay or a stolen copy, so end the whole session.
+            logger.warn("Refresh token reused for user {}, revoking its family", token.getUserId());
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            return Optional.empty();
+        }
+        User user = userRepository.findById(token.getUserId()).orElse(null);
+        if (user == null || user.getTokenVersion() != token.getTokenVersion()) {
+            refreshTokenRepository.revokeFamily(token.getFamilyId());
+            return Optional.empty();
+        }
+
+        UserPrincipal principal = new UserPrincipal(user.getId(), user.getUsername(), "", user.getTokenVersion(),
+                Collections.singletonList(new SimpleGrantedAuthority(user.getRole().toString())));
+        return Optional.of(new Rotation(principal, issue(user.getId(), user.getTokenVersion(), token.getFamilyId())));
+    }
+
+    /**
+     * Revokes the family the token belongs to, ending that login session.
+     */
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId()));
+    }
+
+    @Scheduled(fixedRateString = "${jwt.refresh-token.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grade.rapidjavadevelopment.events.CourseStatisticsPublishedEvent;
+import com.grade.rapidjavadevelopment.models.CourseStatisticsSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes course statistics snapshots to Server-Sent Events subscribers.
+ * <p>
+ * Idle subscribers are parked servlet async requests, so they cost no thread. Updates published
+ * within {@code statistics.stream.coalesce-ms} of each other are sent once. Each subscriber has at
+ * most one send in flight; a slow subscriber skips intermediate versions and receives the newest
+ * snapshot once its previous send completes. Every payload is serialized once and shared.
+ * <p>
+ * Event ids are {@code <epoch>-<version>}, using {@link GradeStatisticsService#getSnapshotEpoch()},
+ * because versions restart at 1 with the process.
+ */
+@Component
+public class StatisticsBroadcaster {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsBroadcaster.class);
+
+    static final String EVENT_NAME = "statistics";
+
+    @Autowired
+    private GradeStatisticsService gradeStatisticsService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${statistics.stream.coalesce-ms:250}")
+    private long coalesceMillis = 250;
+
+    @Value("${statistics.stream.heartbeat-ms:30000}")
+    private long heartbeatMillis = 30000;
+
+    @Value("${statistics.stream.timeout-ms:1800000}")
+    private long timeoutMillis = 1800000;
+
+    @Value("${statistics.stream.max-subscribers:10000}")
+    private int maxSubscribers = 10000;
+
+    @Value("${statistics.stream.send-threads:2}")
+    private int sendThreads = 2;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<CourseStatisticsSnapshot> latest = new AtomicReference<>();
+    private final AtomicReference<Payload> payload = new AtomicReference<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private ScheduledExecutorService scheduler;
+    private ExecutorService senders;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger threadCount = new AtomicInteger();
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "statistics-stream-timer"));
+        senders = Executors.newFixedThreadPool(Math.max(1, sendThreads),
+                runnable -> daemon(runnable, "statistics-stream-" + threadCount.incrementAndGet()));
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * Opens a stream that starts with the current snapshot unless the client already has it
+     * ({@code Last-Event-ID} naming the current version of this run).
+     *
+     * @throws IllegalStateException when the subscriber limit is reached
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many statistics subscribers");
+        }
+        CourseStatisticsSnapshot current = gradeStatisticsService.getSnapshot();
+        offer(current);
+        long knownVersion = knownVersion(lastEventId, current.getVersion());
+
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, knownVersion);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.deliver();
+        return emitter;
+    }
+
+    @EventListener
+    public void onStatisticsPublished(CourseStatisticsPublishedEvent event) {
+        offer(event.getSnapshot());
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                scheduler.schedule(this::flush, coalesceMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flushScheduled.set(false);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter newEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    // An id from another run, malformed, or ahead of the current version means the client's copy is unknown.
+    private long knownVersion(String lastEventId, long currentVersion) {
+        if (lastEventId == null) {
+            return -1L;
+        }
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(gradeStatisticsService.getSnapshotEpoch())) {
+            return -1L;
+        }
+        try {
+            long version = Long.parseLong(lastEventId.substring(separator + 1));
+            return version <= currentVersion ? version : -1L;
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private void offer(CourseStatisticsSnapshot snapshot) {
+        latest.accumulateAndGet(snapshot,
+                (current, candidate) -> current == null || candidate.getVersion() > current.getVersion() ? candidate : current);
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        subscribers.forEach(Subscriber::deliver);
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(Subscriber::ping);
+    }
+
+    private Payload currentPayload() {
+        CourseStatisticsSnapshot snapshot = latest.get();
+        Payload cached = payload.get();
+        if (cached != null && cached.version == snapshot.getVersion()) {
+            return cached;
+        }
+        try {
+            Payload fresh = new Payload(snapshot.getVersion(),
+                    gradeStatisticsService.getSnapshotEpoch() + "-" + snapshot.getVersion(),
+                    objectMapper.writeValueAsString(snapshot));
+            payload.set(fresh);
+            return fresh;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize course statistics", e);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private record Payload(long version, String id, String json) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long sentVersion;
+
+        private Subscriber(SseEmitter emitter, long sentVersion) {
+            this.emitter = emitter;
+            this.sentVersion = sentVersion;
+        }
+
+        void deliver() {
+            if (latest.get().getVersion() > sentVersion && sending.compareAndSet(false, true)) {
+                submit(this::drain);
+            }
+        }
+
+        void ping() {
+            if (sending.compareAndSet(false, true)) {
+                submit(this::sendKeepAlive);
+            }
+        }
+
+        private void sendKeepAlive() {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // A flush that arrived during the keep-alive found the flag taken and skipped this subscriber.
+            deliver();
+        }
+
+        private void drain() {
+            try {
+                Payload next = currentPayload();
+                while (next.version > sentVersion) {
+                    emitter.send(SseEmitter.event()
+                            .id(next.id)
+                            .name(EVENT_NAME)
+                            .data(next.json, MediaType.APPLICATION_JSON));
+                    sentVersion = next.version;
+                    next = currentPayload();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(e);
+                return;
+            } finally {
+                sending.set(false);
+            }
+            // A snapshot published between the last check and releasing the flag would otherwise wait for the next flush.
+            deliver();
+        }
+
+        private void submit(Runnable task) {
+            try {
+                senders.execute(task);
+            } catch (RejectedExecutionException e) {
+                sending.set(false);
+            }
+        }
+
+        private void close(Exception cause) {
+            logger.debug("Dropping statistics subscriber: {}", cause.getMessage());
+            subscribers.remove(this);
+            emitter.completeWithError(cause);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.grade.rapidjavadevelopment.services;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets keyed by string. Each bucket is a single "full again at" timestamp (the generic
+ * cell rate algorithm), so taking a token is one compare-and-set with no lock, and the map itself
+ * is striped. A bucket that has refilled completely carries no state and is dropped by
+ * {@link #sweep}. Once {@code maxKeys} buckets are live, a new key first sweeps and then evicts
+ * the quarter of buckets closest to full. Evicting a bucket only forgives what it still owes, so
+ * a spray of one-attempt keys is dropped before a real user's busier bucket, and no key ever
+ * shares another key's tokens.
+ */
+class TokenBuckets {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder capacityEvictions = new LongAdder();
+
+    TokenBuckets(int capacity, int refillPerMinute, int maxKeys, long now) {
+        if (capacity < 1 || refillPerMinute < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("Invalid token bucket settings: capacity=" + capacity
+                    + ", refillPerMinute=" + refillPerMinute + ", maxKeys=" + maxKeys);
+        }
+        this.nanosPerToken = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstNanos = nanosPerToken * capacity;
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}. Returns 0 when the token was granted,
+     * otherwise the nanoseconds until one becomes available.
+     */
+    long tryAcquire(String key, long now) {
+        AtomicLong bucket = bucketFor(key, now);
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + nanosPerToken;
+            long debt = next - now;
+            if (debt > burstNanos) {
+                return debt - burstNanos;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops every bucket that is full again and returns how many were dropped. A request racing
+     * with the removal may spend a token on the dropped bucket, which at worst grants one extra
+     * attempt.
+     */
+    int sweep(long now) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return Math.max(0, before - buckets.size());
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Buckets that were still owed tokens but were dropped to make room for new keys.
+     */
+    long getCapacityEvictions() {
+        return capacityEvictions.sum();
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        // Threads that find another one already evicting insert anyway; the bound is soft by that much.
+        if (buckets.size() >= maxKeys && evictionLock.tryLock()) {
+            try {
+                makeRoom(now);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    // Frees a quarter of the map at once, so the sort is paid once per maxKeys / 4 new keys.
+    private void makeRoom(long now) {
+        sweep(now);
+        int target = maxKeys - Math.max(1, maxKeys / 4);
+        long[] owed = new long[buckets.size()];
+        int count = 0;
+        for (AtomicLong bucket : buckets.values()) {
+            if (count == owed.length) {
+                break;
+            }
+            owed[count++] = bucket.get() - now;
+        }
+        int excess = count - target;
+        if (excess <= 0) {
+            return;
+        }
+        Arrays.sort(owed, 0, count);
+        long cutoff = owed[excess - 1];
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= cutoff);
+        capacityEvictions.add(Math.max(0, before - buckets.size()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current token version per user id, so the API filter can reject revoked tokens without a
+ * database query. A user's version is read from the database the first time it is needed and
+ * then kept current by {@link UserService}.
+ */
+@Component
+public class TokenVersionRegistry {
+
+    private static final int REVOKED = -1;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = versions.get(userId);
+        if (current == null) {
+            // A concurrent update wins over what was just read.
+            Integer loaded = userRepository.findTokenVersionById(userId).orElse(REVOKED);
+            Integer raced = versions.putIfAbsent(userId, loaded);
+            current = raced != null ? raced : loaded;
+        }
+        return current != REVOKED && current == tokenVersion;
+    }
+
+    public void update(Long userId, int tokenVersion) {
+        versions.put(userId, tokenVersion);
+    }
+
+    public void revoke(Long userId) {
+        versions.put(userId, REVOKED);
+    }
+}
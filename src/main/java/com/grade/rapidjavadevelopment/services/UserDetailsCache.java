@@ -0,0 +1,224 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.models.UserPrincipal;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded, TTL-based cache of loaded users keyed by username. Spring Security erases the
+ * password of the {@code UserDetails} it authenticated, so every lookup hands out a fresh copy
+ * and the cached instance is never exposed.
+ * <p>
+ * Hits read a concurrent map without locking. Inserts and evictions take a lock and keep an
+ * insertion-ordered copy, which is also expiry order since every entry has the same TTL, so
+ * making room only ever looks at the oldest entries.
+ */
+@Component
+public class UserDetailsCache implements MeterBinder {
+
+    private record Entry(String username, UserPrincipal user, long expiresAtNanos) {
+    }
+
+    @Value("${security.user-cache.max-size:10000}")
+    private int maxSize = 10000;
+
+    @Value("${security.user-cache.ttl-ms:300000}")
+    private long ttlMs = 300000;
+
+    private final Map<String, Entry> usersByName = new ConcurrentHashMap<>();
+    // These two are guarded by lock, as is every change to usersByName.
+    private final LinkedHashMap<String, Entry> oldestFirst = new LinkedHashMap<>();
+    private final Map<Long, Set<String>> usernamesById = new HashMap<>();
+    private final Object lock = new Object();
+    // Bumped on every eviction so a load that raced with a user update is not cached.
+    private final AtomicLong modifications = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expiredEvictions = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder explicitEvictions = new LongAdder();
+
+    public UserPrincipal get(String username, Supplier<UserPrincipal> loader) {
+        if (username == null) {
+            return loader.get();
+        }
+        long now = System.nanoTime();
+        Entry entry = usersByName.get(username);
+        if (entry != null && entry.expiresAtNanos() - now > 0) {
+            hits.increment();
+            return copyOf(entry.user());
+        }
+        if (entry != null) {
+            synchronized (lock) {
+                if (usersByName.get(username) == entry) {
+                    remove(entry);
+                    expiredEvictions.increment();
+                }
+            }
+        }
+        misses.increment();
+        long modificationsBeforeLoad = modifications.get();
+        UserPrincipal loaded = loader.get();
+        Entry fresh = new Entry(username, copyOf(loaded), now + ttlMs * 1_000_000);
+        synchronized (lock) {
+            // Evictions bump the counter before taking the lock, so one that missed this entry removes it next.
+            if (modifications.get() == modificationsBeforeLoad) {
+                Entry replaced = usersByName.get(username);
+                if (replaced != null) {
+                    remove(replaced);
+                }
+                makeRoom(now);
+                add(fresh);
+            }
+        }
+        return loaded;
+    }
+
+    public void evict(String username) {
+        modifications.incrementAndGet();
+        if (username == null) {
+            return;
+        }
+        synchronized (lock) {
+            Entry entry = usersByName.get(username);
+            if (entry != null) {
+                remove(entry);
+                explicitEvictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Evicts by id, which also catches entries cached under a username that has since changed.
+     */
+    public void evictUser(Long userId) {
+        modifications.incrementAndGet();
+        if (userId == null) {
+            return;
+        }
+        synchronized (lock) {
+            Set<String> usernames = usernamesById.get(userId);
+            if (usernames == null) {
+                return;
+            }
+            for (String username : Set.copyOf(usernames)) {
+                remove(usersByName.get(username));
+                explicitEvictions.increment();
+            }
+        }
+    }
+
+    // Callers hold lock.
+    private void makeRoom(long now) {
+        Iterator<Entry> oldest = oldestFirst.values().iterator();
+        while (oldest.hasNext()) {
+            Entry entry = oldest.next();
+            boolean expired = entry.expiresAtNanos() - now <= 0;
+            if (!expired && usersByName.size() < maxSize) {
+                return;
+            }
+            oldest.remove();
+            usersByName.remove(entry.username());
+            unindex(entry);
+            if (expired) {
+                expiredEvictions.increment();
+            } else {
+                sizeEvictions.increment();
+            }
+        }
+    }
+
+    private void add(Entry entry) {
+        usersByName.put(entry.username(), entry);
+        oldestFirst.put(entry.username(), entry);
+        if (entry.user().getId() != null) {
+            usernamesById.computeIfAbsent(entry.user().getId(), id -> new HashSet<>()).add(entry.username());
+        }
+    }
+
+    private void remove(Entry entry) {
+        usersByName.remove(entry.username());
+        oldestFirst.remove(entry.username());
+        unindex(entry);
+    }
+
+    private void unindex(Entry entry) {
+        Long id = entry.user().getId();
+        Set<String> usernames = id != null ? usernamesById.get(id) : null;
+        if (usernames != null && usernames.remove(entry.username()) && usernames.isEmpty()) {
+            usernamesById.remove(id);
+        }
+    }
+
+    private static UserPrincipal copyOf(UserPrincipal user) {
+        return new UserPrincipal(user.getId(), user.getUsername(), user.getPassword(), user.getTokenVersion(),
+                user.getAuthorities());
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total > 0 ? (double) hitCount / total : 0.0;
+    }
+
+    public long getEvictionCount() {
+        return expiredEvictions.sum() + sizeEvictions.sum() + explicitEvictions.sum();
+    }
+
+    public int size() {
+        return usersByName.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("user.details.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("User lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder("user.details.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("User lookups that went to the database")
+                .register(registry);
+        Gauge.builder("user.details.cache.hit.ratio", this, UserDetailsCache::getHitRatio)
+                .description("Share of user lookups served from the cache")
+                .register(registry);
+        FunctionCounter.builder("user.details.cache.evictions", expiredEvictions, LongAdder::sum)
+                .tag("cause", "expired")
+                .description("Cached users dropped because their TTL passed")
+                .register(registry);
+        FunctionCounter.builder("user.details.cache.evictions", sizeEvictions, LongAdder::sum)
+                .tag("cause", "size")
+                .description("Cached users dropped to stay within the size bound")
+                .register(registry);
+        FunctionCounter.builder("user.details.cache.evictions", explicitEvictions, LongAdder::sum)
+                .tag("cause", "explicit")
+                .description("Cached users dropped because the user changed")
+                .register(registry);
+        Gauge.builder("user.details.cache.size", usersByName, Map::size)
+                .description("Users currently cached")
+                .register(registry);
+    }
+}
@@ -1,12 +1,18 @@
 package com.grade.rapidjavadevelopment.services;
 
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
+import com.grade.rapidjavadevelopment.models.GradeRow;
 import com.grade.rapidjavadevelopment.models.Role;
 import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
 import com.grade.rapidjavadevelopment.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 
@@ -16,9 +22,21 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
     @Transactional
     public User saveUser(User user) {
         if (user.getRole() == null) {
@@ -27,28 +45,89 @@ public class UserService {
         if (user.getPassword() != null) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
         }
-        return userRepository.save(user);
+        boolean existing = user.getId() != null;
+        if (existing) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+        }
+        User savedUser = userRepository.save(user);
+        if (existing) {
+            // Only once committed, so a rollback cannot leave the registry ahead of the database.
+            Long id = user.getId();
+            int tokenVersion = user.getTokenVersion();
+            afterCommit(() -> tokenVersionRegistry.update(id, tokenVersion));
+        }
+        evictCachedUser(user.getId(), user.getUsername());
+        return savedUser;
     }
 
+    @Transactional(readOnly = true)
     public User findByUsername(String username) {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public List<User> getAllStudents() {
         return userRepository.findByRole(Role.ROLE_USER);
     }
 
+    /**
+     * Deletes the user together with their grades and announces those grades as removed, so the
+     * statistics and the column store drop them once the delete commits.
+     */
+    @Transactional
     public void deleteUser(Long id) {
+        List<GradeRow> grades = gradeRepository.findGradeRowsByStudentId(id);
+        if (!grades.isEmpty()) {
+            gradeRepository.deleteByStudentId(id);
+        }
         userRepository.deleteById(id);
+        if (!grades.isEmpty()) {
+            eventPublisher.publishEvent(GradeBatchChangedEvent.removed(grades));
+        }
+        afterCommit(() -> tokenVersionRegistry.revoke(id));
+        evictCachedUser(id, null);
+    }
+
+    private void evictCachedUser(Long id, String username) {
+        evictFromUserDetailsCache(id, username);
+        // A lookup between here and the commit would re-cache the old row, so evict once more after it.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(() -> evictFromUserDetailsCache(id, username));
+        }
+    }
+
+    /**
+     * Runs {@code action} once the current transaction commits, or right away when there is none.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void evictFromUserDetailsCache(Long id, String username) {
+        userDetailsCache.evict(username);
+        if (id != null) {
+            userDetailsCache.evictUser(id);
+        }
     }
 }
\ No newline at end of file
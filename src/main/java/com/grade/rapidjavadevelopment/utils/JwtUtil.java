@@ -1,26 +1,118 @@
 package com.grade.rapidjavadevelopment.utils;
 
+import com.grade.rapidjavadevelopment.models.UserPrincipal;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
-public class JwtUtil {
+public class JwtUtil implements MeterBinder {
     private static final String SECRET_KEY = "your_secret_key_here_make_it_at_least_256_bits_long";
-    private static final int TOKEN_VALIDITY = 3600 * 5;
 
-    private Key getSigningKey() {
-        byte[] keyBytes = SECRET_KEY.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+    public static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    // Immutable once built, so a single instance is safe to share across request threads.
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    @Value("${jwt.access-token.validity-seconds:18000}")
+    private long accessTokenValiditySeconds = 3600 * 5;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int verifiedCacheMaxSize = 10000;
+
+    private volatile Timer verifiedParseTimer;
+    private volatile Timer cachedParseTimer;
+    private volatile Timer rejectedParseTimer;
+
+    /**
+     * Verifies the token's signature and expiry once and returns its claims, or empty when the
+     * token is malformed, forged or expired. Tokens seen before are answered from a bounded cache
+     * until their own expiry, without checking the signature again.
+     */
+    public Optional<VerifiedToken> parseToken(String token) {
+        long start = System.nanoTime();
+        if (token == null || token.isBlank()) {
+            return timed(rejectedParseTimer, start, Optional.empty());
+        }
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (!cached.isExpired(now)) {
+                return timed(cachedParseTimer, start, Optional.of(cached));
+            }
+            verifiedTokens.remove(token, cached);
+            return timed(rejectedParseTimer, start, Optional.empty());
+        }
+
+        VerifiedToken verified;
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            verified = new VerifiedToken(claims.getSubject(), claims.getIssuedAt(), claims.getExpiration(),
+                    Collections.unmodifiableMap(new HashMap<>(claims)));
+        } catch (JwtException | IllegalArgumentException e) {
+            return timed(rejectedParseTimer, start, Optional.empty());
+        }
+        if (verified.getUsername() == null) {
+            return timed(rejectedParseTimer, start, Optional.empty());
+        }
+        // Only tokens with an expiry are cached; anything else would never leave the cache.
+        if (verified.getExpiration() != null) {
+            makeRoomInCache(now);
+            verifiedTokens.put(token, verified);
+        }
+        return timed(verifiedParseTimer, start, Optional.of(verified));
+    }
+
+    private static Optional<VerifiedToken> timed(Timer timer, long startNanos, Optional<VerifiedToken> result) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+        return result;
+    }
+
+    private void makeRoomInCache(long now) {
+        if (verifiedTokens.size() < verifiedCacheMaxSize) {
+            return;
+        }
+        verifiedTokens.values().removeIf(token -> token.isExpired(now));
+        Iterator<String> tokens = verifiedTokens.keySet().iterator();
+        while (verifiedTokens.size() >= verifiedCacheMaxSize && tokens.hasNext()) {
+            tokens.next();
+            tokens.remove();
+        }
+    }
+
+    int getVerifiedCacheSize() {
+        return verifiedTokens.size();
+    }
+
+    public long getAccessTokenValiditySeconds() {
+        return accessTokenValiditySeconds;
     }
 
     public String extractUsername(String token) {
@@ -37,19 +129,17 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        userDetails.getAuthorities().stream().findFirst()
+                .ifPresent(authority -> claims.put(ROLE_CLAIM, authority.getAuthority()));
+        if (userDetails instanceof UserPrincipal principal && principal.getId() != null) {
+            claims.put(USER_ID_CLAIM, principal.getId());
+            claims.put(TOKEN_VERSION_CLAIM, principal.getTokenVersion());
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -58,13 +148,32 @@ public class JwtUtil {
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_VALIDITY * 1000))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenValiditySeconds * 1000))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return parseToken(token).map(verified -> validateToken(verified, userDetails)).orElse(false);
+    }
+
+    public boolean validateToken(VerifiedToken token, UserDetails userDetails) {
+        return token.getUsername().equals(userDetails.getUsername())
+                && !token.isExpired(System.currentTimeMillis());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        verifiedParseTimer = parseTimer("verified", registry);
+        cachedParseTimer = parseTimer("cached", registry);
+        rejectedParseTimer = parseTimer("rejected", registry);
+    }
+
+    private static Timer parseTimer(String result, MeterRegistry registry) {
+        return Timer.builder("jwt.parse.duration")
+                .tag("result", result)
+                .description("Time spent verifying a bearer token or finding it in the verified-token cache")
+                .publishPercentileHistogram()
+                .register(registry);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,68 @@
+package com.grade.rapidjavadevelopment.utils;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque position in a keyset-paginated listing: the sort key it belongs to plus the sort value
+ * and id of the last row served. Clients pass it back unchanged as {@code after}.
+ */
+@Getter
+public class KeysetCursor {
+
+    private final String sort;
+    private final String value;
+    private final long id;
+
+    public KeysetCursor(String sort, String value, long id) {
+        this.sort = sort;
+        this.value = value;
+        this.id = id;
+    }
+
+    public String encode() {
+        // A leading '=' tells an empty value apart from a null one.
+        String raw = sort + ":" + id + ":" + (value == null ? "" : "=" + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode()} for the given sort key.
+     *
+     * @throws IllegalArgumentException when the cursor is malformed or belongs to another sort key
+     */
+    public static KeysetCursor decode(String cursor, String expectedSort) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        String[] parts = raw.split(":", 3);
+        if (parts.length != 3 || !parts[0].equals(expectedSort) || !(parts[2].isEmpty() || parts[2].startsWith("="))) {
+            throw new IllegalArgumentException("Invalid cursor for sort '" + expectedSort + "'");
+        }
+        long id;
+        try {
+            id = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        return new KeysetCursor(parts[0], parts[2].isEmpty() ? null : parts[2].substring(1), id);
+    }
+
+    /**
+     * Applies the default to a missing limit and caps it at {@code max}.
+     */
+    public static int resolveLimit(Integer requested, int defaultLimit, int max) {
+        if (requested == null) {
+            return Math.min(defaultLimit, max);
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(requested, max);
+    }
+}
@@ -0,0 +1,46 @@
+package com.grade.rapidjavadevelopment.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * A JWT whose signature and expiry have already been checked. Immutable, so one instance can be
+ * cached and shared between requests that present the same token.
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+    private final String username;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Map<String, Object> claims;
+
+    public boolean isExpired(long nowMillis) {
+        return expiration != null && expiration.getTime() <= nowMillis;
+    }
+
+    /**
+     * Whether the token carries everything needed to authenticate without loading the user.
+     */
+    public boolean isSelfContained() {
+        return getUserId() != null && getRole() != null && getTokenVersion() != null;
+    }
+
+    public Long getUserId() {
+        Object value = claims.get(JwtUtil.USER_ID_CLAIM);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    public String getRole() {
+        Object value = claims.get(JwtUtil.ROLE_CLAIM);
+        return value instanceof String role ? role : null;
+    }
+
+    public Integer getTokenVersion() {
+        Object value = claims.get(JwtUtil.TOKEN_VERSION_CLAIM);
+        return value instanceof Number number ? number.intValue() : null;
+    }
+}
@@ -0,0 +1,39 @@
+-- Mirrors db/migration/mysql for the H2 databases the tests run on.
+
+create table users (
+    id bigint generated by default as identity,
+    username varchar(255),
+    email varchar(255),
+    password varchar(255),
+    role enum ('ROLE_ADMIN', 'ROLE_USER'),
+    primary key (id),
+    constraint uk_users_username unique (username)
+);
+
+create table courses (
+    id bigint generated by default as identity,
+    course_name varchar(255),
+    course_code varchar(255),
+    credits integer not null,
+    primary key (id)
+);
+
+create table user_courses (
+    course_id bigint not null,
+    user_id bigint not null,
+    primary key (course_id, user_id),
+    constraint fk_user_courses_course foreign key (course_id) references courses (id),
+    constraint fk_user_courses_user foreign key (user_id) references users (id)
+);
+
+create table grades (
+    id bigint generated by default as identity,
+    user_id bigint,
+    course_id bigint,
+    grade float(53) not null,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    primary key (id),
+    constraint fk_grades_user foreign key (user_id) references users (id),
+    constraint fk_grades_course foreign key (course_id) references courses (id)
+);
@@ -0,0 +1,24 @@
+-- Token versions embedded in JWTs; existing users start at 0.
+alter table users add column token_version integer default 0 not null;
+
+create table refresh_tokens (
+    id bigint generated by default as identity,
+    token_hash varchar(64) not null,
+    family_id varchar(36) not null,
+    user_id bigint not null,
+    token_version integer not null,
+    expires_at timestamp(6) not null,
+    used_at timestamp(6),
+    revoked boolean not null,
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+);
+
+create index idx_refresh_tokens_family on refresh_tokens (family_id);
+create index idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
+
+-- Grade ids come from grades_seq so inserts can be batched; GradeIdSequenceInitializer moves it past
+-- the ids already in grades at startup.
+alter table grades alter column id drop identity;
+
+create sequence grades_seq start with 1 increment by 50;
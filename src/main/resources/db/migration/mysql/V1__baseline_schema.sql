@@ -0,0 +1,40 @@
+-- The schema as ddl-auto=update left it before migrations existed. Databases that already have it are
+-- baselined at this version, so everything added since belongs in a later migration.
+
+create table users (
+    id bigint not null auto_increment,
+    username varchar(255),
+    email varchar(255),
+    password varchar(255),
+    role enum ('ROLE_ADMIN', 'ROLE_USER'),
+    primary key (id),
+    constraint uk_users_username unique (username)
+) engine=InnoDB;
+
+create table courses (
+    id bigint not null auto_increment,
+    course_name varchar(255),
+    course_code varchar(255),
+    credits integer not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table user_courses (
+    course_id bigint not null,
+    user_id bigint not null,
+    primary key (course_id, user_id),
+    constraint fk_user_courses_course foreign key (course_id) references courses (id),
+    constraint fk_user_courses_user foreign key (user_id) references users (id)
+) engine=InnoDB;
+
+create table grades (
+    id bigint not null auto_increment,
+    user_id bigint,
+    course_id bigint,
+    grade float(53) not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id),
+    constraint fk_grades_user foreign key (user_id) references users (id),
+    constraint fk_grades_course foreign key (course_id) references courses (id)
+) engine=InnoDB;
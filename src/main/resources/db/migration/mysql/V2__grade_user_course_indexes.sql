@@ -0,0 +1,12 @@
+-- findByStudent, and the per-course GPA read straight from the index since it ends in grade.
+create index idx_grades_student_course_grade on grades (user_id, course_id, grade);
+
+-- findByCourse, and a student's grades in a course newest first.
+create index idx_grades_course_student_created on grades (course_id, user_id, created_at);
+
+-- findByRole.
+create index idx_users_role on users (role);
+
+-- Course lookups by code during grade imports, and the course listing sorted by name.
+create index idx_courses_course_code on courses (course_code);
+create index idx_courses_course_name on courses (course_name, id);
@@ -0,0 +1,29 @@
+-- Token versions embedded in JWTs; existing users start at 0.
+alter table users add column token_version integer not null default 0;
+
+create table refresh_tokens (
+    id bigint not null auto_increment,
+    token_hash varchar(64) not null,
+    family_id varchar(36) not null,
+    user_id bigint not null,
+    token_version integer not null,
+    expires_at datetime(6) not null,
+    used_at datetime(6),
+    revoked bit not null,
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+) engine=InnoDB;
+
+create index idx_refresh_tokens_family on refresh_tokens (family_id);
+create index idx_refresh_tokens_expires_at on refresh_tokens (expires_at);
+
+-- Grade ids come from grades_seq so inserts can be batched. MySQL has no sequences; Hibernate keeps
+-- the next block of ids in this single-row table, and GradeIdSequenceInitializer moves it past the
+-- ids already in grades at startup.
+alter table grades modify id bigint not null;
+
+create table grades_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into grades_seq values (1);
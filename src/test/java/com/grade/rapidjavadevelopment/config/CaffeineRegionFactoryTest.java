@@ -0,0 +1,123 @@
+package com.grade.rapidjavadevelopment.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.repositories.CourseRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: second-level cache entries are only written when a transaction commits.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CaffeineRegionFactoryTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    void regions_shouldBeSizedFromTheHibernateProperties() {
+        CaffeineConfiguration<?, ?> courses = configuration(Course.CACHE_REGION);
+        CaffeineConfiguration<?, ?> usernames = configuration(User.USERNAME_CACHE_REGION);
+        CaffeineConfiguration<?, ?> timestamps = configuration(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+
+        assertThat(courses.getMaximumSize()).isEqualTo(OptionalLong.of(10000));
+        assertThat(courses.getExpireAfterWrite()).isEqualTo(OptionalLong.of(Duration.ofHours(1).toNanos()));
+        assertThat(usernames.getMaximumSize()).isEqualTo(OptionalLong.of(50000));
+        assertThat(timestamps.getMaximumSize()).isEmpty();
+        assertThat(timestamps.getExpireAfterWrite()).isEmpty();
+        assertThat(courses.isStoreByValue()).isFalse();
+    }
+
+    @Test
+    void findById_shouldServeARepeatedLookupFromTheSecondLevelCache() {
+        Course course = saveCourse();
+        courseRepository.findById(course.getId());
+        Statistics statistics = statistics();
+
+        Course found = courseRepository.findById(course.getId()).orElseThrow();
+
+        assertThat(found.getCourseName()).isEqualTo("Cached Course");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(SecondLevelCacheMetrics.hitRatio(statistics, Course.CACHE_REGION)).isEqualTo(1.0);
+    }
+
+    @Test
+    void findSummaryById_shouldServeARepeatedQueryFromTheQueryCache() {
+        Course course = saveCourse();
+        courseRepository.findSummaryById(course.getId());
+        Statistics statistics = statistics();
+
+        assertThat(courseRepository.findSummaryById(course.getId())).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findSummaryById_shouldNotServeACachedResultAfterTheCourseChanged() {
+        Course course = saveCourse();
+        courseRepository.findSummaryById(course.getId());
+        course.setCourseName("Renamed");
+        courseRepository.save(course);
+
+        assertThat(courseRepository.findSummaryById(course.getId()).orElseThrow().getCourseName()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void sessionFactories_shouldNotShareACacheManager() {
+        CacheManager cacheManager = regionFactory().getCacheManager();
+
+        assertThat(cacheManager.getURI()).isNotEqualTo(cacheManager.getCachingProvider().getDefaultURI());
+    }
+
+    private Course saveCourse() {
+        Course course = new Course();
+        course.setCourseName("Cached Course");
+        course.setCourseCode("CC101");
+        course.setCredits(5);
+        return courseRepository.save(course);
+    }
+
+    private CaffeineRegionFactory regionFactory() {
+        return (CaffeineRegionFactory) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+    }
+
+    @SuppressWarnings("unchecked")
+    private CaffeineConfiguration<?, ?> configuration(String region) {
+        return regionFactory().getCacheManager().getCache(region).getConfiguration(CaffeineConfiguration.class);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,67 @@
+package com.grade.rapidjavadevelopment.config;
+
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: ALTER SEQUENCE commits on H2, so rows are cleaned up explicitly.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GradeIdSequenceInitializerTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @AfterEach
+    void tearDown() {
+        gradeRepository.deleteAll();
+    }
+
+    private Grade newGrade() {
+        Grade grade = new Grade();
+        grade.setGrade(70.0);
+        return grade;
+    }
+
+    @Test
+    void seed_shouldMoveTheSequencePastIdsWrittenWithoutIt() {
+        jdbcTemplate.update("insert into grades (id, grade) values (?, ?)", 100_000L, 50.0);
+
+        new GradeIdSequenceInitializer().seed(jdbcTemplate);
+        Grade saved = gradeRepository.save(newGrade());
+
+        assertThat(saved.getId()).isGreaterThan(100_000L);
+    }
+
+    @Test
+    void seed_shouldNeverMoveTheSequenceBack() {
+        GradeIdSequenceInitializer initializer = new GradeIdSequenceInitializer();
+        jdbcTemplate.update("insert into grades (id, grade) values (?, ?)", 200_000L, 50.0);
+        initializer.seed(jdbcTemplate);
+        Long seeded = nextSequenceValue();
+        jdbcTemplate.update("delete from grades");
+        jdbcTemplate.update("insert into grades (id, grade) values (?, ?)", 1L, 50.0);
+
+        initializer.seed(jdbcTemplate);
+
+        assertThat(nextSequenceValue()).isEqualTo(seeded);
+    }
+
+    private Long nextSequenceValue() {
+        return jdbcTemplate.queryForObject("select base_value from information_schema.sequences "
+                + "where upper(sequence_name) = 'GRADES_SEQ'", Long.class);
+    }
+}
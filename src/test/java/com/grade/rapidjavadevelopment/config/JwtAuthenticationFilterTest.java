@@ -1,7 +1,10 @@
 package com.grade.rapidjavadevelopment.config;
 
+import com.grade.rapidjavadevelopment.models.UserPrincipal;
 import com.grade.rapidjavadevelopment.services.CustomUserDetailsService;
+import com.grade.rapidjavadevelopment.services.TokenVersionRegistry;
 import com.grade.rapidjavadevelopment.utils.JwtUtil;
+import com.grade.rapidjavadevelopment.utils.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -19,6 +22,9 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -32,6 +38,9 @@ class JwtAuthenticationFilterTest {
     @Mock
     private CustomUserDetailsService userDetailsService;
 
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
     @Mock
     private HttpServletRequest request;
 
@@ -45,12 +54,15 @@ class JwtAuthenticationFilterTest {
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     private UserDetails userDetails;
+    private VerifiedToken verifiedToken;
     private static final String TOKEN = "valid.jwt.token";
     private static final String USERNAME = "testUser";
 
     @BeforeEach
     void setUp() {
         userDetails = new User(USERNAME, "password", Collections.emptyList());
+        verifiedToken = new VerifiedToken(USERNAME, new Date(),
+                new Date(System.currentTimeMillis() + 60_000), Collections.emptyMap());
         SecurityContextHolder.clearContext();
     }
 
@@ -62,9 +74,9 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternal_withValidToken_shouldAuthenticate() throws Exception {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + TOKEN);
-        when(jwtUtil.extractUsername(TOKEN)).thenReturn(USERNAME);
+        when(jwtUtil.parseToken(TOKEN)).thenReturn(Optional.of(verifiedToken));
         when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(TOKEN, userDetails)).thenReturn(true);
+        when(jwtUtil.validateToken(verifiedToken, userDetails)).thenReturn(true);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -101,9 +113,9 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternal_withInvalidToken_shouldNotAuthenticate() throws Exception {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + TOKEN);
-        when(jwtUtil.extractUsername(TOKEN)).thenReturn(USERNAME);
+        when(jwtUtil.parseToken(TOKEN)).thenReturn(Optional.of(verifiedToken));
         when(userDetailsService.loadUserByUsername(USERNAME)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(TOKEN, userDetails)).thenReturn(false);
+        when(jwtUtil.validateToken(verifiedToken, userDetails)).thenReturn(false);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -116,7 +128,7 @@ class JwtAuthenticationFilterTest {
         SecurityContextHolder.getContext()
                 .setAuthentication(new UsernamePasswordAuthenticationToken("existingUser", null, Collections.emptyList()));
         when(request.getHeader("Authorization")).thenReturn("Bearer " + TOKEN);
-        when(jwtUtil.extractUsername(TOKEN)).thenReturn(USERNAME);
+        when(jwtUtil.parseToken(TOKEN)).thenReturn(Optional.of(verifiedToken));
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -127,9 +139,9 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    void doFilterInternal_withNullUsername_shouldNotAuthenticate() throws Exception {
+    void doFilterInternal_withUnverifiableToken_shouldNotAuthenticate() throws Exception {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + TOKEN);
-        when(jwtUtil.extractUsername(TOKEN)).thenReturn(null);
+        when(jwtUtil.parseToken(TOKEN)).thenReturn(Optional.empty());
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
@@ -141,7 +153,7 @@ class JwtAuthenticationFilterTest {
     @Test
     void doFilterInternal_whenUserDetailsServiceThrowsException_shouldNotAuthenticate() throws Exception {
         when(request.getHeader("Authorization")).thenReturn("Bearer " + TOKEN);
-        when(jwtUtil.extractUsername(TOKEN)).thenReturn(USERNAME);
+        when(jwtUtil.parseToken(TOKEN)).thenReturn(Optional.of(verifiedToken));
         when(userDetailsService.loadUserByUsername(USERNAME))
                 .thenThrow(new UsernameNotFoundException("User not found"));
 
@@ -149,20 +161,54 @@ class JwtAuthenticationFilterTest {
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil).extractUsername(TOKEN);
+        verify(jwtUtil).parseToken(TOKEN);
         verify(userDetailsService).loadUserByUsername(USERNAME);
     }
 
     @Test
     void doFilterInternal_withEmptyToken_shouldNotAuthenticate() throws Exception {
         when(request.getHeader("Authorization")).thenReturn("Bearer ");
-        when(jwtUtil.extractUsername("")).thenReturn(null);
+        when(jwtUtil.parseToken("")).thenReturn(Optional.empty());
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(filterChain).doFilter(request, response);
+        verify(jwtUtil).parseToken("");
+        verifyNoInteractions(userDetailsService);
+    }
+
+    private VerifiedToken selfContainedToken(int tokenVersion) {
+        return new VerifiedToken(USERNAME, new Date(), new Date(System.currentTimeMillis() + 60_000),
+                Map.of(JwtUtil.USER_ID_CLAIM, 7, JwtUtil.ROLE_CLAIM, "ROLE_ADMIN", JwtUtil.TOKEN_VERSION_CLAIM, tokenVersion));
+    }
+
+    @Test
+    void doFilterInternal_withSelfContainedToken_shouldAuthenticateWithoutLoadingUser() throws Exception {
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + TOKEN);
+        when(jwtUtil.parseToken(TOKEN)).thenReturn(Optional.of(selfContainedToken(3)));
+        when(tokenVersionRegistry.isCurrent(7L, 3)).thenReturn(true);
+
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        UserPrincipal principal = (UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo(USERNAME);
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_ADMIN");
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilterInternal_withRevokedTokenVersion_shouldNotAuthenticate() throws Exception {
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + TOKEN);
+        when(jwtUtil.parseToken(TOKEN)).thenReturn(Optional.of(selfContainedToken(2)));
+        when(tokenVersionRegistry.isCurrent(7L, 2)).thenReturn(false);
 
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
 
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil).extractUsername("");
         verifyNoInteractions(userDetailsService);
     }
-}
\ No newline at end of file
+}
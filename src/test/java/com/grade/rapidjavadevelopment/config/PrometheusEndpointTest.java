@@ -0,0 +1,45 @@
+package com.grade.rapidjavadevelopment.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Serves actuator on the application port so MockMvc can reach it; ManagementPortTest covers the real split.
+@SpringBootTest(properties = "management.server.port=")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class PrometheusEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void prometheus_shouldExposeApplicationMetricsWithoutLogin() throws Exception {
+        mockMvc.perform(get("/login")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("jwt_parse_duration_seconds")))
+                .andExpect(content().string(containsString("jwt_filter_duration_seconds")))
+                .andExpect(content().string(containsString("user_details_load_duration_seconds")))
+                .andExpect(content().string(containsString("statistics_reconcile_age_seconds")))
+                .andExpect(content().string(containsString("auth_rate_limit_rejected_total")));
+    }
+
+    @Test
+    void metrics_shouldStillRequireLogin() throws Exception {
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().is3xxRedirection());
+    }
+}
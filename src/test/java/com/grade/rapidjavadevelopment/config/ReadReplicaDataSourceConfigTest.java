@@ -0,0 +1,155 @@
+package com.grade.rapidjavadevelopment.config;
+
+import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseSummary;
+import com.grade.rapidjavadevelopment.services.CourseService;
+import com.grade.rapidjavadevelopment.services.GpaCache;
+import com.grade.rapidjavadevelopment.services.GradeColumnStore;
+import com.grade.rapidjavadevelopment.services.GradeService;
+import com.grade.rapidjavadevelopment.services.GradeStatisticsService;
+import com.grade.rapidjavadevelopment.services.TokenVersionRegistry;
+import com.grade.rapidjavadevelopment.services.UserDetailsCache;
+import com.grade.rapidjavadevelopment.services.UserService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two H2 databases with the same schema; nothing replicates, so a row written through the
+// application exists only on the primary and a read shows which database answered it.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "spring.datasource.replica.read-your-writes-ms=60000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ReadReplicaDataSourceConfig.class, CourseService.class, GradeService.class, UserService.class,
+        GradeStatisticsService.class, GpaCache.class, GradeColumnStore.class, TokenVersionRegistry.class,
+        UserDetailsCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReadReplicaDataSourceConfigTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private GradeStatisticsService gradeStatisticsService;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(replicaDataSource).locations("classpath:db/migration/h2").load().migrate();
+        new JdbcTemplate(replicaDataSource).update(
+                "insert into courses (id, course_name, course_code, credits) values (?, ?, ?, ?)",
+                1_000_000L, "Replica only", "REP101", 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        // Through JDBC: a repository delete would open an anonymous read-your-writes window for later tests.
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        primary.update("delete from grades");
+        primary.update("delete from user_courses");
+        primary.update("delete from users");
+        primary.update("delete from courses");
+        new JdbcTemplate(replicaDataSource).update("delete from courses");
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private List<String> courseCodesReadOnly() {
+        return courseService.getCoursePage(CourseService.SORT_BY_ID, null, 10).getItems().stream()
+                .map(CourseSummary::getCourseCode)
+                .toList();
+    }
+
+    // Straight to the primary, so no read-your-writes window is opened for anyone.
+    private void writeGradeBehindTheApplication() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        primary.update("insert into courses (id, course_name, course_code, credits) values (?, ?, ?, ?)",
+                2_000_000L, "Primary only", "PRI201", 5);
+        primary.update("insert into users (id, username, role, token_version) values (?, ?, ?, ?)",
+                2_000_000L, "student", "ROLE_USER", 0);
+        primary.update("insert into grades (id, user_id, course_id, grade, created_at) values (?, ?, ?, ?, ?)",
+                2_000_000L, 2_000_000L, 2_000_000L, 84.0, LocalDateTime.now());
+    }
+
+    @Test
+    void readOnlyServiceMethod_shouldReadFromTheReplica() {
+        login("alice");
+
+        assertThat(courseCodesReadOnly()).containsExactly("REP101");
+    }
+
+    @Test
+    void write_shouldGoToThePrimaryAndKeepThatUsersReadsThere() {
+        login("alice");
+        Course course = new Course();
+        course.setCourseName("Written");
+        course.setCourseCode("PRI101");
+        course.setCredits(5);
+        courseService.saveCourse(course);
+
+        assertThat(courseCodesReadOnly()).containsExactly("PRI101");
+        login("bob");
+        assertThat(courseCodesReadOnly()).containsExactly("REP101");
+    }
+
+    @Test
+    void statisticsReconcile_shouldReadFromThePrimary() {
+        writeGradeBehindTheApplication();
+
+        gradeStatisticsService.updateCourseStatistics();
+
+        assertThat(gradeStatisticsService.getCourseAverage(2_000_000L)).isEqualTo(84.0);
+    }
+
+    @Test
+    void parallelStatisticsReconcile_shouldReadFromThePrimaryOnEveryWorker() {
+        ReflectionTestUtils.setField(gradeStatisticsService, "parallelRecompute", true);
+        try {
+            writeGradeBehindTheApplication();
+
+            gradeStatisticsService.updateCourseStatistics();
+
+            assertThat(gradeStatisticsService.getCourseAverage(2_000_000L)).isEqualTo(84.0);
+        } finally {
+            ReflectionTestUtils.setField(gradeStatisticsService, "parallelRecompute", false);
+        }
+    }
+}
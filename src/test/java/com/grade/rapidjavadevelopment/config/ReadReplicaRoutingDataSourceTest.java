@@ -0,0 +1,145 @@
+package com.grade.rapidjavadevelopment.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two in-memory H2 databases stand in for the primary and the replica; each knows its own name.
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final long WINDOW_MS = 300;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        ReadReplicaRoutingDataSource routingDataSource = new ReadReplicaRoutingDataSource(WINDOW_MS);
+        routingDataSource.setTargetDataSources(Map.of(
+                ReadReplicaRoutingDataSource.Target.PRIMARY, primary,
+                ReadReplicaRoutingDataSource.Target.REPLICA, replica));
+        routingDataSource.setDefaultTargetDataSource(primary);
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        login("alice");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("create table whoami (name varchar(16))");
+        setup.update("insert into whoami values (?)", name);
+        setup.execute("create table notes (body varchar(64))");
+        return dataSource;
+    }
+
+    private static void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+
+    private String whoami() {
+        return jdbcTemplate.queryForObject("select name from whoami", String.class);
+    }
+
+    private String readOnlyWhoami() {
+        return readOnly.execute(status -> whoami());
+    }
+
+    private void write() {
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("insert into notes values ('note')"));
+    }
+
+    @Test
+    void readOnlyTransaction_shouldUseTheReplica() {
+        assertThat(readOnlyWhoami()).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransaction_shouldUseThePrimary() {
+        String database = readWrite.execute(status -> whoami());
+        assertThat(database).isEqualTo("primary");
+    }
+
+    @Test
+    void accessOutsideATransaction_shouldUseThePrimary() {
+        assertThat(whoami()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsAfterAWrite_shouldStayOnThePrimaryForThatUserOnly() {
+        write();
+
+        assertThat(readOnlyWhoami()).isEqualTo("primary");
+        login("bob");
+        assertThat(readOnlyWhoami()).isEqualTo("replica");
+    }
+
+    @Test
+    void anonymousWrites_shouldShareOneWindow() {
+        SecurityContextHolder.clearContext();
+        write();
+
+        assertThat(readOnlyWhoami()).isEqualTo("primary");
+        login("alice");
+        assertThat(readOnlyWhoami()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsAfterTheWindow_shouldReturnToTheReplica() throws InterruptedException {
+        write();
+        Thread.sleep(WINDOW_MS + 100);
+
+        assertThat(readOnlyWhoami()).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWrite_shouldNotKeepReadsOnThePrimary() {
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("insert into notes values ('note')");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyWhoami()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsPinnedToThePrimary_shouldUseThePrimaryWithoutRecordingAWrite() {
+        String database = ReadReplicaRoutingDataSource.onPrimary(() -> {
+            assertThat(ReadReplicaRoutingDataSource.onPrimary(this::readOnlyWhoami)).isEqualTo("primary");
+            return readOnlyWhoami();
+        });
+
+        assertThat(database).isEqualTo("primary");
+        assertThat(readOnlyWhoami()).isEqualTo("replica");
+    }
+}
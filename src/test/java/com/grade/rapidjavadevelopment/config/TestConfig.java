@@ -32,6 +32,12 @@ public class TestConfig {
         return Mockito.mock(GradeRepository.class);
     }
 
+    @Bean
+    @Primary
+    public RefreshTokenRepository refreshTokenRepository() {
+        return Mockito.mock(RefreshTokenRepository.class);
+    }
+
     @Bean
     @Primary
     public UserRepository userRepository() {
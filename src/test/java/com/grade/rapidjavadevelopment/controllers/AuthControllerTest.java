@@ -1,8 +1,14 @@
 package com.grade.rapidjavadevelopment.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grade.rapidjavadevelopment.exception.PasswordHashingBusyException;
+import com.grade.rapidjavadevelopment.exception.RateLimitExceededException;
 import com.grade.rapidjavadevelopment.models.AuthRequest;
+import com.grade.rapidjavadevelopment.models.RefreshRequest;
+import com.grade.rapidjavadevelopment.models.UserPrincipal;
+import com.grade.rapidjavadevelopment.services.AuthRateLimiter;
 import com.grade.rapidjavadevelopment.services.CustomUserDetailsService;
+import com.grade.rapidjavadevelopment.services.RefreshTokenService;
 import com.grade.rapidjavadevelopment.utils.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,8 +28,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.util.Collections;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -47,6 +58,12 @@ class AuthControllerTest {
     @MockBean
     private JwtUtil jwtUtil;
 
+    @MockBean
+    private RefreshTokenService refreshTokenService;
+
+    @MockBean
+    private AuthRateLimiter authRateLimiter;
+
     private AuthRequest validAuthRequest;
     private UserDetails userDetails;
 
@@ -122,4 +139,92 @@ class AuthControllerTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Invalid username or password"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPasswordHashingBusy() throws Exception {
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenThrow(new PasswordHashingBusyException());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validAuthRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testRateLimitedLogin() throws Exception {
+        doThrow(new RateLimitExceededException(12)).when(authRateLimiter).checkAttempt(anyString(), anyString());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validAuthRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"));
+
+        verify(authenticationManager, never()).authenticate(any());
+    }
+
+    @Test
+    void testLoginIssuesRefreshToken() throws Exception {
+        UserPrincipal principal = new UserPrincipal(1L, "testuser", "password", 0,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+                .thenReturn(new UsernamePasswordAuthenticationToken(principal, null));
+        when(jwtUtil.generateToken(principal)).thenReturn("mock.jwt.token");
+        when(jwtUtil.getAccessTokenValiditySeconds()).thenReturn(900L);
+        when(refreshTokenService.issue(1L, 0)).thenReturn("refresh-1");
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validAuthRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("mock.jwt.token"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-1"))
+                .andExpect(jsonPath("$.expiresIn").value(900));
+    }
+
+    @Test
+    void testRefreshRotatesToken() throws Exception {
+        UserPrincipal principal = new UserPrincipal(1L, "testuser", "", 0,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        when(refreshTokenService.rotate("refresh-1"))
+                .thenReturn(Optional.of(new RefreshTokenService.Rotation(principal, "refresh-2")));
+        when(jwtUtil.generateToken(principal)).thenReturn("new.jwt.token");
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("refresh-1");
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("new.jwt.token"))
+                .andExpect(jsonPath("$.refreshToken").value("refresh-2"));
+    }
+
+    @Test
+    void testRefreshWithInvalidToken() throws Exception {
+        when(refreshTokenService.rotate("stale")).thenReturn(Optional.empty());
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("stale");
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid or expired refresh token"));
+    }
+
+    @Test
+    void testLogoutRevokesRefreshToken() throws Exception {
+        RefreshRequest request = new RefreshRequest();
+        request.setRefreshToken("refresh-1");
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNoContent());
+
+        verify(refreshTokenService).revoke("refresh-1");
+    }
+}
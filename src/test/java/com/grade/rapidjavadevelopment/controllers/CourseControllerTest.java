@@ -1,6 +1,8 @@
 package com.grade.rapidjavadevelopment.controllers;
 
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseDistribution;
+import com.grade.rapidjavadevelopment.models.HistogramBucket;
 import com.grade.rapidjavadevelopment.models.User;
 import com.grade.rapidjavadevelopment.services.CourseService;
 import com.grade.rapidjavadevelopment.services.GradeStatisticsService;
@@ -73,7 +75,36 @@ class CourseControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(view().name("courses/list"))
                 .andExpect(model().attributeExists("courses"))
-                .andExpect(model().attributeExists("courseAverages"));
+                .andExpect(model().attributeExists("courseAverages"))
+                .andExpect(model().attributeExists("courseDistributions"));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void testListCoursesShowsDistribution() throws Exception {
+        Mockito.when(gradeStatisticsService.getCourseDistribution(1L))
+                .thenReturn(new CourseDistribution(1L, 3, 80.0, 70.0, 90.0, 80.5, 70.25, 89.75, List.of()));
+
+        mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("80.50")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("89.75")));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void testListCoursesShowsHistogramBuckets() throws Exception {
+        Mockito.when(gradeStatisticsService.getCourseDistribution(1L))
+                .thenReturn(new CourseDistribution(1L, 3, 70.0, 60.0, 85.0, 65.0, 60.5, 84.5, List.of(
+                        new HistogramBucket(60.0, 70.0, 2),
+                        new HistogramBucket(70.0, 80.0, 0),
+                        new HistogramBucket(80.0, 90.0, 1))));
+
+        mockMvc.perform(get("/courses"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("60.0-70.0: 2")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("80.0-90.0: 1")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("height: 50%")));
     }
 
     @Test
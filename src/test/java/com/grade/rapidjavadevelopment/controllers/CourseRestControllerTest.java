@@ -2,7 +2,10 @@ package com.grade.rapidjavadevelopment.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseSummary;
+import com.grade.rapidjavadevelopment.models.CursorPage;
 import com.grade.rapidjavadevelopment.services.CourseService;
+import com.grade.rapidjavadevelopment.services.GradeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -15,12 +18,14 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.hamcrest.Matchers.*;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -36,6 +41,9 @@ class CourseRestControllerTest {
     @MockBean
     private CourseService courseService;
 
+    @MockBean
+    private GradeService gradeService;
+
     private Course testCourse;
     private String jwtToken;
 
@@ -49,8 +57,10 @@ class CourseRestControllerTest {
 
         Mockito.when(courseService.getCourseById(1L))
                 .thenReturn(testCourse);
-        Mockito.when(courseService.getAllCourses())
-                .thenReturn(Arrays.asList(testCourse));
+        Mockito.when(courseService.getCourseSummary(1L))
+                .thenReturn(Optional.of(CourseSummary.of(testCourse)));
+        Mockito.when(courseService.getCoursePage("id", null, null))
+                .thenReturn(new CursorPage<>(Arrays.asList(CourseSummary.of(testCourse)), "next-cursor"));
         Mockito.when(courseService.saveCourse(any(Course.class)))
                 .thenReturn(testCourse);
     }
@@ -61,9 +71,36 @@ class CourseRestControllerTest {
         mockMvc.perform(get("/api/courses")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].courseName", is("Test Course")))
-                .andExpect(jsonPath("$[0].courseCode", is("TEST101")));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].courseName", is("Test Course")))
+                .andExpect(jsonPath("$.items[0].courseCode", is("TEST101")))
+                .andExpect(jsonPath("$.items[0].students").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", is("next-cursor")));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCourses_shouldPassCursorSortAndLimit() throws Exception {
+        Mockito.when(courseService.getCoursePage("courseName", "abc", 10))
+                .thenReturn(new CursorPage<>(List.of(CourseSummary.of(testCourse)), null));
+
+        mockMvc.perform(get("/api/courses")
+                        .param("sort", "courseName")
+                        .param("after", "abc")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllCourses_withUnsupportedSort_shouldReturnBadRequest() throws Exception {
+        Mockito.when(courseService.getCoursePage(Mockito.eq("credits"), isNull(), isNull()))
+                .thenThrow(new IllegalArgumentException("Unsupported sort key: credits"));
+
+        mockMvc.perform(get("/api/courses").param("sort", "credits"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -110,6 +147,27 @@ class CourseRestControllerTest {
                 .andExpect(jsonPath("$.courseName", is("Updated Course")))
                 .andExpect(jsonPath("$.courseCode", is("UPD101")))
                 .andExpect(jsonPath("$.credits", is(4)));
+
+        Mockito.verify(gradeService).courseCreditsChanged(1L, 4);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void updateCourse_withSameCredits_shouldKeepCachedGpa() throws Exception {
+        Course renamedCourse = new Course();
+        renamedCourse.setCourseName("Renamed Course");
+        renamedCourse.setCourseCode("TEST101");
+        renamedCourse.setCredits(3);
+
+        Mockito.when(courseService.getCourseById(1L)).thenReturn(testCourse);
+        Mockito.when(courseService.saveCourse(any(Course.class))).thenReturn(testCourse);
+
+        mockMvc.perform(put("/api/courses/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(renamedCourse)))
+                .andExpect(status().isOk());
+
+        Mockito.verify(gradeService, Mockito.never()).courseCreditsChanged(any(), Mockito.anyInt());
     }
 
     @Test
@@ -145,8 +203,8 @@ class CourseRestControllerTest {
     @Test
     @WithMockUser(roles = "USER")
     void getCourseById_withNonExistentId_shouldReturnNotFound() throws Exception {
-        Mockito.when(courseService.getCourseById(999L))
-                .thenReturn(null);
+        Mockito.when(courseService.getCourseSummary(999L))
+                .thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/courses/999")
                         .contentType(MediaType.APPLICATION_JSON))
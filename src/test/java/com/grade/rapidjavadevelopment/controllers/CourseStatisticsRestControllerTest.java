@@ -0,0 +1,90 @@
+package com.grade.rapidjavadevelopment.controllers;
+
+import com.grade.rapidjavadevelopment.models.CourseDistribution;
+import com.grade.rapidjavadevelopment.models.CourseWindowStatistics;
+import com.grade.rapidjavadevelopment.models.HistogramBucket;
+import com.grade.rapidjavadevelopment.services.GradeStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class CourseStatisticsRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GradeStatisticsService gradeStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        CourseDistribution distribution = new CourseDistribution(1L, 4, 80.0, 60.0, 95.0, 82.5, 61.0, 94.0,
+                Arrays.asList(new HistogramBucket(50.0, 75.0, 1), new HistogramBucket(75.0, 100.0, 3)));
+        Mockito.when(gradeStatisticsService.getCourseDistribution(1L)).thenReturn(distribution);
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getCourseDistribution_shouldReturnQuantilesAndHistogram() throws Exception {
+        mockMvc.perform(get("/api/courses/1/statistics")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courseId", is(1)))
+                .andExpect(jsonPath("$.count", is(4)))
+                .andExpect(jsonPath("$.median", is(82.5)))
+                .andExpect(jsonPath("$.p10", is(61.0)))
+                .andExpect(jsonPath("$.p90", is(94.0)))
+                .andExpect(jsonPath("$.buckets", hasSize(2)))
+                .andExpect(jsonPath("$.buckets[1].count", is(3)));
+    }
+
+    @Test
+    void getCourseDistribution_withoutAuth_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/courses/1/statistics")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getCourseWindowStatistics_shouldReturnWindowAverage() throws Exception {
+        LocalDate today = LocalDate.now();
+        Mockito.when(gradeStatisticsService.getCourseWindowStatistics(1L, 7))
+                .thenReturn(new CourseWindowStatistics(1L, 7, today.minusDays(6), today, 3, 81.5));
+
+        mockMvc.perform(get("/api/courses/1/statistics/window").param("window", "7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windowDays", is(7)))
+                .andExpect(jsonPath("$.count", is(3)))
+                .andExpect(jsonPath("$.average", is(81.5)))
+                .andExpect(jsonPath("$.from", is(today.minusDays(6).toString())));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getCourseWindowStatistics_withInvalidWindow_shouldReturnBadRequest() throws Exception {
+        Mockito.when(gradeStatisticsService.getCourseWindowStatistics(1L, 365))
+                .thenThrow(new IllegalArgumentException("Window must be between 1 and 90 days"));
+
+        mockMvc.perform(get("/api/courses/1/statistics/window").param("window", "365"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,77 @@
+package com.grade.rapidjavadevelopment.controllers;
+
+import com.grade.rapidjavadevelopment.services.GradeExportService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class GradeExportRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GradeExportService gradeExportService;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportGrades_csv_shouldStreamAsAttachment() throws Exception {
+        Mockito.when(gradeExportService.export(eq(3L), isNull(), eq(GradeExportService.FORMAT_CSV), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream output = invocation.getArgument(3);
+                    output.write("id,username\n1,alice\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        mockMvc.perform(get("/api/grades/export").param("courseId", "3"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("grades.csv")))
+                .andExpect(content().string("id,username\n1,alice\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportGrades_ndjson_shouldUseNdjsonContentType() throws Exception {
+        mockMvc.perform(get("/api/grades/export").param("format", "ndjson").param("studentId", "7"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"));
+
+        Mockito.verify(gradeExportService).export(isNull(), eq(7L), eq(GradeExportService.FORMAT_NDJSON), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportGrades_withUnknownFormat_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/grades/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(gradeExportService);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void exportGrades_asStudent_shouldBeForbidden() throws Exception {
+        mockMvc.perform(get("/api/grades/export"))
+                .andExpect(status().isForbidden());
+    }
+}
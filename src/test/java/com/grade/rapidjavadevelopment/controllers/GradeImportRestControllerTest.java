@@ -0,0 +1,103 @@
+package com.grade.rapidjavadevelopment.controllers;
+
+import com.grade.rapidjavadevelopment.models.GradeImportReport;
+import com.grade.rapidjavadevelopment.services.GradeImportService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class GradeImportRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GradeImportService gradeImportService;
+
+    private static GradeImportReport report() {
+        GradeImportReport report = new GradeImportReport(10);
+        report.recordImported(2);
+        report.recordError(3, "Unknown student: bob");
+        return report;
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importGrades_csv_shouldReturnReport() throws Exception {
+        Mockito.when(gradeImportService.importGrades(any(InputStream.class), eq(GradeImportService.FORMAT_CSV)))
+                .thenReturn(report());
+
+        mockMvc.perform(post("/api/grades/import")
+                        .contentType("text/csv")
+                        .content("username,courseCode,grade\nalice,CS101,80\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)))
+                .andExpect(jsonPath("$.errors[0].message", is("Unknown student: bob")))
+                .andExpect(jsonPath("$.errorsTruncated", is(false)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importGrades_ndjson_shouldUseNdjsonFormat() throws Exception {
+        Mockito.when(gradeImportService.importGrades(any(InputStream.class), eq(GradeImportService.FORMAT_NDJSON)))
+                .thenReturn(report());
+
+        mockMvc.perform(post("/api/grades/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"username\":\"alice\",\"courseCode\":\"CS101\",\"grade\":80}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(2)));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importGrades_withBadHeader_shouldReturnBadRequest() throws Exception {
+        Mockito.when(gradeImportService.importGrades(any(InputStream.class), any()))
+                .thenThrow(new IllegalArgumentException("CSV header must name the username, courseCode and grade columns"));
+
+        mockMvc.perform(post("/api/grades/import")
+                        .contentType("text/csv")
+                        .content("name,score\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importGrades_withUnsupportedContentType_shouldReturnUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/api/grades/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void importGrades_asStudent_shouldBeForbidden() throws Exception {
+        mockMvc.perform(post("/api/grades/import")
+                        .contentType("text/csv")
+                        .content("username,courseCode,grade\n"))
+                .andExpect(status().isForbidden());
+
+        Mockito.verifyNoInteractions(gradeImportService);
+    }
+}
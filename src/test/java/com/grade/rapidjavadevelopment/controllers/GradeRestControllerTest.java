@@ -2,7 +2,10 @@ package com.grade.rapidjavadevelopment.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseGpa;
+import com.grade.rapidjavadevelopment.models.CursorPage;
 import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeSummary;
 import com.grade.rapidjavadevelopment.models.User;
 import com.grade.rapidjavadevelopment.services.CourseService;
 import com.grade.rapidjavadevelopment.services.GradeService;
@@ -79,10 +82,10 @@ class GradeRestControllerTest {
         Mockito.when(userService.findByUsername("testUser")).thenReturn(testUser);
         Mockito.when(courseService.getCourseById(1L)).thenReturn(testCourse);
         Mockito.when(gradeService.getGradeById(1L)).thenReturn(testGrade);
-        Mockito.when(gradeService.getGradesByCourseAndStudent(any(Course.class), any(User.class)))
-                .thenReturn(Arrays.asList(testGrade));
-        Mockito.when(gradeService.calculateCourseGPA(any(Course.class), any(User.class)))
-                .thenReturn(3.5);
+        Mockito.when(gradeService.getGradePage(any(Course.class), any(User.class), Mockito.eq("createdAt"), any(), any()))
+                .thenReturn(new CursorPage<>(Arrays.asList(GradeSummary.of(testGrade)), null));
+        Mockito.when(gradeService.getCourseGpa(1L, 1L))
+                .thenReturn(new CourseGpa(1L, 1L, 3.5, 2L));
         Mockito.when(gradeService.saveGrade(any(Grade.class))).thenReturn(testGrade);
     }
 
@@ -92,8 +95,24 @@ class GradeRestControllerTest {
         mockMvc.perform(get("/api/courses/1/grades")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].grade", is(85.0)));
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].grade", is(85.0)))
+                .andExpect(jsonPath("$.items[0].courseId", is(1)))
+                .andExpect(jsonPath("$.items[0].studentId", is(1)))
+                .andExpect(jsonPath("$.items[0].student").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value(nullValue()));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getGradesForCourse_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        Mockito.when(gradeService.getGradePage(any(Course.class), any(User.class), Mockito.eq("id"), Mockito.eq("bogus"), any()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/courses/1/grades")
+                        .param("sort", "id")
+                        .param("after", "bogus"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -106,7 +125,9 @@ class GradeRestControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(newGrade)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.grade", is(85.0)));
+                .andExpect(jsonPath("$.grade", is(85.0)))
+                .andExpect(jsonPath("$.student").doesNotExist())
+                .andExpect(jsonPath("$.course").doesNotExist());
 
         Mockito.verify(gradeService).saveGrade(any(Grade.class));
     }
@@ -142,7 +163,8 @@ class GradeRestControllerTest {
         mockMvc.perform(get("/api/courses/1/grades/gpa")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", is(3.5)));
+                .andExpect(jsonPath("$.gpa", is(3.5)))
+                .andExpect(jsonPath("$.gradeCount", is(2)));
     }
 
     @Test
@@ -181,12 +203,12 @@ class GradeRestControllerTest {
     @Test
     @WithMockUser(username = "testUser")
     void getGradesForCourse_whenNoGrades_shouldReturnEmptyList() throws Exception {
-        Mockito.when(gradeService.getGradesByCourseAndStudent(any(Course.class), any(User.class)))
-                .thenReturn(Arrays.asList());
+        Mockito.when(gradeService.getGradePage(any(Course.class), any(User.class), Mockito.eq("createdAt"), any(), any()))
+                .thenReturn(new CursorPage<>(Arrays.asList(), null));
 
         mockMvc.perform(get("/api/courses/1/grades")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(0)));
+                .andExpect(jsonPath("$.items", hasSize(0)));
     }
 }
\ No newline at end of file
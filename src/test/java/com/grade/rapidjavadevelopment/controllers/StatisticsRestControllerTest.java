@@ -0,0 +1,139 @@
+package com.grade.rapidjavadevelopment.controllers;
+
+import com.grade.rapidjavadevelopment.models.CourseStatisticsSnapshot;
+import com.grade.rapidjavadevelopment.models.StatisticsPartitionTiming;
+import com.grade.rapidjavadevelopment.models.StatisticsRecomputeReport;
+import com.grade.rapidjavadevelopment.services.GradeStatisticsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class StatisticsRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GradeStatisticsService gradeStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        CourseStatisticsSnapshot snapshot = CourseStatisticsSnapshot.of(7L, LocalDateTime.now(),
+                new long[]{2L, 1L}, new double[]{70.0, 85.5});
+        Mockito.when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot);
+        Mockito.when(gradeStatisticsService.getSnapshotEpoch()).thenReturn("run1");
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getCourseStatistics_shouldReturnSnapshotWithETag() throws Exception {
+        mockMvc.perform(get("/api/statistics/courses"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"run1-7\""))
+                .andExpect(jsonPath("$.version", is(7)))
+                .andExpect(jsonPath("$.timestamp", notNullValue()))
+                .andExpect(jsonPath("$.averages.1", is(85.5)))
+                .andExpect(jsonPath("$.averages.2", is(70.0)));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getCourseStatistics_withCurrentVersion_shouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/api/statistics/courses")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"run1-7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getCourseStatistics_withStaleVersion_shouldReturnSnapshot() throws Exception {
+        mockMvc.perform(get("/api/statistics/courses")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"run1-6\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(7)));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getCourseStatistics_withSameVersionFromAnEarlierRun_shouldReturnSnapshot() throws Exception {
+        mockMvc.perform(get("/api/statistics/courses")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"run0-7\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version", is(7)));
+    }
+
+    @Test
+    void getCourseStatistics_withoutAuth_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/statistics/courses"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getLastRecomputeReport_shouldReturnPartitionTimings() throws Exception {
+        Mockito.when(gradeStatisticsService.getLastRecomputeReport()).thenReturn(new StatisticsRecomputeReport(
+                true, LocalDateTime.now(), 42L, 10, 4, 2, List.of(
+                        new StatisticsPartitionTiming(0, 1L, 5L, 5, 0L, 12L, 15L),
+                        new StatisticsPartitionTiming(1, 6L, 10L, 5, 3L, 20L, 24L))));
+
+        mockMvc.perform(get("/api/statistics/recompute"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parallel", is(true)))
+                .andExpect(jsonPath("$.durationMillis", is(42)))
+                .andExpect(jsonPath("$.partitions", hasSize(2)))
+                .andExpect(jsonPath("$.partitions[1].waitMillis", is(3)));
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void getLastRecomputeReport_beforeFirstRun_shouldReturnNoContent() throws Exception {
+        mockMvc.perform(get("/api/statistics/recompute"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    @WithMockUser(username = "testUser")
+    void streamCourseStatistics_shouldPushCurrentSnapshot() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/statistics/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!result.getResponse().getContentAsString().contains("event:statistics")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(result.getResponse().getContentType()).startsWith("text/event-stream");
+        assertThat(result.getResponse().getContentAsString())
+                .contains("event:statistics")
+                .contains("\"version\":7");
+    }
+
+    @Test
+    void streamCourseStatistics_withoutAuth_shouldReturnUnauthorized() throws Exception {
+        mockMvc.perform(get("/api/statistics/stream"))
+                .andExpect(status().isUnauthorized());
+    }
+}
@@ -1,7 +1,10 @@
 package com.grade.rapidjavadevelopment.controllers;
 
+import com.grade.rapidjavadevelopment.exception.PasswordHashingBusyException;
+import com.grade.rapidjavadevelopment.exception.RateLimitExceededException;
 import com.grade.rapidjavadevelopment.models.Role;
 import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.services.AuthRateLimiter;
 import com.grade.rapidjavadevelopment.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,6 +32,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private AuthRateLimiter authRateLimiter;
+
     private User testUser;
 
     @BeforeEach
@@ -85,6 +91,45 @@ class UserControllerTest {
                 .andExpect(flash().attributeExists("errorMessage"));
     }
 
+    @Test
+    void registerUser_whenPasswordHashingBusy_shouldReturnServiceUnavailable() throws Exception {
+        Mockito.when(userService.saveUser(any(User.class))).thenThrow(new PasswordHashingBusyException());
+
+        mockMvc.perform(post("/register")
+                        .param("username", "newUser")
+                        .param("password", "password123")
+                        .param("email", "new@example.com"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void registerUser_whenRateLimited_shouldReturnTooManyRequests() throws Exception {
+        Mockito.doThrow(new RateLimitExceededException(30))
+                .when(authRateLimiter).checkAttempt(any(), Mockito.eq("newUser"));
+
+        mockMvc.perform(post("/register")
+                        .param("username", "newUser")
+                        .param("password", "password123")
+                        .param("email", "new@example.com"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"));
+
+        Mockito.verify(userService, Mockito.never()).saveUser(any(User.class));
+    }
+
+    @Test
+    void login_whenRateLimited_shouldReturnTooManyRequests() throws Exception {
+        Mockito.doThrow(new RateLimitExceededException(5))
+                .when(authRateLimiter).checkAttempt(any(), Mockito.eq("testUser"));
+
+        mockMvc.perform(post("/login")
+                        .param("username", "testUser")
+                        .param("password", "password123"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
     @Test
     void registerUser_shouldSetRoleToUser() throws Exception {
         mockMvc.perform(post("/register")
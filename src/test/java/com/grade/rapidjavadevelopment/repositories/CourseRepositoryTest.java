@@ -0,0 +1,107 @@
+package com.grade.rapidjavadevelopment.repositories;
+
+import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseSummary;
+import com.grade.rapidjavadevelopment.models.Role;
+import com.grade.rapidjavadevelopment.models.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class CourseRepositoryTest {
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        persistCourse("Biology");
+        persistCourse(null);
+        persistCourse("Algebra");
+        persistCourse("Biology");
+        persistCourse(null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findPageOrderById_shouldContinueAfterCursor() {
+        List<CourseSummary> firstPage = courseRepository.findPageOrderById(Long.MIN_VALUE, PageRequest.of(0, 3));
+        List<CourseSummary> secondPage = courseRepository.findPageOrderById(firstPage.get(2).getId(), PageRequest.of(0, 3));
+
+        assertThat(firstPage).hasSize(3);
+        assertThat(secondPage).hasSize(2);
+        assertThat(secondPage.get(0).getId()).isGreaterThan(firstPage.get(2).getId());
+    }
+
+    @Test
+    void findPageOrderByCourseName_shouldWalkUnnamedThenNamedCoursesWithoutGapsOrRepeats() {
+        List<CourseSummary> firstPage = courseRepository.findPageOrderByCourseNameAfterUnnamed(Long.MIN_VALUE, PageRequest.of(0, 1));
+        CourseSummary lastUnnamed = firstPage.get(0);
+        List<CourseSummary> secondPage = courseRepository.findPageOrderByCourseNameAfterUnnamed(lastUnnamed.getId(), PageRequest.of(0, 2));
+        CourseSummary firstBiology = secondPage.get(1);
+        List<CourseSummary> thirdPage = courseRepository.findPageOrderByCourseNameAfter(
+                firstBiology.getCourseName(), firstBiology.getId(), PageRequest.of(0, 10));
+
+        assertThat(lastUnnamed.getCourseName()).isNull();
+        assertThat(secondPage).extracting(CourseSummary::getCourseName).containsExactly(null, "Algebra");
+        assertThat(thirdPage).extracting(CourseSummary::getCourseName).containsExactly("Biology", "Biology");
+        assertThat(thirdPage.get(0).getId()).isLessThan(thirdPage.get(1).getId());
+    }
+
+    @Test
+    void findSummaryById_shouldSelectOnlyTheCourseColumns() {
+        Course course = courseRepository.findAll().get(0);
+        entityManager.clear();
+
+        CourseSummary summary = courseRepository.findSummaryById(course.getId()).orElseThrow();
+
+        assertThat(summary.getCourseName()).isEqualTo(course.getCourseName());
+        assertThat(summary.getCredits()).isEqualTo(course.getCredits());
+        assertThat(courseRepository.findSummaryById(-1L)).isEmpty();
+    }
+
+    @Test
+    void findByStudentsContaining_shouldListAUsersCoursesInOneQuery() {
+        User student = new User();
+        student.setUsername("enrolled");
+        student.setRole(Role.ROLE_USER);
+        entityManager.persist(student);
+        List<Course> all = courseRepository.findAll();
+        all.subList(0, 3).forEach(course -> course.getStudents().add(student));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        List<Course> courses = courseRepository.findByStudentsContaining(student);
+        courses.forEach(course -> course.getCourseName());
+
+        assertThat(courses).hasSize(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void persistCourse(String name) {
+        Course course = new Course();
+        course.setCourseName(name);
+        course.setCredits(3);
+        entityManager.persist(course);
+    }
+}
@@ -0,0 +1,380 @@
+package com.grade.rapidjavadevelopment.repositories;
+
+import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseGpa;
+import com.grade.rapidjavadevelopment.models.CourseGradeAggregate;
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeDailyAggregate;
+import com.grade.rapidjavadevelopment.models.GradeExportRow;
+import com.grade.rapidjavadevelopment.models.GradeRow;
+import com.grade.rapidjavadevelopment.models.GradeSummary;
+import com.grade.rapidjavadevelopment.models.GradeValueCount;
+import com.grade.rapidjavadevelopment.models.Role;
+import com.grade.rapidjavadevelopment.models.User;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class GradeRepositoryTest {
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Course gradedCourse;
+    private Course emptyCourse;
+
+    @BeforeEach
+    void setUp() {
+        gradedCourse = persistCourse("Graded Course");
+        emptyCourse = persistCourse("Empty Course");
+        persistGrade(gradedCourse, 80.0);
+        persistGrade(gradedCourse, 90.0);
+        persistGrade(gradedCourse, 70.0);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void aggregateGradesByCourse_shouldReturnOneRowPerCourse() {
+        List<CourseGradeAggregate> aggregates = gradeRepository.aggregateGradesByCourse();
+
+        assertThat(aggregates).hasSize(2);
+        CourseGradeAggregate graded = aggregates.stream()
+                .filter(aggregate -> aggregate.getCourseId().equals(gradedCourse.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(graded.getCount()).isEqualTo(3L);
+        assertThat(graded.getSum()).isEqualTo(240.0);
+        assertThat(graded.getAverage()).isEqualTo(80.0);
+        assertThat(graded.getMin()).isEqualTo(70.0);
+        assertThat(graded.getMax()).isEqualTo(90.0);
+    }
+
+    @Test
+    void aggregateGradesByCourse_shouldIncludeCoursesWithoutGrades() {
+        CourseGradeAggregate empty = gradeRepository.aggregateGradesByCourse().stream()
+                .filter(aggregate -> aggregate.getCourseId().equals(emptyCourse.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        assertThat(empty.getCount()).isZero();
+        assertThat(empty.getSum()).isNull();
+    }
+
+    @Test
+    void aggregateGradesForCourse_shouldReturnSingleCourse() {
+        Optional<CourseGradeAggregate> aggregate = gradeRepository.aggregateGradesForCourse(gradedCourse.getId());
+
+        assertThat(aggregate).isPresent();
+        assertThat(aggregate.get().getCount()).isEqualTo(3L);
+        assertThat(aggregate.get().getAverage()).isEqualTo(80.0);
+    }
+
+    @Test
+    void aggregateGradesForCourse_whenCourseDoesNotExist_shouldReturnEmpty() {
+        assertThat(gradeRepository.aggregateGradesForCourse(999L)).isEmpty();
+    }
+
+    @Test
+    void countGradeValuesByCourse_shouldCountEachDistinctValue() {
+        persistGrade(gradedCourse, 90.0);
+        entityManager.flush();
+
+        List<GradeValueCount> counts = gradeRepository.countGradeValuesByCourse();
+
+        assertThat(counts)
+                .extracting(GradeValueCount::getValue, GradeValueCount::getCount)
+                .containsExactlyInAnyOrder(tuple(70.0, 1L), tuple(80.0, 1L), tuple(90.0, 2L));
+    }
+
+    @Test
+    void countGradeValuesForCourse_shouldOnlyCountThatCourse() {
+        assertThat(gradeRepository.countGradeValuesForCourse(emptyCourse.getId())).isEmpty();
+        assertThat(gradeRepository.countGradeValuesForCourse(gradedCourse.getId()))
+                .extracting(GradeValueCount::getValue)
+                .containsExactlyInAnyOrder(70.0, 80.0, 90.0);
+    }
+
+    @Test
+    void aggregateGradesForCourseRange_shouldOnlyReturnCoursesInRange() {
+        List<CourseGradeAggregate> aggregates = gradeRepository.aggregateGradesForCourseRange(
+                gradedCourse.getId(), gradedCourse.getId());
+
+        assertThat(aggregates).extracting(CourseGradeAggregate::getCourseId).containsExactly(gradedCourse.getId());
+
+        assertThat(gradeRepository.aggregateGradesForCourseRange(Long.MIN_VALUE, Long.MAX_VALUE)).hasSize(2);
+    }
+
+    @Test
+    void countGradeValuesForCourseRange_shouldExcludeCoursesOutsideRange() {
+        Course otherCourse = persistCourse("Other Course");
+        persistGrade(otherCourse, 60.0);
+        entityManager.flush();
+
+        List<GradeValueCount> counts = gradeRepository.countGradeValuesForCourseRange(
+                Long.MIN_VALUE, otherCourse.getId() - 1);
+
+        assertThat(counts).extracting(GradeValueCount::getCourseId).containsOnly(gradedCourse.getId());
+        assertThat(counts).hasSize(3);
+    }
+
+    @Test
+    void aggregateGradesByDaySince_shouldGroupByCalendarDay() {
+        LocalDateTime today = LocalDate.now().atTime(10, 0);
+        persistGrade(emptyCourse, 60.0, today);
+        persistGrade(emptyCourse, 80.0, today.plusHours(5));
+        persistGrade(emptyCourse, 50.0, today.minusDays(3));
+        persistGrade(emptyCourse, 40.0, today.minusDays(40));
+        entityManager.flush();
+
+        List<GradeDailyAggregate> days = gradeRepository.aggregateGradesByDaySince(
+                today.toLocalDate().minusDays(30).atStartOfDay(), Long.MIN_VALUE, Long.MAX_VALUE);
+
+        assertThat(days)
+                .extracting(GradeDailyAggregate::getCourseId, GradeDailyAggregate::getDay,
+                        GradeDailyAggregate::getCount, GradeDailyAggregate::getSum)
+                .containsExactlyInAnyOrder(
+                        tuple(emptyCourse.getId(), today.toLocalDate(), 2L, 140.0),
+                        tuple(emptyCourse.getId(), today.toLocalDate().minusDays(3), 1L, 50.0));
+    }
+
+    @Test
+    void findGradeRowsAfter_shouldPageByGradeId() {
+        List<GradeRow> firstPage = gradeRepository.findGradeRowsAfter(Long.MIN_VALUE, PageRequest.of(0, 2));
+        List<GradeRow> secondPage = gradeRepository.findGradeRowsAfter(
+                firstPage.get(1).getGradeId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).hasSize(2);
+        assertThat(firstPage.get(0).getGradeId()).isLessThan(firstPage.get(1).getGradeId());
+        assertThat(secondPage).hasSize(1);
+        assertThat(secondPage.get(0).getCourseId()).isEqualTo(gradedCourse.getId());
+        assertThat(secondPage.get(0).getCredits()).isEqualTo(3);
+        assertThat(secondPage.get(0).getStudentId()).isNull();
+    }
+
+    @Test
+    void newestFirstPages_shouldPutUndatedGradesLastAndNotRepeatRows() {
+        User student = new User();
+        student.setUsername("pager");
+        student.setRole(Role.ROLE_USER);
+        entityManager.persist(student);
+        LocalDateTime noon = LocalDateTime.of(2024, 5, 1, 12, 0);
+        persistGrade(gradedCourse, student, 1.0, noon.minusDays(1));
+        persistGrade(gradedCourse, student, 2.0, noon);
+        persistGrade(gradedCourse, student, 3.0, noon);
+        persistGrade(gradedCourse, student, 4.0, null);
+        persistGrade(gradedCourse, student, 5.0, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<GradeSummary> firstPage = gradeRepository.findFirstPageByCourseAndStudentNewestFirst(
+                gradedCourse, student, PageRequest.of(0, 2));
+        GradeSummary last = firstPage.get(1);
+        List<GradeSummary> secondPage = gradeRepository.findPageByCourseAndStudentNewestFirstBefore(
+                gradedCourse, student, last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+        GradeSummary undated = secondPage.get(1);
+        List<GradeSummary> thirdPage = gradeRepository.findPageByCourseAndStudentUndatedBefore(
+                gradedCourse, student, undated.getId(), PageRequest.of(0, 2));
+
+        assertThat(firstPage).extracting(GradeSummary::getGrade).containsExactly(3.0, 2.0);
+        assertThat(secondPage).extracting(GradeSummary::getGrade).containsExactly(1.0, 5.0);
+        assertThat(thirdPage).extracting(GradeSummary::getGrade).containsExactly(4.0);
+    }
+
+    @Test
+    void findPageByCourseAndStudentOrderById_shouldOnlyReturnThatStudentsGrades() {
+        User student = new User();
+        student.setUsername("owner");
+        student.setRole(Role.ROLE_USER);
+        entityManager.persist(student);
+        persistGrade(gradedCourse, student, 60.0, null);
+        entityManager.flush();
+
+        List<GradeSummary> page = gradeRepository.findPageByCourseAndStudentOrderById(
+                gradedCourse, student, Long.MIN_VALUE, PageRequest.of(0, 10));
+
+        assertThat(page).extracting(GradeSummary::getGrade).containsExactly(60.0);
+        assertThat(page.get(0).getCourseId()).isEqualTo(gradedCourse.getId());
+        assertThat(page.get(0).getStudentId()).isEqualTo(student.getId());
+    }
+
+    @Test
+    void findCourseGpa_shouldAverageOnlyThatStudentsGradesInTheCourse() {
+        User student = new User();
+        student.setUsername("averaged");
+        student.setRole(Role.ROLE_USER);
+        entityManager.persist(student);
+        persistGrade(gradedCourse, student, 60.0, null);
+        persistGrade(gradedCourse, student, 80.0, null);
+        persistGrade(emptyCourse, student, 10.0, null);
+        entityManager.flush();
+
+        CourseGpa gpa = gradeRepository.findCourseGpa(gradedCourse.getId(), student.getId()).orElseThrow();
+
+        assertThat(gpa.getGpa()).isEqualTo(70.0);
+        assertThat(gpa.getGradeCount()).isEqualTo(2L);
+        assertThat(gradeRepository.findCourseGpa(gradedCourse.getId(), -1L)).isEmpty();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private User persistStudentWithGradesInThreeCourses() {
+        User student = new User();
+        student.setUsername("gpa");
+        student.setRole(Role.ROLE_USER);
+        entityManager.persist(student);
+        persistGrade(gradedCourse, student, 60.0, null);
+        persistGrade(emptyCourse, student, 70.0, null);
+        persistGrade(persistCourse("Third Course"), student, 80.0, null);
+        entityManager.flush();
+        entityManager.clear();
+        return student;
+    }
+
+    @Test
+    void findByStudent_shouldLoadCourseCreditsInOneQuery() {
+        User student = persistStudentWithGradesInThreeCourses();
+        Statistics statistics = statistics();
+
+        List<Grade> grades = gradeRepository.findByStudent(student);
+        int credits = grades.stream().mapToInt(grade -> grade.getCourse().getCredits()).sum();
+
+        assertThat(credits).isEqualTo(9);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void findByCourse_shouldLoadStudentsInOneQuery() {
+        User student = persistStudentWithGradesInThreeCourses();
+        Statistics statistics = statistics();
+
+        List<Grade> grades = gradeRepository.findByCourse(entityManager.find(Course.class, gradedCourse.getId()));
+        grades.forEach(grade -> {
+            if (grade.getStudent() != null) {
+                grade.getStudent().getUsername();
+            }
+        });
+
+        assertThat(grades).hasSize(4);
+        assertThat(grades).filteredOn(grade -> grade.getStudent() != null)
+                .extracting(grade -> grade.getStudent().getId()).containsExactly(student.getId());
+        // One for the course itself, one for its grades and their students.
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void findById_shouldFetchCourseAndStudentWithTheGrade() {
+        User student = persistStudentWithGradesInThreeCourses();
+        Long gradeId = gradeRepository.findByStudent(student).get(0).getId();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        Grade grade = gradeRepository.findById(gradeId).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(grade.getCourse())).isTrue();
+        assertThat(Hibernate.isInitialized(grade.getStudent())).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void addGrade_shouldNotLoadTheCoursesExistingGrades() {
+        Course course = entityManager.find(Course.class, gradedCourse.getId());
+        Statistics statistics = statistics();
+
+        Grade grade = new Grade();
+        grade.setGrade(95.0);
+        course.addGrade(grade);
+        gradeRepository.saveAndFlush(grade);
+
+        assertThat(Hibernate.isInitialized(course.getGrades())).isFalse();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void exportRows_shouldStreamProjectionsInIdOrderWithoutManagingThem() {
+        User student = persistStudentWithGradesInThreeCourses();
+        List<GradeExportRow> rows = new ArrayList<>();
+
+        long count = gradeRepository.exportRows(null, null, 2, rows::add);
+
+        assertThat(count).isEqualTo(6);
+        assertThat(rows).extracting(GradeExportRow::getId).isSorted();
+        assertThat(rows).filteredOn(row -> row.getStudentId() != null)
+                .extracting(GradeExportRow::getUsername).containsOnly(student.getUsername());
+        assertThat(entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    void exportRows_shouldApplyCourseAndStudentFilters() {
+        User student = persistStudentWithGradesInThreeCourses();
+        List<GradeExportRow> byCourse = new ArrayList<>();
+        List<GradeExportRow> byStudentAndCourse = new ArrayList<>();
+
+        gradeRepository.exportRows(gradedCourse.getId(), null, 100, byCourse::add);
+        gradeRepository.exportRows(gradedCourse.getId(), student.getId(), 100, byStudentAndCourse::add);
+
+        assertThat(byCourse).hasSize(4).extracting(GradeExportRow::getCourseId).containsOnly(gradedCourse.getId());
+        assertThat(byStudentAndCourse).singleElement()
+                .satisfies(row -> assertThat(row.getGrade()).isEqualTo(60.0));
+    }
+
+    private void persistGrade(Course course, User student, double value, LocalDateTime createdAt) {
+        Grade grade = new Grade();
+        grade.setCourse(course);
+        grade.setStudent(student);
+        grade.setGrade(value);
+        grade.setCreatedAt(createdAt);
+        entityManager.persist(grade);
+    }
+
+    private Course persistCourse(String name) {
+        Course course = new Course();
+        course.setCourseName(name);
+        course.setCredits(3);
+        return entityManager.persist(course);
+    }
+
+    private void persistGrade(Course course, double value) {
+        Grade grade = new Grade();
+        grade.setCourse(course);
+        grade.setGrade(value);
+        entityManager.persist(grade);
+    }
+
+    private void persistGrade(Course course, double value, LocalDateTime createdAt) {
+        Grade grade = new Grade();
+        grade.setCourse(course);
+        grade.setGrade(value);
+        grade.setCreatedAt(createdAt);
+        entityManager.persist(grade);
+    }
+}
@@ -0,0 +1,201 @@
+package com.grade.rapidjavadevelopment.repositories;
+
+import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.RefreshToken;
+import com.grade.rapidjavadevelopment.models.Role;
+import com.grade.rapidjavadevelopment.models.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs H2's EXPLAIN on the SQL behind each selective repository query and fails when a table is
+ * read in full. Queries that read a whole table on purpose (findAll, findAllIds,
+ * aggregateGradesByCourse, countGradeValuesByCourse and an unfiltered export) are left out.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.grade.rapidjavadevelopment.repositories.QueryPlanTest$RecordingStatementInspector")
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    // H2 notes each table access as "/* PUBLIC.<index>: <condition> */"; a full read is either
+    // "PUBLIC.<table>.tableScan" or an index walked without a condition or a limit.
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* (PUBLIC\\.[^:*\\s]+)(:?)");
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User student;
+    private Course course;
+    private Grade grade;
+    private RefreshToken token;
+
+    @BeforeEach
+    void setUp() {
+        student = new User();
+        student.setUsername("plan-student");
+        student.setRole(Role.ROLE_USER);
+        entityManager.persist(student);
+        course = new Course();
+        course.setCourseName("Plans");
+        course.setCourseCode("PLN101");
+        course.setCredits(5);
+        entityManager.persist(course);
+        grade = entityManager.persist(new Grade(null, student, course, 80.0, LocalDateTime.now(), LocalDateTime.now()));
+        token = new RefreshToken();
+        token.setTokenHash("hash");
+        token.setFamilyId("family");
+        token.setUserId(student.getId());
+        token.setExpiresAt(LocalDateTime.now().plusDays(1));
+        entityManager.persist(token);
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.statements.clear();
+    }
+
+    @Test
+    void gradeFinders_shouldUseIndexes() {
+        assertIndexed(() -> gradeRepository.findById(grade.getId()));
+        assertIndexed(() -> gradeRepository.findByStudent(student));
+        assertIndexed(() -> gradeRepository.findByCourse(course));
+        assertIndexed(() -> gradeRepository.findByCourseAndStudentOrderByCreatedAtDesc(course, student));
+        assertIndexed(() -> gradeRepository.findStudentIdsByCourseId(course.getId()));
+        assertIndexed(() -> gradeRepository.findCourseGpa(course.getId(), student.getId()));
+        assertIndexed(() -> gradeRepository.findGradeRowsAfter(grade.getId(), PageRequest.of(0, 10)));
+        assertIndexed(() -> gradeRepository.findGradeRowsByCourseId(course.getId()));
+        assertIndexed(() -> gradeRepository.findGradeRowsByStudentId(student.getId()));
+        assertIndexed(() -> gradeRepository.deleteByStudentId(student.getId()));
+    }
+
+    @Test
+    void gradeAggregates_shouldUseIndexes() {
+        assertIndexed(() -> gradeRepository.aggregateGradesForCourse(course.getId()));
+        assertIndexed(() -> gradeRepository.aggregateGradesForCourseRange(course.getId(), course.getId() + 10));
+        assertIndexed(() -> gradeRepository.countGradeValuesForCourse(course.getId()));
+        assertIndexed(() -> gradeRepository.countGradeValuesForCourseRange(course.getId(), course.getId() + 10));
+        assertIndexed(() -> gradeRepository.aggregateGradesByDaySince(LocalDateTime.now().minusDays(7),
+                course.getId(), course.getId() + 10));
+    }
+
+    @Test
+    void gradePages_shouldUseIndexes() {
+        PageRequest page = PageRequest.of(0, 10);
+        LocalDateTime now = LocalDateTime.now();
+        assertIndexed(() -> gradeRepository.findPageByCourseAndStudentOrderById(course, student, 0L, page));
+        assertIndexed(() -> gradeRepository.findFirstPageByCourseAndStudentNewestFirst(course, student, page));
+        assertIndexed(() -> gradeRepository.findPageByCourseAndStudentNewestFirstBefore(course, student, now,
+                grade.getId(), page));
+        assertIndexed(() -> gradeRepository.findPageByCourseAndStudentUndatedBefore(course, student, grade.getId(), page));
+    }
+
+    @Test
+    void filteredExports_shouldUseIndexes() {
+        assertIndexed(() -> gradeRepository.exportRows(course.getId(), null, 100, row -> { }));
+        assertIndexed(() -> gradeRepository.exportRows(null, student.getId(), 100, row -> { }));
+        assertIndexed(() -> gradeRepository.exportRows(course.getId(), student.getId(), 100, row -> { }));
+    }
+
+    @Test
+    void courseFinders_shouldUseIndexes() {
+        PageRequest page = PageRequest.of(0, 10);
+        assertIndexed(() -> courseRepository.findById(course.getId()));
+        assertIndexed(() -> courseRepository.findByStudentsContaining(student));
+        assertIndexed(() -> courseRepository.findByCourseCodeIn(List.of("PLN101", "PLN102")));
+        assertIndexed(() -> courseRepository.findSummaryById(course.getId()));
+        assertIndexed(() -> courseRepository.findPageOrderById(0L, page));
+        assertIndexed(() -> courseRepository.findPageOrderByCourseNameAfterUnnamed(0L, page));
+        assertIndexed(() -> courseRepository.findPageOrderByCourseNameAfter("Plans", course.getId(), page));
+    }
+
+    @Test
+    void userFinders_shouldUseIndexes() {
+        assertIndexed(() -> userRepository.findById(student.getId()));
+        assertIndexed(() -> userRepository.findByUsername("plan-student"));
+        assertIndexed(() -> userRepository.findByRole(Role.ROLE_ADMIN));
+        assertIndexed(() -> userRepository.findByUsernameIn(List.of("plan-student", "other")));
+        assertIndexed(() -> userRepository.findTokenVersionById(student.getId()));
+        assertIndexed(() -> userRepository.updatePassword("plan-student", "hash"));
+    }
+
+    @Test
+    void refreshTokenQueries_shouldUseIndexes() {
+        assertIndexed(() -> refreshTokenRepository.findByTokenHash("hash"));
+        assertIndexed(() -> refreshTokenRepository.markUsed(token.getId(), LocalDateTime.now()));
+        assertIndexed(() -> refreshTokenRepository.revokeFamily("family"));
+        assertIndexed(() -> refreshTokenRepository.deleteExpired(LocalDateTime.now()));
+    }
+
+    private void assertIndexed(Runnable query) {
+        RecordingStatementInspector.statements.clear();
+        query.run();
+        entityManager.clear();
+        List<String> statements = new ArrayList<>(RecordingStatementInspector.statements);
+        assertThat(statements).as("SQL issued").isNotEmpty();
+        for (String sql : statements) {
+            if (sql.toLowerCase(Locale.ROOT).startsWith("insert")) {
+                continue;
+            }
+            String plan = explain(sql);
+            // An index read in order up to a row limit stops early, so it is a bounded read, not a scan.
+            boolean limitedIndexWalk = plan.contains("/* index sorted */") && plan.contains("FETCH FIRST");
+            Matcher access = TABLE_ACCESS.matcher(plan);
+            int tables = 0;
+            while (access.find()) {
+                tables++;
+                boolean unconditioned = access.group(2).isEmpty() && !limitedIndexWalk;
+                assertThat(access.group(1).endsWith(".tableScan") || unconditioned)
+                        .as("full scan of %s in%n%s", access.group(1), plan)
+                        .isFalse();
+            }
+            assertThat(tables).as("table accesses in%n%s", plan).isPositive();
+        }
+    }
+
+    private String explain(String sql) {
+        // Prepared without binding anything; H2 plans with the parameters left open.
+        return jdbcTemplate.query(connection -> connection.prepareStatement("explain " + sql),
+                rs -> rs.next() ? rs.getString(1) : "");
+    }
+}
@@ -0,0 +1,64 @@
+package com.grade.rapidjavadevelopment.repositories;
+
+import com.grade.rapidjavadevelopment.models.RefreshToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class RefreshTokenRepositoryTest {
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private RefreshToken persistToken(String hash, String familyId, LocalDateTime expiresAt) {
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash);
+        token.setFamilyId(familyId);
+        token.setUserId(1L);
+        token.setExpiresAt(expiresAt);
+        return entityManager.persistAndFlush(token);
+    }
+
+    @Test
+    void markUsed_shouldSucceedOnlyOnce() {
+        RefreshToken token = persistToken("a".repeat(64), "family-1", LocalDateTime.now().plusDays(1));
+
+        assertThat(refreshTokenRepository.markUsed(token.getId(), LocalDateTime.now())).isEqualTo(1);
+        assertThat(refreshTokenRepository.markUsed(token.getId(), LocalDateTime.now())).isZero();
+    }
+
+    @Test
+    void revokeFamily_shouldOnlyTouchThatFamily() {
+        persistToken("a".repeat(64), "family-1", LocalDateTime.now().plusDays(1));
+        persistToken("b".repeat(64), "family-1", LocalDateTime.now().plusDays(1));
+        persistToken("c".repeat(64), "family-2", LocalDateTime.now().plusDays(1));
+
+        assertThat(refreshTokenRepository.revokeFamily("family-1")).isEqualTo(2);
+        entityManager.clear();
+
+        assertThat(refreshTokenRepository.findByTokenHash("a".repeat(64))).get()
+                .extracting(RefreshToken::isRevoked).isEqualTo(true);
+        assertThat(refreshTokenRepository.findByTokenHash("c".repeat(64))).get()
+                .extracting(RefreshToken::isRevoked).isEqualTo(false);
+    }
+
+    @Test
+    void deleteExpired_shouldKeepLiveTokens() {
+        persistToken("a".repeat(64), "family-1", LocalDateTime.now().minusMinutes(1));
+        persistToken("b".repeat(64), "family-1", LocalDateTime.now().plusDays(1));
+
+        assertThat(refreshTokenRepository.deleteExpired(LocalDateTime.now())).isEqualTo(1);
+        assertThat(refreshTokenRepository.findByTokenHash("b".repeat(64))).isPresent();
+    }
+}
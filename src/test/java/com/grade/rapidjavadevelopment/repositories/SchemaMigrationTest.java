@@ -0,0 +1,64 @@
+package com.grade.rapidjavadevelopment.repositories;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A database that ddl-auto=update created before migrations existed: it has exactly V1 and no
+// Flyway history, so it is baselined and only the later migrations run on it.
+class SchemaMigrationTest {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:migration-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource = h2;
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/h2/V1__baseline_schema.sql"))
+                .execute(dataSource);
+        jdbcTemplate.update("insert into users (username, role) values ('existing', 'ROLE_USER')");
+        jdbcTemplate.update("insert into grades (grade) values (70.0)");
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void migrate_shouldAddEverythingIntroducedAfterTheBaseline() {
+        migrate();
+
+        assertThat(jdbcTemplate.queryForObject("select token_version from users where username = 'existing'",
+                Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from refresh_tokens", Integer.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select next value for grades_seq", Long.class)).isNotNull();
+    }
+
+    @Test
+    void migrate_shouldStopGeneratingGradeIdsInTheTable() {
+        migrate();
+
+        Integer identityColumns = jdbcTemplate.queryForObject("select count(*) from information_schema.columns "
+                + "where table_name = 'GRADES' and column_name = 'ID' and is_identity = 'YES'", Integer.class);
+        assertThat(identityColumns).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from grades", Integer.class)).isEqualTo(1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.grade.rapidjavadevelopment.repositories;
+
+import com.grade.rapidjavadevelopment.models.Role;
+import com.grade.rapidjavadevelopment.models.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: second-level cache entries are only written when a transaction commits.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findByUsername_shouldServeARepeatedLookupFromTheSecondLevelCache() {
+        saveUser("cached");
+        userRepository.findByUsername("cached");
+        Statistics statistics = statistics();
+
+        User user = userRepository.findByUsername("cached").orElseThrow();
+
+        assertThat(user.getEmail()).isEqualTo("cached@example.com");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void findByUsername_shouldFollowARename() {
+        User user = saveUser("before");
+        userRepository.findByUsername("before");
+        user.setUsername("after");
+        userRepository.save(user);
+
+        assertThat(userRepository.findByUsername("before")).isEmpty();
+        assertThat(userRepository.findByUsername("after")).map(User::getId).contains(user.getId());
+    }
+
+    @Test
+    void findByUsername_shouldSeeAPasswordChangedByBulkUpdate() {
+        saveUser("bulk");
+        userRepository.findByUsername("bulk");
+
+        userRepository.updatePassword("bulk", "new-hash");
+
+        assertThat(userRepository.findByUsername("bulk")).map(User::getPassword).contains("new-hash");
+    }
+
+    @Test
+    void findByUsername_shouldReturnEmptyForUnknownOrMissingUsername() {
+        assertThat(userRepository.findByUsername("nobody")).isEmpty();
+        assertThat(userRepository.findByUsername(null)).isEmpty();
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("hash");
+        user.setRole(Role.ROLE_USER);
+        return userRepository.save(user);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,93 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthRateLimiterTest {
+
+    private AuthRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new AuthRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "ipCapacity", 3);
+        ReflectionTestUtils.setField(rateLimiter, "ipRefillPerMinute", 3);
+        ReflectionTestUtils.setField(rateLimiter, "usernameCapacity", 2);
+        ReflectionTestUtils.setField(rateLimiter, "usernameRefillPerMinute", 2);
+        rateLimiter.init();
+    }
+
+    @Test
+    void checkAttempt_shouldRejectUsernameAcrossClientsAndIgnoreCase() {
+        rateLimiter.checkAttempt("10.0.0.1", "alice");
+        rateLimiter.checkAttempt("10.0.0.2", "Alice");
+
+        assertThatThrownBy(() -> rateLimiter.checkAttempt("10.0.0.3", " ALICE "))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfterSeconds()).isBetween(1L, 30L));
+        assertThat(rateLimiter.getUsernameRejections()).isEqualTo(1);
+        assertThatCode(() -> rateLimiter.checkAttempt("10.0.0.3", "bob")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkAttempt_shouldRejectClientAcrossUsernames() {
+        rateLimiter.checkAttempt("10.0.0.1", "a");
+        rateLimiter.checkAttempt("10.0.0.1", "b");
+        rateLimiter.checkAttempt("10.0.0.1", "c");
+
+        assertThatThrownBy(() -> rateLimiter.checkAttempt("10.0.0.1", "d"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(rateLimiter.getIpRejections()).isEqualTo(1);
+        // The rejected attempt did not spend a token for "d".
+        rateLimiter.checkAttempt("10.0.0.2", "d");
+        rateLimiter.checkAttempt("10.0.0.2", "d");
+    }
+
+    @Test
+    void checkAttempt_whenBucketsRunOut_shouldNotThrottleOtherUsernames() {
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 4);
+        rateLimiter.init();
+        rateLimiter.checkAttempt(null, "alice");
+        rateLimiter.checkAttempt(null, "alice");
+
+        for (int i = 0; i < 50; i++) {
+            rateLimiter.checkAttempt(null, "sprayed" + i);
+        }
+
+        assertThatCode(() -> rateLimiter.checkAttempt(null, "bob")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> rateLimiter.checkAttempt(null, "alice"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(rateLimiter.getBucketCount()).isLessThanOrEqualTo(4);
+    }
+
+    @Test
+    void checkAttempt_whenDisabled_shouldAllowEverything() {
+        ReflectionTestUtils.setField(rateLimiter, "enabled", false);
+
+        for (int i = 0; i < 10; i++) {
+            rateLimiter.checkAttempt("10.0.0.1", "alice");
+        }
+        assertThat(rateLimiter.getBucketCount()).isZero();
+    }
+
+    @Test
+    void bindTo_shouldExposeRejectionCounters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        rateLimiter.bindTo(registry);
+        rateLimiter.checkAttempt(null, "alice");
+        rateLimiter.checkAttempt(null, "alice");
+        assertThatThrownBy(() -> rateLimiter.checkAttempt(null, "alice"))
+                .isInstanceOf(RateLimitExceededException.class);
+
+        assertThat(registry.get("auth.rate.limit.rejected").tag("limit", "username").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("auth.rate.limit.buckets").gauge().value()).isEqualTo(1.0);
+    }
+}
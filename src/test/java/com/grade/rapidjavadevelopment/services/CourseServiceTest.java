@@ -1,14 +1,24 @@
 package com.grade.rapidjavadevelopment.services;
 
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
+import com.grade.rapidjavadevelopment.events.GradeChangedEvent;
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseSummary;
+import com.grade.rapidjavadevelopment.models.CursorPage;
+import com.grade.rapidjavadevelopment.models.GradeRow;
 import com.grade.rapidjavadevelopment.models.User;
 import com.grade.rapidjavadevelopment.repositories.CourseRepository;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import com.grade.rapidjavadevelopment.utils.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -17,6 +27,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -26,6 +37,12 @@ class CourseServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -121,6 +138,25 @@ class CourseServiceTest {
         courseService.deleteCourse(1L);
 
         verify(courseRepository).deleteById(1L);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void deleteCourse_withGrades_shouldPublishTheirRemoval() {
+        when(gradeRepository.findGradeRowsByCourseId(1L)).thenReturn(List.of(
+                new GradeRow(10L, 7L, 1L, 3, 80.0, null),
+                new GradeRow(11L, 8L, 1L, 3, 90.0, null)));
+
+        courseService.deleteCourse(1L);
+
+        ArgumentCaptor<GradeBatchChangedEvent> event = ArgumentCaptor.forClass(GradeBatchChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getChanges())
+                .extracting(GradeChangedEvent::getType, GradeChangedEvent::getGradeId, GradeChangedEvent::getStudentId)
+                .containsExactly(
+                        tuple(GradeChangedEvent.Type.REMOVED, 10L, 7L),
+                        tuple(GradeChangedEvent.Type.REMOVED, 11L, 8L));
+        verify(courseRepository).deleteById(1L);
     }
 
     @Test
@@ -145,4 +181,40 @@ class CourseServiceTest {
         assertThat(result).isEmpty();
         verify(courseRepository).findByStudentsContaining(testUser);
     }
-}
\ No newline at end of file
+
+    private static CourseSummary course(long id, String name) {
+        return new CourseSummary(id, name, null, 0);
+    }
+
+    @Test
+    void getCoursePage_shouldFetchOneExtraRowAndReturnCursorForLastItem() {
+        when(courseRepository.findPageOrderById(Long.MIN_VALUE, PageRequest.of(0, 3)))
+                .thenReturn(Arrays.asList(course(1L, "A"), course(2L, "B"), course(3L, "C")));
+
+        CursorPage<CourseSummary> page = courseService.getCoursePage(CourseService.SORT_BY_ID, null, 2);
+
+        assertThat(page.getItems()).extracting(CourseSummary::getId).containsExactly(1L, 2L);
+        assertThat(KeysetCursor.decode(page.getNextCursor(), CourseService.SORT_BY_ID).getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void getCoursePage_byName_shouldContinueFromNamedCursor() {
+        String after = new KeysetCursor(CourseService.SORT_BY_NAME, "Algebra", 7L).encode();
+        when(courseRepository.findPageOrderByCourseNameAfter("Algebra", 7L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(course(4L, "Biology")));
+
+        CursorPage<CourseSummary> page = courseService.getCoursePage(CourseService.SORT_BY_NAME, after, 2);
+
+        assertThat(page.getItems()).extracting(CourseSummary::getCourseName).containsExactly("Biology");
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getCoursePage_shouldCapLimitAndRejectUnknownSort() {
+        when(courseRepository.findPageOrderById(Long.MIN_VALUE, PageRequest.of(0, 201))).thenReturn(List.of());
+
+        assertThat(courseService.getCoursePage(CourseService.SORT_BY_ID, null, 10_000).getItems()).isEmpty();
+        assertThatThrownBy(() -> courseService.getCoursePage("credits", null, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -2,12 +2,14 @@ package com.grade.rapidjavadevelopment.services;
 
 import com.grade.rapidjavadevelopment.models.Role;
 import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.models.UserPrincipal;
 import com.grade.rapidjavadevelopment.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,6 +19,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,6 +29,9 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private UserDetailsCache userDetailsCache = new UserDetailsCache();
+
     @InjectMocks
     private CustomUserDetailsService userDetailsService;
 
@@ -58,6 +64,17 @@ class CustomUserDetailsServiceTest {
         verify(userRepository).findByUsername("testUser");
     }
 
+    @Test
+    void loadUserByUsername_shouldCarryIdAndTokenVersion() {
+        testUser.setTokenVersion(5);
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(testUser));
+
+        UserPrincipal principal = (UserPrincipal) userDetailsService.loadUserByUsername("testUser");
+
+        assertThat(principal.getId()).isEqualTo(1L);
+        assertThat(principal.getTokenVersion()).isEqualTo(5);
+    }
+
     @Test
     void loadUserByUsername_whenUserDoesNotExist_shouldThrowUsernameNotFoundException() {
         when(userRepository.findByUsername("nonexistent")).thenReturn(Optional.empty());
@@ -113,4 +130,28 @@ class CustomUserDetailsServiceTest {
                 .isInstanceOf(UsernameNotFoundException.class)
                 .hasMessage("User not found");
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadUserByUsername_repeatedLookup_shouldHitDatabaseOnce() {
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(testUser));
+
+        userDetailsService.loadUserByUsername("testUser");
+        UserDetails userDetails = userDetailsService.loadUserByUsername("testUser");
+
+        assertThat(userDetails.getPassword()).isEqualTo("encodedPassword");
+        verify(userRepository, times(1)).findByUsername("testUser");
+    }
+
+    @Test
+    void updatePassword_shouldStoreRehashAndEvictCachedUser() {
+        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(testUser));
+        UserDetails loaded = userDetailsService.loadUserByUsername("testUser");
+
+        UserDetails updated = userDetailsService.updatePassword(loaded, "newHash");
+
+        assertThat(updated.getPassword()).isEqualTo("newHash");
+        assertThat(((UserPrincipal) updated).getId()).isEqualTo(1L);
+        verify(userRepository).updatePassword("testUser", "newHash");
+        verify(userDetailsCache).evict("testUser");
+    }
+}
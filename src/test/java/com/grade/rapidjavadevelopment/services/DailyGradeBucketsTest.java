@@ -0,0 +1,91 @@
+package com.grade.rapidjavadevelopment.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DailyGradeBucketsTest {
+
+    private static final long TODAY = 20_000;
+
+    @Test
+    void window_shouldOnlySumDaysInsideWindow() {
+        DailyGradeBuckets buckets = new DailyGradeBuckets(90);
+        buckets.add(TODAY, 2, 170.0);
+        buckets.add(TODAY - 6, 1, 60.0);
+        buckets.add(TODAY - 20, 1, 40.0);
+
+        assertThat(buckets.window(TODAY, 7)).isEqualTo(new DailyGradeBuckets.Totals(3, 230.0));
+        assertThat(buckets.window(TODAY, 30)).isEqualTo(new DailyGradeBuckets.Totals(4, 270.0));
+        assertThat(buckets.window(TODAY, 1)).isEqualTo(new DailyGradeBuckets.Totals(2, 170.0));
+    }
+
+    @Test
+    void window_shouldIgnoreSlotsFromPreviousCycle() {
+        DailyGradeBuckets buckets = new DailyGradeBuckets(7);
+        buckets.add(TODAY - 7, 1, 50.0);
+
+        assertThat(buckets.window(TODAY, 7).count()).isZero();
+    }
+
+    @Test
+    void add_shouldReuseSlotForNewerDay() {
+        DailyGradeBuckets buckets = new DailyGradeBuckets(7);
+        buckets.add(TODAY - 7, 1, 50.0);
+
+        buckets.add(TODAY, 1, 90.0);
+
+        assertThat(buckets.window(TODAY, 7)).isEqualTo(new DailyGradeBuckets.Totals(1, 90.0));
+    }
+
+    @Test
+    void add_withDayOlderThanSlot_shouldBeIgnored() {
+        DailyGradeBuckets buckets = new DailyGradeBuckets(7);
+        buckets.add(TODAY, 1, 90.0);
+
+        buckets.add(TODAY - 7, 1, 50.0);
+
+        assertThat(buckets.window(TODAY, 7)).isEqualTo(new DailyGradeBuckets.Totals(1, 90.0));
+    }
+
+    @Test
+    void remove_shouldUndoAdd() {
+        DailyGradeBuckets buckets = new DailyGradeBuckets(30);
+        buckets.add(TODAY - 2, 1, 80.0);
+        buckets.add(TODAY - 2, 1, 60.0);
+
+        buckets.remove(TODAY - 2, 80.0);
+
+        assertThat(buckets.window(TODAY, 7)).isEqualTo(new DailyGradeBuckets.Totals(1, 60.0));
+    }
+
+    @Test
+    void window_longerThanCapacity_shouldBeCapped() {
+        DailyGradeBuckets buckets = new DailyGradeBuckets(7);
+        buckets.add(TODAY, 1, 90.0);
+
+        assertThat(buckets.window(TODAY, 365).count()).isEqualTo(1);
+    }
+
+    @Test
+    void constructor_withoutDays_shouldThrowException() {
+        assertThatThrownBy(() -> new DailyGradeBuckets(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void merge_shouldAddTheOtherBucketsDays() {
+        DailyGradeBuckets buckets = new DailyGradeBuckets(7);
+        buckets.add(TODAY, 1, 80.0);
+        DailyGradeBuckets other = new DailyGradeBuckets(7);
+        other.add(TODAY, 2, 150.0);
+        other.add(TODAY - 3, 1, 60.0);
+
+        buckets.merge(other);
+
+        assertThat(buckets.window(TODAY, 1)).isEqualTo(new DailyGradeBuckets.Totals(3, 230.0));
+        assertThat(buckets.window(TODAY, 7)).isEqualTo(new DailyGradeBuckets.Totals(4, 290.0));
+        assertThatThrownBy(() -> buckets.merge(new DailyGradeBuckets(30)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
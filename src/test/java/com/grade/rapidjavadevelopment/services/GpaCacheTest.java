@@ -0,0 +1,122 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
+import com.grade.rapidjavadevelopment.models.GradeRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GpaCacheTest {
+
+    private GpaCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GpaCache();
+        loads = new AtomicInteger();
+    }
+
+    private GpaCache.Totals load(double weightedSum, long credits) {
+        loads.incrementAndGet();
+        return new GpaCache.Totals(weightedSum, credits);
+    }
+
+    @Test
+    void get_shouldLoadOnceUntilEvicted() {
+        cache.get(1L, () -> load(240.0, 3));
+        assertThat(cache.get(1L, () -> load(0.0, 0)).getGpa()).isEqualTo(80.0);
+
+        cache.evict(1L);
+
+        assertThat(cache.get(1L, () -> load(360.0, 5)).getGpa()).isEqualTo(72.0);
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void get_whenStudentChangesDuringLoad_shouldNotCacheStaleTotals() {
+        cache.get(1L, () -> {
+            cache.evict(1L);
+            return load(240.0, 3);
+        });
+
+        cache.get(1L, () -> load(360.0, 5));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_whenAnotherStudentChangesDuringLoad_shouldStillCache() {
+        cache.get(1L, () -> {
+            cache.evict(2L);
+            return load(240.0, 3);
+        });
+
+        cache.get(1L, () -> load(0.0, 0));
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void get_whenEverythingIsEvictedDuringLoad_shouldNotCache() {
+        cache.get(1L, () -> {
+            cache.evictAll();
+            return load(240.0, 3);
+        });
+
+        cache.get(1L, () -> load(240.0, 3));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_whenFull_shouldStayWithinMaxSize() {
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+
+        for (long studentId = 1; studentId <= 5; studentId++) {
+            cache.get(studentId, () -> load(80.0, 1));
+        }
+
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void onGradeBatchChanged_shouldEvictEveryStudentInTheBatch() {
+        cache.get(1L, () -> load(240.0, 3));
+        cache.get(2L, () -> load(160.0, 2));
+        cache.get(3L, () -> load(90.0, 1));
+
+        cache.onGradeBatchChanged(GradeBatchChangedEvent.removed(List.of(
+                new GradeRow(10L, 1L, 7L, 3, 80.0, null),
+                new GradeRow(11L, 2L, 7L, 3, 80.0, null))));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get(3L, () -> load(0.0, 0)).getGpa()).isEqualTo(90.0);
+    }
+
+    @Test
+    void bindTo_shouldRegisterMetrics() {
+        ReflectionTestUtils.setField(cache, "maxSize", 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.get(1L, () -> load(80.0, 1));
+        cache.get(2L, () -> load(80.0, 1));
+        cache.evict(2L);
+
+        assertThat(registry.get("gpa.cache.requests").tag("result", "miss").functionCounter().count())
+                .isEqualTo(2.0);
+        assertThat(registry.get("gpa.cache.evictions").tag("cause", "size").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("gpa.cache.evictions").tag("cause", "explicit").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("gpa.cache.size").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,232 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
+import com.grade.rapidjavadevelopment.events.GradeChangedEvent;
+import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeRow;
+import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GradeColumnStoreTest {
+
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @InjectMocks
+    private GradeColumnStore store;
+
+    private Course course;
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(store, "loadPageSize", 2);
+
+        course = new Course();
+        course.setId(10L);
+        course.setCredits(3);
+
+        student = new User();
+        student.setId(1L);
+    }
+
+    private static GradeRow row(long gradeId, long studentId, long courseId, int credits, double value) {
+        return new GradeRow(gradeId, studentId, courseId, credits, value, LocalDateTime.of(2024, 3, 1, 12, 0));
+    }
+
+    private Grade grade(long id, double value) {
+        Grade grade = new Grade();
+        grade.setId(id);
+        grade.setGrade(value);
+        grade.setCourse(course);
+        grade.setStudent(student);
+        grade.setCreatedAt(LocalDateTime.of(2024, 3, 2, 9, 0));
+        return grade;
+    }
+
+    @Test
+    void load_shouldReadAllPagesByKeyset() {
+        when(gradeRepository.findGradeRowsAfter(eq(Long.MIN_VALUE), any(Pageable.class)))
+                .thenReturn(Arrays.asList(row(1, 1, 10, 3, 90.0), row(2, 1, 20, 4, 80.0)));
+        when(gradeRepository.findGradeRowsAfter(eq(2L), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(row(3, 2, 10, 3, 70.0)));
+
+        store.load();
+
+        assertThat(store.isReady()).isTrue();
+        assertThat(store.getRowCount()).isEqualTo(3);
+        GpaCache.Totals totals = store.studentTotals(1L);
+        assertThat(totals.getTotalCredits()).isEqualTo(7);
+        assertThat(totals.getGpa()).isEqualTo((90.0 * 3 + 80.0 * 4) / 7);
+    }
+
+    @Test
+    void load_whenRepositoryFails_shouldStayNotReady() {
+        when(gradeRepository.findGradeRowsAfter(any(), any(Pageable.class)))
+                .thenThrow(new RuntimeException("Connection refused"));
+
+        store.load();
+
+        assertThat(store.isReady()).isFalse();
+    }
+
+    @Test
+    void load_shouldNotResurrectGradesRemovedWhileLoading() {
+        when(gradeRepository.findGradeRowsAfter(eq(Long.MIN_VALUE), any(Pageable.class))).thenAnswer(invocation -> {
+            store.onGradeChanged(GradeChangedEvent.removed(grade(1, 90.0)));
+            return Collections.singletonList(row(1, 1, 10, 3, 90.0));
+        });
+
+        store.load();
+
+        assertThat(store.getRowCount()).isZero();
+    }
+
+    @Test
+    void onGradeChanged_shouldApplyAddsUpdatesAndRemovals() {
+        store.onGradeChanged(GradeChangedEvent.added(grade(1, 90.0)));
+        store.onGradeChanged(GradeChangedEvent.added(grade(2, 70.0)));
+
+        Grade updated = grade(2, 50.0);
+        store.onGradeChanged(GradeChangedEvent.updated(updated));
+        assertThat(store.studentTotals(1L).getGpa()).isEqualTo(70.0);
+
+        store.onGradeChanged(GradeChangedEvent.removed(grade(1, 90.0)));
+
+        assertThat(store.getRowCount()).isEqualTo(1);
+        assertThat(store.studentTotals(1L).getGpa()).isEqualTo(50.0);
+        verifyNoInteractions(gradeRepository);
+    }
+
+    @Test
+    void onGradeChanged_whenGradeMovesToAnotherStudent_shouldMoveItsTotals() {
+        store.onGradeChanged(GradeChangedEvent.added(grade(1, 90.0)));
+        store.onGradeChanged(GradeChangedEvent.added(grade(2, 70.0)));
+
+        User other = new User();
+        other.setId(2L);
+        Grade moved = grade(2, 70.0);
+        moved.setStudent(other);
+        store.onGradeChanged(GradeChangedEvent.updated(moved));
+
+        assertThat(store.getRowCount()).isEqualTo(2);
+        assertThat(store.studentTotals(1L).getGpa()).isEqualTo(90.0);
+        assertThat(store.studentTotals(2L).getGpa()).isEqualTo(70.0);
+        assertThat(store.studentTotals(3L).getTotalCredits()).isZero();
+    }
+
+    @Test
+    void onGradeBatchChanged_shouldApplyEveryChange() {
+        store.onGradeBatchChanged(GradeBatchChangedEvent.added(List.of(grade(1, 90.0), grade(2, 70.0), grade(3, 50.0))));
+
+        assertThat(store.getRowCount()).isEqualTo(3);
+        assertThat(store.studentTotals(1L).getGpa()).isEqualTo(70.0);
+    }
+
+    @Test
+    void updateCredits_shouldRewriteCourseRows() {
+        store.onGradeChanged(GradeChangedEvent.added(grade(1, 90.0)));
+
+        store.updateCredits(10L, 6);
+
+        assertThat(store.studentTotals(1L).getTotalCredits()).isEqualTo(6);
+    }
+
+    @Test
+    void scan_shouldVisitLiveRowsWithDenseCourseCodes() {
+        store.onGradeChanged(GradeChangedEvent.added(grade(1, 90.0)));
+        Course other = new Course();
+        other.setId(99L);
+        other.setCredits(2);
+        Grade otherGrade = grade(2, 60.0);
+        otherGrade.setCourse(other);
+        store.onGradeChanged(GradeChangedEvent.added(otherGrade));
+        store.onGradeChanged(GradeChangedEvent.added(grade(3, 80.0)));
+        store.onGradeChanged(GradeChangedEvent.removed(grade(3, 80.0)));
+
+        double[] sums = new double[2];
+        int courseCodes = store.scan((courseCode, studentId, value, credits, createdAt) -> sums[courseCode] += value);
+
+        assertThat(courseCodes).isEqualTo(2);
+        assertThat(store.courseIdForCode(0)).isEqualTo(10L);
+        assertThat(store.courseIdForCode(1)).isEqualTo(99L);
+        assertThat(sums).containsExactly(90.0, 60.0);
+    }
+
+    @Test
+    void scanPartitioned_shouldVisitEveryLiveRowOnce() {
+        double expected = 0;
+        for (long id = 1; id <= 100; id++) {
+            store.onGradeChanged(GradeChangedEvent.added(grade(id, id)));
+            expected += id;
+        }
+        store.onGradeChanged(GradeChangedEvent.removed(grade(50, 50)));
+        expected -= 50;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<double[]> partitions = new ArrayList<>();
+            List<GradeColumnStore.RowVisitor> visitors = store.scanPartitioned(executor, 3, () -> {
+                double[] sum = new double[1];
+                synchronized (partitions) {
+                    partitions.add(sum);
+                }
+                return (courseCode, studentId, value, credits, createdAt) -> sum[0] += value;
+            });
+
+            assertThat(visitors).hasSize(3);
+            assertThat(partitions.stream().mapToDouble(sum -> sum[0]).sum()).isEqualTo(expected);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void remove_shouldCompactWhenMostRowsAreDead() {
+        List<Grade> grades = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            Grade grade = grade(id, 50.0 + id % 50);
+            grades.add(grade);
+            store.onGradeChanged(GradeChangedEvent.added(grade));
+        }
+        for (int i = 0; i < 2000; i++) {
+            store.onGradeChanged(GradeChangedEvent.removed(grades.get(i)));
+        }
+
+        Integer size = (Integer) ReflectionTestUtils.getField(store, "size");
+        assertThat(store.getRowCount()).isEqualTo(1000);
+        assertThat(size).isLessThan(3000);
+
+        store.onGradeChanged(GradeChangedEvent.removed(grades.get(2999)));
+        assertThat(store.getRowCount()).isEqualTo(999);
+        double[] total = new double[1];
+        store.scan((courseCode, studentId, value, credits, createdAt) -> total[0] += value);
+        double expected = grades.subList(2000, 2999).stream().mapToDouble(Grade::getGrade).sum();
+        assertThat(total[0]).isEqualTo(expected);
+        assertThat(store.studentTotals(1L).getTotalCredits()).isEqualTo(999L * 3);
+        assertThat(store.studentTotals(1L).getGpa()).isCloseTo(expected / 999, within(1e-9));
+    }
+}
@@ -0,0 +1,130 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.Role;
+import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.repositories.CourseRepository;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import com.grade.rapidjavadevelopment.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Deletes commit for real so the after-commit listeners see them. The column store outlives each
+// test's rows, so row counts are compared before and after.
+@DataJpaTest(properties = "analytics.column-store.enabled=true")
+@ActiveProfiles("test")
+@Import({CourseService.class, GradeService.class, UserService.class, GpaCache.class, GradeColumnStore.class,
+        TokenVersionRegistry.class, UserDetailsCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GradeDeletionTest {
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private GradeService gradeService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private GradeColumnStore gradeColumnStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    private User student;
+    private Course kept;
+    private Course deleted;
+
+    @BeforeEach
+    void setUp() {
+        student = persistStudent("student");
+        kept = persistCourse("KEEP101", 4);
+        deleted = persistCourse("DROP101", 2);
+        persistGrade(student, kept, 90.0);
+        persistGrade(student, deleted, 60.0);
+        gradeColumnStore.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        gradeRepository.deleteAll();
+        courseRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private User persistStudent(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setRole(Role.ROLE_USER);
+        return userRepository.save(user);
+    }
+
+    private Course persistCourse(String code, int credits) {
+        Course course = new Course();
+        course.setCourseName(code);
+        course.setCourseCode(code);
+        course.setCredits(credits);
+        return courseRepository.save(course);
+    }
+
+    private void persistGrade(User student, Course course, double value) {
+        Grade grade = new Grade();
+        grade.setStudent(student);
+        grade.setCourse(course);
+        grade.setGrade(value);
+        grade.setCreatedAt(LocalDateTime.now());
+        gradeRepository.save(grade);
+    }
+
+    @Test
+    void deleteCourse_shouldDropItsGradesFromTheGpa() {
+        int rowsBefore = gradeColumnStore.getRowCount();
+        assertThat(gradeService.calculateGPA(student)).isEqualTo(80.0);
+
+        courseService.deleteCourse(deleted.getId());
+
+        assertThat(gradeRepository.count()).isEqualTo(1);
+        assertThat(gradeColumnStore.getRowCount()).isEqualTo(rowsBefore - 1);
+        assertThat(gradeService.calculateGPA(student)).isEqualTo(90.0);
+    }
+
+    @Test
+    void deleteUser_shouldDeleteTheirGradesAndDropThemFromTheStore() {
+        User other = persistStudent("other");
+        persistGrade(other, kept, 70.0);
+        gradeColumnStore.load();
+        int rowsBefore = gradeColumnStore.getRowCount();
+
+        userService.deleteUser(other.getId());
+
+        assertThat(userRepository.findById(other.getId())).isEmpty();
+        assertThat(gradeRepository.count()).isEqualTo(2);
+        assertThat(gradeColumnStore.getRowCount()).isEqualTo(rowsBefore - 1);
+        assertThat(gradeService.calculateGPA(student)).isEqualTo(80.0);
+    }
+}
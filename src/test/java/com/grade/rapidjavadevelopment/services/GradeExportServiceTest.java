@@ -0,0 +1,112 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.grade.rapidjavadevelopment.models.GradeExportRow;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GradeExportServiceTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 6, 1, 10, 0);
+
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @InjectMocks
+    private GradeExportService gradeExportService;
+
+    @SuppressWarnings("unchecked")
+    private void repositoryReturns(GradeExportRow... rows) {
+        when(gradeRepository.exportRows(any(), any(), anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<GradeExportRow> consumer = invocation.getArgument(3);
+            for (GradeExportRow row : rows) {
+                consumer.accept(row);
+            }
+            return (long) rows.length;
+        });
+    }
+
+    @Test
+    void export_csv_shouldWriteHeaderAndQuoteWhereNeeded() throws IOException {
+        repositoryReturns(
+                new GradeExportRow(1L, "alice", "CS101", 85.5, CREATED, CREATED, 7L, 3L),
+                new GradeExportRow(2L, "o\"brien, jr", "MA 201", 70.0, null, null, 8L, 4L));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        long rows = gradeExportService.export(3L, null, GradeExportService.FORMAT_CSV, output);
+
+        assertThat(rows).isEqualTo(2);
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo(GradeExportService.CSV_HEADER
+                + "1,alice,CS101,85.5,2024-06-01T10:00,2024-06-01T10:00,7,3\n"
+                + "2,\"o\"\"brien, jr\",MA 201,70.0,,,8,4\n");
+        verify(gradeRepository).exportRows(eq(3L), isNull(), eq(1000), any());
+    }
+
+    @Test
+    void export_ndjson_shouldWriteOneObjectPerLine() throws IOException {
+        repositoryReturns(new GradeExportRow(1L, "alice", "CS101", 85.5, CREATED, null, 7L, 3L));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        gradeExportService.export(null, 7L, GradeExportService.FORMAT_NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(1);
+        assertThat(objectMapper.readTree(lines[0]).get("username").asText()).isEqualTo("alice");
+        assertThat(objectMapper.readTree(lines[0]).get("createdAt").asText()).isEqualTo("2024-06-01T10:00:00");
+    }
+
+    @Test
+    void export_whenTheClientGoesAway_shouldRethrowTheIoException() {
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+        // Large enough to overflow the writer's buffer while rows are still being read.
+        when(gradeRepository.exportRows(any(), any(), anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<GradeExportRow> consumer = invocation.getArgument(3);
+            for (int i = 0; i < 10_000; i++) {
+                consumer.accept(new GradeExportRow((long) i, "alice", "CS101", 85.5, CREATED, null, 7L, 3L));
+            }
+            return 10_000L;
+        });
+
+        assertThatThrownBy(() -> gradeExportService.export(null, null, GradeExportService.FORMAT_CSV, broken))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+    }
+
+    @Test
+    void export_withUnknownFormat_shouldBeRejected() {
+        assertThatThrownBy(() -> gradeExportService.export(null, null, "xlsx", new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(gradeRepository);
+    }
+}
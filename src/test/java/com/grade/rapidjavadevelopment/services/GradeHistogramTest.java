@@ -0,0 +1,95 @@
+package com.grade.rapidjavadevelopment.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class GradeHistogramTest {
+
+    @Test
+    void quantile_withUniformValues_shouldStayWithinOneBucket() {
+        GradeHistogram histogram = new GradeHistogram(0, 100, 100);
+        for (int value = 0; value < 100; value++) {
+            histogram.add(value + 0.5);
+        }
+
+        assertThat(histogram.quantile(0.5)).isCloseTo(50.0, within(1.0));
+        assertThat(histogram.quantile(0.1)).isCloseTo(10.0, within(1.0));
+        assertThat(histogram.quantile(0.9)).isCloseTo(90.0, within(1.0));
+    }
+
+    @Test
+    void quantile_whenEmpty_shouldReturnNaN() {
+        GradeHistogram histogram = new GradeHistogram(0, 100, 10);
+
+        assertThat(histogram.quantile(0.5)).isNaN();
+        assertThat(histogram.lowestValue()).isNaN();
+    }
+
+    @Test
+    void add_withValuesOutsideRange_shouldClampToEdgeBuckets() {
+        GradeHistogram histogram = new GradeHistogram(0, 100, 10);
+
+        histogram.add(-5.0);
+        histogram.add(100.0);
+        histogram.add(250.0);
+
+        assertThat(histogram.countAt(0)).isEqualTo(1);
+        assertThat(histogram.countAt(9)).isEqualTo(2);
+        assertThat(histogram.getTotalCount()).isEqualTo(3);
+    }
+
+    @Test
+    void remove_shouldUndoAdd() {
+        GradeHistogram histogram = new GradeHistogram(0, 100, 10);
+        histogram.add(42.0);
+        histogram.add(87.0);
+
+        histogram.remove(87.0);
+
+        assertThat(histogram.getTotalCount()).isEqualTo(1);
+        assertThat(histogram.countAt(8)).isZero();
+        assertThat(histogram.highestValue()).isEqualTo(50.0);
+    }
+
+    @Test
+    void remove_fromEmptyBucket_shouldBeIgnored() {
+        GradeHistogram histogram = new GradeHistogram(0, 100, 10);
+
+        histogram.remove(42.0);
+
+        assertThat(histogram.getTotalCount()).isZero();
+    }
+
+    @Test
+    void merge_shouldMatchOneHistogramBuiltFromAllValues() {
+        GradeHistogram whole = new GradeHistogram(0, 100, 20);
+        GradeHistogram first = new GradeHistogram(0, 100, 20);
+        GradeHistogram second = new GradeHistogram(0, 100, 20);
+        for (int i = 0; i < 500; i++) {
+            double value = (i * 37) % 113 - 5.5;
+            whole.add(value);
+            (i % 3 == 0 ? first : second).add(value);
+        }
+
+        first.merge(second);
+
+        assertThat(first.getTotalCount()).isEqualTo(whole.getTotalCount());
+        for (int i = 0; i < whole.size(); i++) {
+            assertThat(first.countAt(i)).isEqualTo(whole.countAt(i));
+        }
+        assertThat(first.quantile(0.5)).isEqualTo(whole.quantile(0.5));
+    }
+
+    @Test
+    void merge_withDifferentLayout_shouldThrowException() {
+        GradeHistogram histogram = new GradeHistogram(0, 100, 10);
+
+        assertThatThrownBy(() -> histogram.merge(new GradeHistogram(0, 100, 20)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> histogram.merge(new GradeHistogram(0, 10, 10)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
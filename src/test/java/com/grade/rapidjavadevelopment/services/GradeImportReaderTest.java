@@ -0,0 +1,91 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grade.rapidjavadevelopment.models.GradeImportRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GradeImportReaderTest {
+
+    private static List<GradeImportRow> readAll(String content, String format) throws IOException {
+        List<GradeImportRow> rows = new ArrayList<>();
+        try (GradeImportReader reader = new GradeImportReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, new ObjectMapper())) {
+            GradeImportRow row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void csv_shouldMapColumnsByHeaderNameAndNumberLines() throws IOException {
+        List<GradeImportRow> rows = readAll("\uFEFFGrade,CourseCode,Username,CreatedAt\n"
+                + "85.5,CS101,alice,2024-06-01T10:00\n"
+                + "\n"
+                + "\"70\",\"MA, 201\",bob,\n", GradeImportService.FORMAT_CSV);
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getLine()).isEqualTo(2);
+        assertThat(rows.get(0).getUsername()).isEqualTo("alice");
+        assertThat(rows.get(0).getGrade()).isEqualTo(85.5);
+        assertThat(rows.get(0).getCreatedAt()).isEqualTo(LocalDateTime.of(2024, 6, 1, 10, 0));
+        assertThat(rows.get(1).getLine()).isEqualTo(4);
+        assertThat(rows.get(1).getCourseCode()).isEqualTo("MA, 201");
+        assertThat(rows.get(1).getCreatedAt()).isNull();
+        assertThat(rows).extracting(GradeImportRow::getError).containsOnlyNulls();
+    }
+
+    @Test
+    void csv_shouldReportBadRowsAndKeepReading() throws IOException {
+        List<GradeImportRow> rows = readAll("username,courseCode,grade,createdAt\n"
+                + "alice,CS101,abc\n"
+                + ",CS101,50\n"
+                + "alice,CS101,NaN\n"
+                + "alice,CS101,50,yesterday\n"
+                + "alice,CS101,\"5\"\"0\"\n"
+                + "alice,CS101,50\n", GradeImportService.FORMAT_CSV);
+
+        assertThat(rows).extracting(GradeImportRow::getError).containsExactly(
+                "Invalid grade: abc", "Missing username", "Invalid grade: NaN", "Invalid createdAt: yesterday",
+                "Invalid grade: 5\"0", null);
+    }
+
+    @Test
+    void csv_withoutRequiredColumns_shouldBeRejected() {
+        assertThatThrownBy(() -> readAll("username,grade\nalice,50\n", GradeImportService.FORMAT_CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> readAll("", GradeImportService.FORMAT_CSV))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ndjson_shouldAcceptNumbersOrStringsAndReportMalformedLines() throws IOException {
+        List<GradeImportRow> rows = readAll("{\"username\":\"alice\",\"courseCode\":\"CS101\",\"grade\":91}\n"
+                + "{\"username\":\"bob\",\"courseCode\":\"CS101\",\"grade\":\"64.5\",\"createdAt\":\"2024-06-01T10:00:00\"}\n"
+                + "{\"username\":\"carol\"\n"
+                + "[1,2]\n"
+                + "{\"username\":\"dave\",\"grade\":70}\n", GradeImportService.FORMAT_NDJSON);
+
+        assertThat(rows).extracting(GradeImportRow::getError).containsExactly(
+                null, null, "Malformed JSON", "Expected a JSON object", "Missing courseCode");
+        assertThat(rows.get(0).getGrade()).isEqualTo(91.0);
+        assertThat(rows.get(1).getGrade()).isEqualTo(64.5);
+        assertThat(rows.get(1).getCreatedAt()).isEqualTo(LocalDateTime.of(2024, 6, 1, 10, 0));
+    }
+
+    @Test
+    void unknownFormat_shouldBeRejected() {
+        assertThatThrownBy(() -> readAll("", "xlsx")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
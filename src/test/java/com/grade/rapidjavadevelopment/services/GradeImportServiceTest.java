@@ -0,0 +1,110 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grade.rapidjavadevelopment.models.GradeImportError;
+import com.grade.rapidjavadevelopment.models.GradeImportReport;
+import com.grade.rapidjavadevelopment.models.GradeImportRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GradeImportServiceTest {
+
+    @Mock
+    private GradeImportWriter gradeImportWriter;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private GradeImportService gradeImportService;
+
+    private final List<List<Long>> writtenLines = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(gradeImportService, "chunkSize", 2);
+    }
+
+    private static ByteArrayInputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writerAcceptsEverything() {
+        when(gradeImportWriter.write(anyList())).thenAnswer(invocation -> {
+            List<GradeImportRow> rows = invocation.getArgument(0);
+            writtenLines.add(rows.stream().map(GradeImportRow::getLine).toList());
+            return new GradeImportWriter.ChunkResult(rows.size(), List.of());
+        });
+    }
+
+    @Test
+    void importGrades_shouldWriteInChunks() throws IOException {
+        writerAcceptsEverything();
+
+        GradeImportReport report = gradeImportService.importGrades(csv("username,courseCode,grade\n"
+                + "alice,CS101,80\nalice,CS101,81\nalice,CS101,82\n"), GradeImportService.FORMAT_CSV);
+
+        assertThat(writtenLines).containsExactly(List.of(2L, 3L), List.of(4L));
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getFailed()).isZero();
+    }
+
+    @Test
+    void importGrades_shouldReportParseAndLookupErrorsByLine() throws IOException {
+        when(gradeImportWriter.write(anyList())).thenReturn(new GradeImportWriter.ChunkResult(1,
+                List.of(new GradeImportError(4, "Unknown student: bob"))));
+
+        GradeImportReport report = gradeImportService.importGrades(csv("username,courseCode,grade\n"
+                + "alice,CS101,oops\nalice,CS101,81\nbob,CS101,82\n"), GradeImportService.FORMAT_CSV);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(GradeImportError::getLine).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void importGrades_whenAChunkCannotBeStored_shouldFailItsRowsAndContinue() throws IOException {
+        when(gradeImportWriter.write(anyList()))
+                .thenThrow(new DataIntegrityViolationException("constraint violated"))
+                .thenReturn(new GradeImportWriter.ChunkResult(1, List.of()));
+
+        GradeImportReport report = gradeImportService.importGrades(csv("username,courseCode,grade\n"
+                + "alice,CS101,80\nalice,CS101,81\nalice,CS101,82\n"), GradeImportService.FORMAT_CSV);
+
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).extracting(GradeImportError::getLine).containsExactly(2L, 3L);
+        assertThat(report.getErrors().get(0).getMessage()).contains("constraint violated");
+        verify(gradeImportWriter, times(2)).write(anyList());
+    }
+
+    @Test
+    void importGrades_shouldCapListedErrorsButCountAll() throws IOException {
+        ReflectionTestUtils.setField(gradeImportService, "maxReportedErrors", 2);
+
+        GradeImportReport report = gradeImportService.importGrades(csv("username,courseCode,grade\n"
+                + "a,b,x\na,b,y\na,b,z\n"), GradeImportService.FORMAT_CSV);
+
+        assertThat(report.getFailed()).isEqualTo(3);
+        assertThat(report.getErrors()).hasSize(2);
+        assertThat(report.isErrorsTruncated()).isTrue();
+        verifyNoInteractions(gradeImportWriter);
+    }
+}
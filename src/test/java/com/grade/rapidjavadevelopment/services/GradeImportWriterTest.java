@@ -0,0 +1,129 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
+import com.grade.rapidjavadevelopment.events.GradeChangedEvent;
+import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.GradeImportError;
+import com.grade.rapidjavadevelopment.models.GradeImportRow;
+import com.grade.rapidjavadevelopment.models.Role;
+import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(GradeImportWriter.class)
+@RecordApplicationEvents
+class GradeImportWriterTest {
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private GradeImportWriter gradeImportWriter;
+
+    @Autowired
+    private GradeRepository gradeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 10; i++) {
+            User student = new User();
+            student.setUsername("student" + i);
+            student.setRole(Role.ROLE_USER);
+            entityManager.persist(student);
+        }
+        persistCourse("CS101", 4);
+        persistCourse("MA201", 3);
+        persistCourse("DUP", 2);
+        persistCourse("DUP", 2);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void persistCourse(String code, int credits) {
+        Course course = new Course();
+        course.setCourseName(code);
+        course.setCourseCode(code);
+        course.setCredits(credits);
+        entityManager.persist(course);
+    }
+
+    private static GradeImportRow row(long line, String username, String courseCode) {
+        return new GradeImportRow(line, username, courseCode, 75.0, null, null);
+    }
+
+    @Test
+    void write_shouldInsertAChunkInJdbcBatches() {
+        List<GradeImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            rows.add(row(i + 2, "student" + (i % 10), i % 2 == 0 ? "CS101" : "MA201"));
+        }
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        GradeImportWriter.ChunkResult result = gradeImportWriter.write(rows);
+
+        assertThat(result.getImported()).isEqualTo(120);
+        assertThat(applicationEvents.stream(GradeBatchChangedEvent.class)).singleElement()
+                .satisfies(event -> assertThat(event.getChanges())
+                        .extracting(GradeChangedEvent::getStudentId).doesNotContainNull().hasSize(120));
+        assertThat(gradeRepository.count()).isEqualTo(120);
+        // Two lookups, a few sequence calls and a handful of insert batches instead of 120 inserts.
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(15);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+    }
+
+    @Test
+    void write_shouldPublishOneEventForTheChunk() {
+        List<GradeImportRow> rows = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            rows.add(row(i + 2, "student" + (i % 10), "CS101"));
+        }
+
+        gradeImportWriter.write(rows);
+
+        assertThat(applicationEvents.stream(GradeChangedEvent.class)).isEmpty();
+        assertThat(applicationEvents.stream(GradeBatchChangedEvent.class)).singleElement()
+                .satisfies(event -> assertThat(event.getChanges()).hasSize(20)
+                        .allSatisfy(change -> assertThat(change.getType()).isEqualTo(GradeChangedEvent.Type.ADDED)));
+    }
+
+    @Test
+    void write_shouldRejectRowsThatDoNotResolve() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 6, 1, 10, 0);
+        GradeImportWriter.ChunkResult result = gradeImportWriter.write(List.of(
+                new GradeImportRow(2, "student1", "CS101", 90.0, createdAt, null),
+                row(3, "nobody", "CS101"),
+                row(4, "student1", "XX999"),
+                row(5, "student1", "DUP")));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getRejected()).extracting(GradeImportError::getLine).containsExactly(3L, 4L, 5L);
+        assertThat(result.getRejected()).extracting(GradeImportError::getMessage).containsExactly(
+                "Unknown student: nobody", "Unknown course: XX999", "Course code matches more than one course: DUP");
+        assertThat(gradeRepository.findAll()).singleElement()
+                .satisfies(grade -> assertThat(grade.getCreatedAt()).isEqualTo(createdAt));
+    }
+}
@@ -1,9 +1,15 @@
 package com.grade.rapidjavadevelopment.services;
 
+import com.grade.rapidjavadevelopment.events.GradeChangedEvent;
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseGpa;
+import com.grade.rapidjavadevelopment.models.CourseGradeAggregate;
+import com.grade.rapidjavadevelopment.models.CursorPage;
 import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeSummary;
 import com.grade.rapidjavadevelopment.models.User;
 import com.grade.rapidjavadevelopment.repositories.GradeRepository;
+import com.grade.rapidjavadevelopment.utils.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,7 +17,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -36,12 +45,24 @@ class GradeServiceTest {
     @Mock
     private CourseService courseService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private GpaCache gpaCache = new GpaCache();
+
+    @Mock
+    private GradeColumnStore gradeColumnStore;
+
     @InjectMocks
     private GradeService gradeService;
 
     @Captor
     private ArgumentCaptor<Grade> gradeCaptor;
 
+    @Captor
+    private ArgumentCaptor<GradeChangedEvent> eventCaptor;
+
     private User testUser;
     private Course testCourse;
     private Grade testGrade;
@@ -136,6 +157,32 @@ class GradeServiceTest {
         assertThat(savedGrade.getUpdatedAt()).isAfter(originalCreatedAt);
     }
 
+    @Test
+    void saveGrade_withNewGrade_shouldPublishAddedEvent() {
+        Grade newGrade = new Grade();
+        newGrade.setGrade(90.0);
+        newGrade.setCourse(testCourse);
+        when(gradeRepository.save(any(Grade.class))).thenReturn(newGrade);
+
+        gradeService.saveGrade(newGrade);
+
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        GradeChangedEvent event = eventCaptor.getValue();
+        assertThat(event.getType()).isEqualTo(GradeChangedEvent.Type.ADDED);
+        assertThat(event.getCourseId()).isEqualTo(1L);
+        assertThat(event.getValue()).isEqualTo(90.0);
+    }
+
+    @Test
+    void saveGrade_withExistingGrade_shouldPublishUpdatedEvent() {
+        when(gradeRepository.save(any(Grade.class))).thenReturn(testGrade);
+
+        gradeService.saveGrade(testGrade);
+
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(GradeChangedEvent.Type.UPDATED);
+    }
+
     @Test
     void addGrade_shouldCreateNewGrade() {
         when(userService.getUserById(1L)).thenReturn(testUser);
@@ -164,6 +211,11 @@ class GradeServiceTest {
         gradeService.deleteGrade(1L);
 
         verify(gradeRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        GradeChangedEvent event = eventCaptor.getValue();
+        assertThat(event.getType()).isEqualTo(GradeChangedEvent.Type.REMOVED);
+        assertThat(event.getCourseId()).isEqualTo(1L);
+        assertThat(event.getValue()).isEqualTo(85.0);
     }
 
     @Test
@@ -266,4 +318,162 @@ class GradeServiceTest {
         assertThat(result).hasSize(1);
         verify(gradeRepository).findByCourse(testCourse);
     }
+
+    @Test
+    void getCourseGradeAggregates_shouldDelegateToAggregateQuery() {
+        CourseGradeAggregate aggregate = new CourseGradeAggregate(1L, 2L, 170.0, 85.0, 80.0, 90.0);
+        when(gradeRepository.aggregateGradesByCourse()).thenReturn(Arrays.asList(aggregate));
+
+        List<CourseGradeAggregate> result = gradeService.getCourseGradeAggregates();
+
+        assertThat(result).containsExactly(aggregate);
+        verify(gradeRepository, never()).findByCourse(any());
+    }
+
+    @Test
+    void getCourseGradeAggregate_shouldReturnSingleCourseAggregate() {
+        CourseGradeAggregate aggregate = new CourseGradeAggregate(1L, 2L, 170.0, 85.0, 80.0, 90.0);
+        when(gradeRepository.aggregateGradesForCourse(1L)).thenReturn(Optional.of(aggregate));
+
+        assertThat(gradeService.getCourseGradeAggregate(1L)).contains(aggregate);
+    }
+
+    @Test
+    void calculateGPA_calledTwice_shouldLoadGradesOnce() {
+        when(gradeRepository.findByStudent(testUser)).thenReturn(Arrays.asList(testGrade));
+
+        gradeService.calculateGPA(testUser);
+        double gpa = gradeService.calculateGPA(testUser);
+
+        assertThat(gpa).isEqualTo(85.0);
+        verify(gradeRepository, times(1)).findByStudent(testUser);
+        assertThat(gpaCache.getMissCount()).isEqualTo(1);
+        assertThat(gpaCache.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void calculateGPA_afterAddGrade_shouldReloadTotals() {
+        when(gradeRepository.findByStudent(testUser)).thenReturn(Arrays.asList(testGrade));
+        gradeService.calculateGPA(testUser);
+
+        Course fourCredits = new Course();
+        fourCredits.setId(2L);
+        fourCredits.setCredits(4);
+        when(userService.getUserById(1L)).thenReturn(testUser);
+        when(courseService.getCourseById(2L)).thenReturn(fourCredits);
+        when(gradeRepository.save(any(Grade.class))).thenAnswer(invocation -> {
+            Grade saved = invocation.getArgument(0);
+            when(gradeRepository.findByStudent(testUser)).thenReturn(Arrays.asList(testGrade, saved));
+            return saved;
+        });
+        gradeService.addGrade(1L, 2L, 78.0);
+
+        double gpa = gradeService.calculateGPA(testUser);
+
+        assertThat(gpa).isEqualTo((85.0 * 3 + 78.0 * 4) / 7);
+        verify(gradeRepository, times(2)).findByStudent(testUser);
+    }
+
+    @Test
+    void calculateGPA_loadedBetweenCommitAndEviction_shouldNotCountTheNewGradeTwice() {
+        Course fourCredits = new Course();
+        fourCredits.setId(2L);
+        fourCredits.setCredits(4);
+        when(userService.getUserById(1L)).thenReturn(testUser);
+        when(courseService.getCourseById(2L)).thenReturn(fourCredits);
+        when(gradeRepository.save(any(Grade.class))).thenAnswer(invocation -> {
+            Grade saved = invocation.getArgument(0);
+            when(gradeRepository.findByStudent(testUser)).thenReturn(Arrays.asList(testGrade, saved));
+            return saved;
+        });
+        // The save has committed by the time the event goes out, so this load already sees the new grade.
+        doAnswer(invocation -> gradeService.calculateGPA(testUser)).when(eventPublisher).publishEvent(any(GradeChangedEvent.class));
+
+        gradeService.addGrade(1L, 2L, 78.0);
+
+        assertThat(gradeService.calculateGPA(testUser)).isEqualTo((85.0 * 3 + 78.0 * 4) / 7);
+    }
+
+    @Test
+    void calculateGPA_afterDeleteGrade_shouldReloadTotals() {
+        Grade otherGrade = new Grade();
+        otherGrade.setGrade(60.0);
+        otherGrade.setStudent(testUser);
+        otherGrade.setCourse(testCourse);
+        when(gradeRepository.findByStudent(testUser)).thenReturn(Arrays.asList(testGrade, otherGrade));
+        gradeService.calculateGPA(testUser);
+
+        when(gradeRepository.findById(1L)).thenReturn(Optional.of(testGrade));
+        gradeService.deleteGrade(1L);
+        when(gradeRepository.findByStudent(testUser)).thenReturn(Arrays.asList(otherGrade));
+
+        assertThat(gradeService.calculateGPA(testUser)).isEqualTo(60.0);
+        verify(gradeRepository, times(2)).findByStudent(testUser);
+    }
+
+    @Test
+    void saveGrade_withExistingGrade_shouldEvictStudentGpa() {
+        when(gradeRepository.findByStudent(testUser)).thenReturn(Arrays.asList(testGrade));
+        gradeService.calculateGPA(testUser);
+        when(gradeRepository.save(any(Grade.class))).thenReturn(testGrade);
+
+        gradeService.saveGrade(testGrade);
+        gradeService.calculateGPA(testUser);
+
+        verify(gpaCache).evict(1L);
+        verify(gradeRepository, times(2)).findByStudent(testUser);
+    }
+
+    @Test
+    void courseCreditsChanged_shouldEvictGradedStudents() {
+        when(gradeRepository.findStudentIdsByCourseId(1L)).thenReturn(Arrays.asList(1L, 2L));
+
+        gradeService.courseCreditsChanged(1L, 5);
+
+        verify(gradeColumnStore).updateCredits(1L, 5);
+        verify(gpaCache).evict(1L);
+        verify(gpaCache).evict(2L);
+    }
+
+    @Test
+    void calculateGPA_whenColumnStoreReady_shouldNotLoadEntities() {
+        when(gradeColumnStore.isReady()).thenReturn(true);
+        when(gradeColumnStore.studentTotals(1L)).thenReturn(new GpaCache.Totals(255.0, 3));
+
+        double gpa = gradeService.calculateGPA(testUser);
+
+        assertThat(gpa).isEqualTo(85.0);
+        verify(gradeRepository, never()).findByStudent(any());
+    }
+
+    @Test
+    void getCourseGpa_withoutGrades_shouldReturnZero() {
+        when(gradeRepository.findCourseGpa(1L, 2L)).thenReturn(Optional.empty());
+
+        CourseGpa gpa = gradeService.getCourseGpa(1L, 2L);
+
+        assertThat(gpa.getGpa()).isEqualTo(0.0);
+        assertThat(gpa.getGradeCount()).isZero();
+        assertThat(gpa.getCourseId()).isEqualTo(1L);
+    }
+
+    @Test
+    void getGradePage_newestFirst_shouldEncodeTimestampAndContinueFromIt() {
+        Course course = new Course();
+        User student = new User();
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0, 30);
+        GradeSummary newest = new GradeSummary(9L, 1L, 2L, 80.0, createdAt, createdAt);
+        GradeSummary older = new GradeSummary(3L, 1L, 2L, 70.0, null, null);
+        when(gradeRepository.findFirstPageByCourseAndStudentNewestFirst(course, student, PageRequest.of(0, 2)))
+                .thenReturn(Arrays.asList(newest, older));
+
+        CursorPage<GradeSummary> firstPage = gradeService.getGradePage(course, student, GradeService.SORT_NEWEST_FIRST, null, 1);
+        gradeService.getGradePage(course, student, GradeService.SORT_NEWEST_FIRST, firstPage.getNextCursor(), 1);
+
+        assertThat(firstPage.getItems()).containsExactly(newest);
+        assertThat(KeysetCursor.decode(firstPage.getNextCursor(), GradeService.SORT_NEWEST_FIRST).getValue())
+                .isEqualTo(createdAt.toString());
+        verify(gradeRepository).findPageByCourseAndStudentNewestFirstBefore(course, student, createdAt, 9L,
+                PageRequest.of(0, 2));
+    }
 }
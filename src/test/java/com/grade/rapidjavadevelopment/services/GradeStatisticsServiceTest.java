@@ -1,20 +1,45 @@
 package com.grade.rapidjavadevelopment.services;
 
+import com.grade.rapidjavadevelopment.events.CourseStatisticsPublishedEvent;
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
+import com.grade.rapidjavadevelopment.events.GradeChangedEvent;
 import com.grade.rapidjavadevelopment.models.Course;
+import com.grade.rapidjavadevelopment.models.CourseDistribution;
+import com.grade.rapidjavadevelopment.models.CourseGradeAggregate;
+import com.grade.rapidjavadevelopment.models.CourseStatisticsSnapshot;
+import com.grade.rapidjavadevelopment.models.CourseWindowStatistics;
+import com.grade.rapidjavadevelopment.models.GradeDailyAggregate;
 import com.grade.rapidjavadevelopment.models.Grade;
+import com.grade.rapidjavadevelopment.models.GradeValueCount;
+import com.grade.rapidjavadevelopment.models.HistogramBucket;
+import com.grade.rapidjavadevelopment.models.StatisticsRecomputeReport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,11 +51,16 @@ class GradeStatisticsServiceTest {
     @Mock
     private CourseService courseService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private GradeColumnStore gradeColumnStore;
+
     @InjectMocks
     private GradeStatisticsService statisticsService;
 
     private Course testCourse1;
-    private Course testCourse2;
     private Grade grade1;
     private Grade grade2;
 
@@ -40,10 +70,6 @@ class GradeStatisticsServiceTest {
         testCourse1.setId(1L);
         testCourse1.setCourseName("Test Course 1");
 
-        testCourse2 = new Course();
-        testCourse2.setId(2L);
-        testCourse2.setCourseName("Test Course 2");
-
         grade1 = new Grade();
         grade1.setGrade(90.0);
         grade1.setCourse(testCourse1);
@@ -53,13 +79,42 @@ class GradeStatisticsServiceTest {
         grade2.setCourse(testCourse1);
     }
 
+    @AfterEach
+    void tearDown() {
+        statisticsService.shutdown();
+    }
+
+    private void enableParallelRecompute(int partitions, int poolSize, int maxDbConnections) {
+        ReflectionTestUtils.setField(statisticsService, "parallelRecompute", true);
+        ReflectionTestUtils.setField(statisticsService, "recomputePartitions", partitions);
+        ReflectionTestUtils.setField(statisticsService, "recomputePoolSize", poolSize);
+        ReflectionTestUtils.setField(statisticsService, "recomputeMaxDbConnections", maxDbConnections);
+    }
+
+    private void stubCourseRange(List<CourseGradeAggregate> aggregates) {
+        when(courseService.getAllCourseIds()).thenReturn(aggregates.stream()
+                .map(CourseGradeAggregate::getCourseId)
+                .sorted()
+                .collect(Collectors.toList()));
+        when(gradeService.getCourseGradeAggregates(anyLong(), anyLong())).thenAnswer(invocation -> {
+            long from = invocation.getArgument(0);
+            long to = invocation.getArgument(1);
+            return aggregates.stream()
+                    .filter(aggregate -> aggregate.getCourseId() >= from && aggregate.getCourseId() <= to)
+                    .collect(Collectors.toList());
+        });
+        lenient().when(gradeService.getGradeValueCounts(anyLong(), anyLong())).thenReturn(Collections.emptyList());
+    }
+
+    private static CourseGradeAggregate aggregate(Long courseId, long count, Double sum) {
+        Double average = count > 0 ? sum / count : null;
+        return new CourseGradeAggregate(courseId, count, sum, average, null, null);
+    }
+
     @Test
     void updateCourseStatistics_shouldCalculateAveragesForAllCourses() {
-        when(courseService.getAllCourses()).thenReturn(Arrays.asList(testCourse1, testCourse2));
-        when(gradeService.getGradesByCourse(testCourse1))
-                .thenReturn(Arrays.asList(grade1, grade2));
-        when(gradeService.getGradesByCourse(testCourse2))
-                .thenReturn(Collections.emptyList());
+        when(gradeService.getCourseGradeAggregates())
+                .thenReturn(Arrays.asList(aggregate(1L, 2, 170.0), aggregate(2L, 0, null)));
 
         statisticsService.updateCourseStatistics();
 
@@ -67,28 +122,24 @@ class GradeStatisticsServiceTest {
         assertThat(statisticsService.getCourseAverage(2L)).isEqualTo(0.0);
         assertThat(statisticsService.getLastUpdateTime()).isNotNull();
 
-        verify(courseService).getAllCourses();
-        verify(gradeService).getGradesByCourse(testCourse1);
-        verify(gradeService).getGradesByCourse(testCourse2);
+        verify(gradeService).getCourseGradeAggregates();
+        verify(gradeService, never()).getGradesByCourse(any());
     }
 
     @Test
     void updateCourseStatistics_whenNoGrades_shouldSetZeroAverage() {
-        when(courseService.getAllCourses()).thenReturn(Arrays.asList(testCourse1));
-        when(gradeService.getGradesByCourse(testCourse1))
-                .thenReturn(Collections.emptyList());
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 0, null)));
 
         statisticsService.updateCourseStatistics();
 
         assertThat(statisticsService.getCourseAverage(1L)).isZero();
-        verify(courseService).getAllCourses();
-        verify(gradeService).getGradesByCourse(testCourse1);
+        assertThat(statisticsService.getCourseAverages()).containsEntry(1L, 0.0);
     }
 
     @Test
     void updateCourseStatistics_shouldUpdateLastUpdateTime() {
         LocalDateTime beforeUpdate = LocalDateTime.now();
-        when(courseService.getAllCourses()).thenReturn(Collections.emptyList());
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Collections.emptyList());
 
         statisticsService.updateCourseStatistics();
 
@@ -97,11 +148,34 @@ class GradeStatisticsServiceTest {
                 .isAfter(beforeUpdate);
     }
 
+    @Test
+    void updateCourseStatistics_shouldRecordDurationAndStaleness() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        statisticsService.bindTo(registry);
+        assertThat(registry.get("statistics.reconcile.age").gauge().value()).isNaN();
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 1, 90.0)));
+
+        statisticsService.updateCourseStatistics();
+
+        assertThat(registry.get("statistics.reconcile.duration").tag("source", "database").timer().count()).isEqualTo(1);
+        assertThat(registry.get("statistics.reconcile.age").gauge().value()).isBetween(0.0, 60.0);
+        assertThat(registry.get("statistics.courses").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    void updateCourseStatistics_shouldDropDeletedCourses() {
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 1, 90.0)));
+        statisticsService.updateCourseStatistics();
+
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Collections.emptyList());
+        statisticsService.updateCourseStatistics();
+
+        assertThat(statisticsService.getCourseAverages()).doesNotContainKey(1L);
+    }
+
     @Test
     void getCourseAverage_whenCourseExists_shouldReturnAverage() {
-        when(courseService.getAllCourses()).thenReturn(Arrays.asList(testCourse1));
-        when(gradeService.getGradesByCourse(testCourse1))
-                .thenReturn(Arrays.asList(grade1, grade2));
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 2, 170.0)));
         statisticsService.updateCourseStatistics();
 
         Double average = statisticsService.getCourseAverage(1L);
@@ -117,33 +191,434 @@ class GradeStatisticsServiceTest {
     }
 
     @Test
-    void getCourseAverages_shouldReturnCopyOfMap() {
-        when(courseService.getAllCourses()).thenReturn(Arrays.asList(testCourse1));
-        when(gradeService.getGradesByCourse(testCourse1))
-                .thenReturn(Arrays.asList(grade1, grade2));
+    void getCourseAverages_shouldBeReadOnly() {
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 2, 170.0)));
         statisticsService.updateCourseStatistics();
 
         Map<Long, Double> averages = statisticsService.getCourseAverages();
-        averages.put(3L, 100.0);
 
+        assertThatThrownBy(() -> averages.put(3L, 100.0)).isInstanceOf(UnsupportedOperationException.class);
         assertThat(statisticsService.getCourseAverage(3L)).isZero();
     }
 
     @Test
-    void updateCourseStatistics_withMultipleUpdates_shouldMaintainCorrectAverages() {
-        when(courseService.getAllCourses()).thenReturn(Arrays.asList(testCourse1));
+    void getCourseAverages_shouldNotCopyBetweenReads() {
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 2, 170.0)));
+        statisticsService.updateCourseStatistics();
+
+        assertThat(statisticsService.getCourseAverages()).isSameAs(statisticsService.getCourseAverages());
+    }
+
+    @Test
+    void getSnapshot_shouldBumpVersionOnEveryPublish() {
+        long initialVersion = statisticsService.getSnapshot().getVersion();
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 2, 170.0)));
 
-        when(gradeService.getGradesByCourse(testCourse1))
-                .thenReturn(Arrays.asList(grade1));
         statisticsService.updateCourseStatistics();
-        assertThat(statisticsService.getCourseAverage(1L)).isEqualTo(90.0);
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade1));
+
+        assertThat(statisticsService.getSnapshot().getVersion()).isEqualTo(initialVersion + 2);
+    }
+
+    @Test
+    void getSnapshot_publishedSnapshotShouldNotChangeAfterLaterWrites() {
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 2, 170.0)));
+        statisticsService.updateCourseStatistics();
+        CourseStatisticsSnapshot before = statisticsService.getSnapshot();
 
         Grade grade3 = new Grade();
         grade3.setGrade(70.0);
-        when(gradeService.getGradesByCourse(testCourse1))
-                .thenReturn(Arrays.asList(grade1, grade3));
+        grade3.setCourse(testCourse1);
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade3));
+
+        assertThat(before.getAverage(1L)).isEqualTo(85.0);
+        assertThat(before.getAverages()).containsEntry(1L, 85.0);
+        assertThat(statisticsService.getSnapshot().getAverage(1L)).isEqualTo(80.0);
+        assertThat(statisticsService.getSnapshot().getTimestamp()).isAfterOrEqualTo(before.getTimestamp());
+    }
+
+    @Test
+    void onGradeChanged_forKnownCourse_shouldOnlyUpdateThatCourse() {
+        when(gradeService.getCourseGradeAggregates())
+                .thenReturn(Arrays.asList(aggregate(3L, 1, 60.0), aggregate(1L, 2, 170.0)));
         statisticsService.updateCourseStatistics();
 
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade1));
+
+        assertThat(statisticsService.getCourseAverages()).containsExactly(
+                Map.entry(1L, 260.0 / 3), Map.entry(3L, 60.0));
+    }
+
+    @Test
+    void onGradeChanged_forNewCourse_shouldAddItInOrder() {
+        when(gradeService.getCourseGradeAggregates())
+                .thenReturn(Arrays.asList(aggregate(3L, 1, 60.0), aggregate(0L, 1, 40.0)));
+        statisticsService.updateCourseStatistics();
+
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade1));
+
+        assertThat(statisticsService.getCourseAverages()).containsExactly(
+                Map.entry(0L, 40.0), Map.entry(1L, 90.0), Map.entry(3L, 60.0));
+    }
+
+    @Test
+    void updateCourseStatistics_withMultipleUpdates_shouldMaintainCorrectAverages() {
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 1, 90.0)));
+        statisticsService.updateCourseStatistics();
+        assertThat(statisticsService.getCourseAverage(1L)).isEqualTo(90.0);
+
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 2, 160.0)));
+        statisticsService.updateCourseStatistics();
+
+        assertThat(statisticsService.getCourseAverage(1L)).isEqualTo(80.0);
+    }
+
+    @Test
+    void onGradeChanged_whenGradeAdded_shouldUpdateAverageWithoutRescan() {
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 2, 170.0)));
+        statisticsService.updateCourseStatistics();
+
+        Grade grade3 = new Grade();
+        grade3.setGrade(70.0);
+        grade3.setCourse(testCourse1);
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade3));
+
         assertThat(statisticsService.getCourseAverage(1L)).isEqualTo(80.0);
+        verify(gradeService, times(1)).getCourseGradeAggregates();
+    }
+
+    @Test
+    void onGradeChanged_whenGradeRemoved_shouldUpdateAverage() {
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade1));
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade2));
+
+        statisticsService.onGradeChanged(GradeChangedEvent.removed(grade2));
+
+        assertThat(statisticsService.getCourseAverage(1L)).isEqualTo(90.0);
+        assertThat(statisticsService.getLastUpdateTime()).isNotNull();
+        verifyNoInteractions(gradeService);
+    }
+
+    @Test
+    void onGradeChanged_whenLastGradeRemoved_shouldReturnZero() {
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade1));
+
+        statisticsService.onGradeChanged(GradeChangedEvent.removed(grade1));
+
+        assertThat(statisticsService.getCourseAverage(1L)).isZero();
+    }
+
+    @Test
+    void onGradeChanged_whenGradeUpdated_shouldReloadCourse() {
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade1));
+        when(gradeService.getCourseGradeAggregate(1L)).thenReturn(Optional.of(aggregate(1L, 2, 140.0)));
+
+        statisticsService.onGradeChanged(GradeChangedEvent.updated(grade1));
+
+        assertThat(statisticsService.getCourseAverage(1L)).isEqualTo(70.0);
+    }
+
+    @Test
+    void updateCourseStatistics_shouldBuildDistributionFromValueCounts() {
+        when(gradeService.getCourseGradeAggregates())
+                .thenReturn(Arrays.asList(new CourseGradeAggregate(1L, 10L, 750.0, 75.0, 50.0, 95.0)));
+        when(gradeService.getGradeValueCounts()).thenReturn(Arrays.asList(
+                new GradeValueCount(1L, 50.0, 1L),
+                new GradeValueCount(1L, 70.0, 4L),
+                new GradeValueCount(1L, 80.0, 4L),
+                new GradeValueCount(1L, 95.0, 1L)));
+
+        statisticsService.updateCourseStatistics();
+        CourseDistribution distribution = statisticsService.getCourseDistribution(1L);
+
+        assertThat(distribution.getCount()).isEqualTo(10);
+        assertThat(distribution.getAverage()).isEqualTo(75.0);
+        assertThat(distribution.getMin()).isEqualTo(50.0);
+        assertThat(distribution.getMax()).isEqualTo(95.0);
+        assertThat(distribution.getMedian()).isCloseTo(70.0, within(1.0));
+        assertThat(distribution.getP10()).isCloseTo(50.0, within(1.0));
+        assertThat(distribution.getP90()).isCloseTo(80.0, within(1.0));
+        assertThat(distribution.getBuckets()).hasSize(100);
+    }
+
+    @Test
+    void onGradeChanged_shouldKeepDistributionCurrent() {
+        Grade grade3 = new Grade();
+        grade3.setGrade(40.0);
+        grade3.setCourse(testCourse1);
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade1));
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade2));
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade3));
+
+        statisticsService.onGradeChanged(GradeChangedEvent.removed(grade1));
+        CourseDistribution distribution = statisticsService.getCourseDistribution(1L);
+
+        assertThat(distribution.getCount()).isEqualTo(2);
+        assertThat(distribution.getMin()).isEqualTo(40.0);
+        assertThat(distribution.getMax()).isEqualTo(81.0);
+        assertThat(distribution.getMedian()).isCloseTo(40.0, within(1.0));
+    }
+
+    @Test
+    void getCourseDistribution_whenCourseUnknown_shouldReturnEmptyDistribution() {
+        CourseDistribution distribution = statisticsService.getCourseDistribution(999L);
+
+        assertThat(distribution.getCount()).isZero();
+        assertThat(distribution.getMedian()).isNull();
+        assertThat(distribution.getMin()).isNull();
+    }
+
+    @Test
+    void updateCourseStatistics_inParallel_shouldMergeAllPartitions() {
+        enableParallelRecompute(3, 2, 2);
+        List<CourseGradeAggregate> aggregates = LongStream.rangeClosed(1, 10)
+                .mapToObj(id -> aggregate(id, 2, id * 20.0))
+                .collect(Collectors.toList());
+        stubCourseRange(aggregates);
+
+        statisticsService.updateCourseStatistics();
+
+        assertThat(statisticsService.getCourseAverages()).hasSize(10);
+        assertThat(statisticsService.getCourseAverage(1L)).isEqualTo(10.0);
+        assertThat(statisticsService.getCourseAverage(10L)).isEqualTo(100.0);
+        verify(gradeService, times(3)).getCourseGradeAggregates(anyLong(), anyLong());
+        verify(gradeService, never()).getCourseGradeAggregates();
+
+        StatisticsRecomputeReport report = statisticsService.getLastRecomputeReport();
+        assertThat(report.isParallel()).isTrue();
+        assertThat(report.getCourses()).isEqualTo(10);
+        assertThat(report.getPartitions()).hasSize(3);
+        assertThat(report.getPartitions())
+                .extracting(timing -> timing.getCourses())
+                .containsExactly(4, 4, 2);
+    }
+
+    @Test
+    void updateCourseStatistics_inParallel_shouldCoverCoursesOutsideKnownIds() {
+        enableParallelRecompute(2, 2, 2);
+        when(courseService.getAllCourseIds()).thenReturn(Arrays.asList(5L, 6L));
+        when(gradeService.getCourseGradeAggregates(anyLong(), anyLong())).thenReturn(Collections.emptyList());
+        when(gradeService.getGradeValueCounts(anyLong(), anyLong())).thenReturn(Collections.emptyList());
+
+        statisticsService.updateCourseStatistics();
+
+        verify(gradeService).getCourseGradeAggregates(Long.MIN_VALUE, 5L);
+        verify(gradeService).getCourseGradeAggregates(6L, Long.MAX_VALUE);
+    }
+
+    @Test
+    void updateCourseStatistics_inParallel_shouldLimitConcurrentQueries() {
+        enableParallelRecompute(8, 8, 2);
+        List<CourseGradeAggregate> aggregates = LongStream.rangeClosed(1, 8)
+                .mapToObj(id -> aggregate(id, 1, 50.0))
+                .collect(Collectors.toList());
+        when(courseService.getAllCourseIds()).thenReturn(LongStream.rangeClosed(1, 8).boxed().collect(Collectors.toList()));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(gradeService.getCourseGradeAggregates(anyLong(), anyLong())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            long from = invocation.getArgument(0);
+            long to = invocation.getArgument(1);
+            return aggregates.stream()
+                    .filter(aggregate -> aggregate.getCourseId() >= from && aggregate.getCourseId() <= to)
+                    .collect(Collectors.toList());
+        });
+        when(gradeService.getGradeValueCounts(anyLong(), anyLong())).thenReturn(Collections.emptyList());
+
+        statisticsService.updateCourseStatistics();
+
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(statisticsService.getCourseAverages()).hasSize(8);
+    }
+
+    @Test
+    void updateCourseStatistics_inParallel_whenPartitionFails_shouldKeepPreviousStatistics() {
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 2, 170.0)));
+        statisticsService.updateCourseStatistics();
+        long version = statisticsService.getSnapshot().getVersion();
+
+        enableParallelRecompute(2, 2, 2);
+        when(courseService.getAllCourseIds()).thenReturn(Arrays.asList(1L, 2L));
+        when(gradeService.getCourseGradeAggregates(anyLong(), anyLong()))
+                .thenThrow(new RuntimeException("Connection lost"));
+
+        assertThatThrownBy(() -> statisticsService.updateCourseStatistics())
+                .isInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("Connection lost");
+        assertThat(statisticsService.getCourseAverage(1L)).isEqualTo(85.0);
+        assertThat(statisticsService.getSnapshot().getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    void updateCourseStatistics_sequentially_shouldReportSinglePartition() {
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 2, 170.0)));
+
+        statisticsService.updateCourseStatistics();
+
+        StatisticsRecomputeReport report = statisticsService.getLastRecomputeReport();
+        assertThat(report.isParallel()).isFalse();
+        assertThat(report.getPartitions()).hasSize(1);
+        verifyNoInteractions(courseService);
+    }
+
+    @Test
+    void getCourseWindowStatistics_shouldOnlyCountGradesInsideWindow() {
+        Grade recent = new Grade();
+        recent.setGrade(90.0);
+        recent.setCourse(testCourse1);
+        recent.setCreatedAt(LocalDateTime.now().minusDays(2));
+        Grade older = new Grade();
+        older.setGrade(60.0);
+        older.setCourse(testCourse1);
+        older.setCreatedAt(LocalDateTime.now().minusDays(20));
+        statisticsService.onGradeChanged(GradeChangedEvent.added(recent));
+        statisticsService.onGradeChanged(GradeChangedEvent.added(older));
+
+        CourseWindowStatistics week = statisticsService.getCourseWindowStatistics(1L, 7);
+        CourseWindowStatistics month = statisticsService.getCourseWindowStatistics(1L, 30);
+
+        assertThat(week.getCount()).isEqualTo(1);
+        assertThat(week.getAverage()).isEqualTo(90.0);
+        assertThat(week.getFrom()).isEqualTo(LocalDate.now().minusDays(6));
+        assertThat(month.getCount()).isEqualTo(2);
+        assertThat(month.getAverage()).isEqualTo(75.0);
+        verifyNoInteractions(gradeService);
+    }
+
+    @Test
+    void getCourseWindowStatistics_afterGradeRemoved_shouldDropItFromWindow() {
+        Grade recent = new Grade();
+        recent.setGrade(90.0);
+        recent.setCourse(testCourse1);
+        recent.setCreatedAt(LocalDateTime.now());
+        statisticsService.onGradeChanged(GradeChangedEvent.added(recent));
+
+        statisticsService.onGradeChanged(GradeChangedEvent.removed(recent));
+
+        assertThat(statisticsService.getCourseWindowStatistics(1L, 7).getCount()).isZero();
+    }
+
+    @Test
+    void updateCourseStatistics_shouldSeedWindowsFromDailyAggregates() {
+        LocalDate today = LocalDate.now();
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 3, 240.0)));
+        when(gradeService.getDailyGradeAggregates(any(), eq(Long.MIN_VALUE), eq(Long.MAX_VALUE))).thenReturn(Arrays.asList(
+                new GradeDailyAggregate(1L, today, 2L, 170.0),
+                new GradeDailyAggregate(1L, today.minusDays(45), 1L, 70.0)));
+
+        statisticsService.updateCourseStatistics();
+
+        assertThat(statisticsService.getCourseWindowStatistics(1L, 7).getCount()).isEqualTo(2);
+        assertThat(statisticsService.getCourseWindowStatistics(1L, 90).getAverage()).isEqualTo(80.0);
+        assertThat(statisticsService.getWindowStatistics(30))
+                .extracting(CourseWindowStatistics::getCourseId, CourseWindowStatistics::getCount)
+                .containsExactly(tuple(1L, 2L));
+    }
+
+    @Test
+    void getCourseWindowStatistics_withWindowOutOfRange_shouldThrowException() {
+        assertThatThrownBy(() -> statisticsService.getCourseWindowStatistics(1L, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> statisticsService.getCourseWindowStatistics(1L, 91))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void onGradeChanged_shouldPublishNewSnapshotEvent() {
+        statisticsService.onGradeChanged(GradeChangedEvent.added(grade1));
+
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CourseStatisticsPublishedEvent published
+                && published.getSnapshot() == statisticsService.getSnapshot()));
+    }
+
+    @Test
+    void onGradeBatchChanged_shouldApplyAllGradesAndPublishOnce() {
+        Course testCourse2 = new Course();
+        testCourse2.setId(2L);
+        Grade grade3 = new Grade();
+        grade3.setGrade(60.0);
+        grade3.setCourse(testCourse2);
+
+        statisticsService.onGradeBatchChanged(GradeBatchChangedEvent.added(List.of(grade1, grade2, grade3)));
+
+        assertThat(statisticsService.getCourseAverages()).containsExactly(Map.entry(1L, 85.0), Map.entry(2L, 60.0));
+        assertThat(statisticsService.getCourseDistribution(1L).getCount()).isEqualTo(2);
+        verify(eventPublisher, times(1)).publishEvent(any(CourseStatisticsPublishedEvent.class));
+    }
+
+    @Test
+    void updateCourseStatistics_fromColumnStore_shouldAggregateWithoutQueries() {
+        ReflectionTestUtils.setField(statisticsService, "recomputeSource", "column-store");
+        when(gradeColumnStore.isReady()).thenReturn(true);
+        long today = LocalDate.now().toEpochDay() * 86_400L;
+        when(gradeColumnStore.scan(any())).thenAnswer(invocation -> {
+            GradeColumnStore.RowVisitor visitor = invocation.getArgument(0);
+            visitor.visit(0, 1L, 90.0, 3, today);
+            visitor.visit(0, 2L, 80.0, 3, GradeColumnStore.NO_TIMESTAMP);
+            visitor.visit(1, 1L, 60.0, 4, today);
+            visitor.visit(2, 1L, 50.0, 4, today);
+            return 3;
+        });
+        when(gradeColumnStore.courseIdForCode(0)).thenReturn(1L);
+        when(gradeColumnStore.courseIdForCode(1)).thenReturn(2L);
+        when(gradeColumnStore.courseIdForCode(2)).thenReturn(99L);
+        when(courseService.getAllCourseIds()).thenReturn(Arrays.asList(1L, 2L, 3L));
+
+        statisticsService.updateCourseStatistics();
+
+        assertThat(statisticsService.getCourseAverages())
+                .containsEntry(1L, 85.0)
+                .containsEntry(2L, 60.0)
+                .containsEntry(3L, 0.0)
+                .doesNotContainKey(99L);
+        assertThat(statisticsService.getCourseWindowStatistics(1L, 7).getCount()).isEqualTo(1);
+        assertThat(statisticsService.getCourseDistribution(1L).getMax()).isEqualTo(90.0);
+        verify(gradeService, never()).getCourseGradeAggregates();
+    }
+
+    @Test
+    void updateCourseStatistics_fromColumnStoreInParallel_shouldMergeEachCoursesPartitions() {
+        ReflectionTestUtils.setField(statisticsService, "recomputeSource", "column-store");
+        ReflectionTestUtils.setField(statisticsService, "parallelRecompute", true);
+        when(gradeColumnStore.isReady()).thenReturn(true);
+        long today = LocalDate.now().toEpochDay() * 86_400L;
+        when(gradeColumnStore.scanPartitioned(any(), anyInt(), any())).thenAnswer(invocation -> {
+            Supplier<GradeColumnStore.RowVisitor> newVisitor = invocation.getArgument(2);
+            GradeColumnStore.RowVisitor first = newVisitor.get();
+            first.visit(0, 1L, 90.0, 3, today);
+            first.visit(1, 1L, 60.0, 4, today);
+            GradeColumnStore.RowVisitor second = newVisitor.get();
+            second.visit(0, 2L, 70.0, 3, today);
+            second.visit(0, 3L, 40.0, 3, GradeColumnStore.NO_TIMESTAMP);
+            return List.of(first, second);
+        });
+        when(gradeColumnStore.courseIdForCode(0)).thenReturn(1L);
+        when(gradeColumnStore.courseIdForCode(1)).thenReturn(2L);
+        when(courseService.getAllCourseIds()).thenReturn(Arrays.asList(1L, 2L));
+
+        statisticsService.updateCourseStatistics();
+
+        CourseDistribution distribution = statisticsService.getCourseDistribution(1L);
+        assertThat(distribution.getCount()).isEqualTo(3);
+        assertThat(distribution.getAverage()).isEqualTo(200.0 / 3);
+        assertThat(distribution.getMin()).isEqualTo(40.0);
+        assertThat(distribution.getMax()).isEqualTo(90.0);
+        assertThat(distribution.getBuckets().stream().mapToLong(HistogramBucket::getCount).sum()).isEqualTo(3);
+        assertThat(statisticsService.getCourseWindowStatistics(1L, 7).getCount()).isEqualTo(2);
+        assertThat(statisticsService.getCourseAverage(2L)).isEqualTo(60.0);
+        verify(gradeColumnStore, never()).scan(any());
+    }
+
+    @Test
+    void updateCourseStatistics_fromColumnStoreBeforeLoad_shouldUseDatabase() {
+        ReflectionTestUtils.setField(statisticsService, "recomputeSource", "column-store");
+        when(gradeService.getCourseGradeAggregates()).thenReturn(Arrays.asList(aggregate(1L, 2, 170.0)));
+
+        statisticsService.updateCourseStatistics();
+
+        assertThat(statisticsService.getCourseAverage(1L)).isEqualTo(85.0);
+        verify(gradeColumnStore, never()).scan(any());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package com.grade.rapidjavadevelopment.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongIntHashMapTest {
+
+    @Test
+    void put_shouldReplaceAndReturnPreviousValue() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertThat(map.put(Long.MIN_VALUE, 1)).isEqualTo(LongIntHashMap.MISSING);
+        assertThat(map.put(0L, 2)).isEqualTo(LongIntHashMap.MISSING);
+        assertThat(map.put(Long.MIN_VALUE, 3)).isEqualTo(1);
+
+        assertThat(map.get(Long.MIN_VALUE)).isEqualTo(3);
+        assertThat(map.get(0L)).isEqualTo(2);
+        assertThat(map.get(42L)).isEqualTo(LongIntHashMap.MISSING);
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    void put_withNegativeValue_shouldThrow() {
+        assertThatThrownBy(() -> new LongIntHashMap().put(1L, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void remove_shouldKeepCollidingKeysReachable() {
+        LongIntHashMap map = new LongIntHashMap();
+        // Multiples of a large power of two share low hash bits often enough to build probe runs.
+        for (int i = 0; i < 12; i++) {
+            map.put((long) i << 40, i);
+        }
+
+        assertThat(map.remove(3L << 40)).isEqualTo(3);
+        assertThat(map.remove(3L << 40)).isEqualTo(LongIntHashMap.MISSING);
+
+        for (int i = 0; i < 12; i++) {
+            assertThat(map.get((long) i << 40)).isEqualTo(i == 3 ? LongIntHashMap.MISSING : i);
+        }
+        assertThat(map.size()).isEqualTo(11);
+    }
+
+    @Test
+    void randomOperations_shouldMatchHashMap() {
+        LongIntHashMap map = new LongIntHashMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(5_000);
+            if (random.nextInt(3) == 0) {
+                Integer removed = expected.remove(key);
+                assertThat(map.remove(key)).isEqualTo(removed != null ? removed : LongIntHashMap.MISSING);
+            } else {
+                Integer previous = expected.put(key, i);
+                assertThat(map.put(key, i)).isEqualTo(previous != null ? previous : LongIntHashMap.MISSING);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+    }
+
+    @Test
+    void clear_shouldRemoveEverything() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.put(1L, 1);
+        map.put(2L, 2);
+
+        map.clear();
+
+        assertThat(map.size()).isZero();
+        assertThat(map.containsKey(1L)).isFalse();
+    }
+}
@@ -0,0 +1,127 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.models.RefreshToken;
+import com.grade.rapidjavadevelopment.models.Role;
+import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.repositories.RefreshTokenRepository;
+import com.grade.rapidjavadevelopment.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    @Captor
+    private ArgumentCaptor<RefreshToken> tokenCaptor;
+
+    private User user;
+    private RefreshToken stored;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername("testUser");
+        user.setRole(Role.ROLE_USER);
+        user.setTokenVersion(2);
+
+        stored = new RefreshToken();
+        stored.setId(10L);
+        stored.setTokenHash(RefreshTokenService.hash("raw-token"));
+        stored.setFamilyId("family-1");
+        stored.setUserId(1L);
+        stored.setTokenVersion(2);
+        stored.setExpiresAt(LocalDateTime.now().plusDays(1));
+    }
+
+    @Test
+    void issue_shouldStoreOnlyTheHash() {
+        String rawToken = refreshTokenService.issue(1L, 2);
+
+        verify(refreshTokenRepository).save(tokenCaptor.capture());
+        RefreshToken saved = tokenCaptor.getValue();
+        assertThat(saved.getTokenHash()).isEqualTo(RefreshTokenService.hash(rawToken)).isNotEqualTo(rawToken);
+        assertThat(saved.getUserId()).isEqualTo(1L);
+        assertThat(saved.getTokenVersion()).isEqualTo(2);
+        assertThat(saved.getFamilyId()).isNotBlank();
+        assertThat(saved.getExpiresAt()).isAfter(LocalDateTime.now().plusDays(13));
+    }
+
+    @Test
+    void rotate_withValidToken_shouldIssueNextTokenInSameFamily() {
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(1);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw-token").orElseThrow();
+
+        assertThat(rotation.getRefreshToken()).isNotEqualTo("raw-token");
+        assertThat(rotation.getPrincipal().getId()).isEqualTo(1L);
+        assertThat(rotation.getPrincipal().getTokenVersion()).isEqualTo(2);
+        assertThat(rotation.getPrincipal().getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verify(refreshTokenRepository).save(tokenCaptor.capture());
+        assertThat(tokenCaptor.getValue().getFamilyId()).isEqualTo("family-1");
+    }
+
+    @Test
+    void rotate_withAlreadyUsedToken_shouldRevokeFamily() {
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(0);
+
+        assertThat(refreshTokenService.rotate("raw-token")).isEmpty();
+
+        verify(refreshTokenRepository).revokeFamily("family-1");
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    @Test
+    void rotate_afterUserChanged_shouldRevokeFamily() {
+        user.setTokenVersion(3);
+        when(refreshTokenRepository.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+        when(refreshTokenRepository.markUsed(eq(10L), any())).thenReturn(1);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        assertThat(refreshTokenService.rotate("raw-token")).isEmpty();
+
+        verify(refreshTokenRepository).revokeFamily("family-1");
+    }
+
+    @Test
+    void rotate_withExpiredRevokedOrUnknownToken_shouldReturnEmpty() {
+        stored.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.of(stored), Optional.empty());
+
+        assertThat(refreshTokenService.rotate("raw-token")).isEmpty();
+        assertThat(refreshTokenService.rotate("unknown")).isEmpty();
+
+        stored.setExpiresAt(LocalDateTime.now().plusDays(1));
+        stored.setRevoked(true);
+        when(refreshTokenRepository.findByTokenHash(any())).thenReturn(Optional.of(stored));
+        assertThat(refreshTokenService.rotate("raw-token")).isEmpty();
+
+        verify(refreshTokenRepository, never()).markUsed(any(), any());
+    }
+}
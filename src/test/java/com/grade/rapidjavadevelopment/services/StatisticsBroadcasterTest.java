@@ -0,0 +1,280 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grade.rapidjavadevelopment.events.CourseStatisticsPublishedEvent;
+import com.grade.rapidjavadevelopment.models.CourseStatisticsSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatisticsBroadcasterTest {
+
+    @Mock
+    private GradeStatisticsService gradeStatisticsService;
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private StatisticsBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new StatisticsBroadcaster() {
+            @Override
+            SseEmitter newEmitter(long timeout) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ReflectionTestUtils.setField(broadcaster, "gradeStatisticsService", gradeStatisticsService);
+        ReflectionTestUtils.setField(broadcaster, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(broadcaster, "coalesceMillis", 50L);
+        lenient().when(gradeStatisticsService.getSnapshotEpoch()).thenReturn("run1");
+        broadcaster.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.stop();
+    }
+
+    private static CourseStatisticsSnapshot snapshot(long version, double average) {
+        return CourseStatisticsSnapshot.of(version, LocalDateTime.now(), new long[]{1L}, new double[]{average});
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    void subscribe_shouldSendCurrentSnapshot() throws Exception {
+        when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot(3, 85.0));
+
+        broadcaster.subscribe(null);
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events().size() == 1);
+        assertThat(emitter.events().get(0))
+                .contains("id:run1-3")
+                .contains("event:statistics")
+                .contains("\"averages\":{\"1\":85.0}");
+        assertThat(broadcaster.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_withCurrentLastEventId_shouldNotResend() throws Exception {
+        when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot(3, 85.0));
+
+        broadcaster.subscribe("run1-3");
+        broadcaster.onStatisticsPublished(new CourseStatisticsPublishedEvent(snapshot(4, 80.0)));
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events().size() == 1);
+        assertThat(emitter.events().get(0)).contains("id:run1-4");
+    }
+
+    @Test
+    void subscribe_withLastEventIdAheadOfCurrentVersion_shouldResend() throws Exception {
+        when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot(3, 85.0));
+
+        broadcaster.subscribe("run1-500");
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events().size() == 1);
+        assertThat(emitter.events().get(0)).contains("id:run1-3");
+    }
+
+    @Test
+    void subscribe_withSameVersionFromBeforeRestart_shouldResend() throws Exception {
+        when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot(3, 85.0));
+
+        broadcaster.subscribe("run0-3");
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events().size() == 1);
+        assertThat(emitter.events().get(0)).contains("id:run1-3");
+    }
+
+    @Test
+    void subscribe_withMalformedLastEventId_shouldResend() throws Exception {
+        when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot(3, 85.0));
+
+        broadcaster.subscribe("3");
+
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events().size() == 1);
+        assertThat(emitter.events().get(0)).contains("id:run1-3");
+    }
+
+    @Test
+    void onStatisticsPublished_withRapidUpdates_shouldCoalesce() throws Exception {
+        when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot(1, 85.0));
+        broadcaster.subscribe(null);
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events().size() == 1);
+
+        broadcaster.onStatisticsPublished(new CourseStatisticsPublishedEvent(snapshot(2, 84.0)));
+        broadcaster.onStatisticsPublished(new CourseStatisticsPublishedEvent(snapshot(3, 83.0)));
+        broadcaster.onStatisticsPublished(new CourseStatisticsPublishedEvent(snapshot(4, 82.0)));
+
+        await(() -> emitter.events().size() == 2);
+        Thread.sleep(100);
+        assertThat(emitter.events()).hasSize(2);
+        assertThat(emitter.events().get(1)).contains("id:run1-4").contains("82.0");
+    }
+
+    @Test
+    void onStatisticsPublished_withOutOfOrderEvents_shouldKeepNewestSnapshot() throws Exception {
+        when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot(1, 85.0));
+        broadcaster.subscribe(null);
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events().size() == 1);
+
+        broadcaster.onStatisticsPublished(new CourseStatisticsPublishedEvent(snapshot(5, 70.0)));
+        broadcaster.onStatisticsPublished(new CourseStatisticsPublishedEvent(snapshot(4, 75.0)));
+
+        await(() -> emitter.events().size() == 2);
+        assertThat(emitter.events().get(1)).contains("id:run1-5");
+    }
+
+    @Test
+    void slowSubscriber_shouldSkipIntermediateVersionsWithoutBlockingOthers() throws Exception {
+        when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot(1, 85.0));
+        broadcaster.subscribe(null);
+        broadcaster.subscribe(null);
+        RecordingEmitter slow = emitters.get(0);
+        RecordingEmitter fast = emitters.get(1);
+        await(() -> slow.events().size() == 1 && fast.events().size() == 1);
+
+        slow.block();
+        broadcaster.onStatisticsPublished(new CourseStatisticsPublishedEvent(snapshot(2, 84.0)));
+        await(() -> fast.events().size() == 2 && slow.isWaiting());
+        broadcaster.onStatisticsPublished(new CourseStatisticsPublishedEvent(snapshot(3, 83.0)));
+        await(() -> fast.events().size() == 3);
+        broadcaster.onStatisticsPublished(new CourseStatisticsPublishedEvent(snapshot(4, 82.0)));
+        await(() -> fast.events().size() == 4);
+
+        slow.release();
+        await(() -> slow.events().size() == 3);
+        assertThat(slow.events().get(1)).contains("id:run1-2");
+        assertThat(slow.events().get(2)).contains("id:run1-4");
+    }
+
+    @Test
+    void snapshotFlushedDuringKeepAlive_shouldBeSentOnceTheKeepAliveCompletes() throws Exception {
+        when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot(1, 85.0));
+        broadcaster.subscribe(null);
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events().size() == 1);
+
+        emitter.block();
+        ReflectionTestUtils.invokeMethod(broadcaster, "heartbeat");
+        await(emitter::isWaiting);
+        broadcaster.onStatisticsPublished(new CourseStatisticsPublishedEvent(snapshot(2, 84.0)));
+        // Let the coalesced flush run and find the keep-alive still in flight.
+        Thread.sleep(200);
+
+        emitter.release();
+        await(() -> emitter.events().size() == 2);
+        assertThat(emitter.events().get(1)).contains("id:run1-2");
+    }
+
+    @Test
+    void failedSend_shouldDropSubscriber() throws Exception {
+        when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot(1, 85.0));
+        broadcaster.subscribe(null);
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events().size() == 1);
+
+        emitter.failNextSend();
+        broadcaster.onStatisticsPublished(new CourseStatisticsPublishedEvent(snapshot(2, 84.0)));
+
+        await(() -> broadcaster.getSubscriberCount() == 0);
+    }
+
+    @Test
+    void subscribe_whenLimitReached_shouldThrowException() {
+        ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 1);
+        when(gradeStatisticsService.getSnapshot()).thenReturn(snapshot(1, 85.0));
+        broadcaster.subscribe(null);
+
+        assertThatThrownBy(() -> broadcaster.subscribe(null)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch gate;
+        private volatile boolean failNext;
+        private volatile boolean waiting;
+
+        List<String> events() {
+            return events;
+        }
+
+        void block() {
+            gate = new CountDownLatch(1);
+        }
+
+        boolean isWaiting() {
+            return waiting;
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        void failNextSend() {
+            failNext = true;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            CountDownLatch current = gate;
+            if (current != null) {
+                waiting = true;
+                try {
+                    current.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    waiting = false;
+                }
+            }
+            if (failNext) {
+                throw new IOException("Broken pipe");
+            }
+            String event = builder.build().stream()
+                    .map(data -> String.valueOf(data.getData()))
+                    .collect(Collectors.joining());
+            if (!event.startsWith(":")) {
+                events.add(event);
+            }
+        }
+    }
+}
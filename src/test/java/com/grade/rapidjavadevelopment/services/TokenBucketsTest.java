@@ -0,0 +1,77 @@
+package com.grade.rapidjavadevelopment.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketsTest {
+
+    private static final long START = 1_000_000_000L;
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_shouldAllowBurstUpToCapacity() {
+        TokenBuckets buckets = new TokenBuckets(3, 60, 100, START);
+
+        assertThat(buckets.tryAcquire("a", START)).isZero();
+        assertThat(buckets.tryAcquire("a", START)).isZero();
+        assertThat(buckets.tryAcquire("a", START)).isZero();
+        assertThat(buckets.tryAcquire("a", START)).isEqualTo(SECOND);
+        assertThat(buckets.tryAcquire("b", START)).isZero();
+    }
+
+    @Test
+    void tryAcquire_shouldRefillOverTime() {
+        TokenBuckets buckets = new TokenBuckets(1, 60, 100, START);
+        buckets.tryAcquire("a", START);
+
+        assertThat(buckets.tryAcquire("a", START + SECOND / 2)).isEqualTo(SECOND / 2);
+        assertThat(buckets.tryAcquire("a", START + SECOND)).isZero();
+    }
+
+    @Test
+    void sweep_shouldDropOnlyRefilledBuckets() {
+        TokenBuckets buckets = new TokenBuckets(2, 60, 100, START);
+        buckets.tryAcquire("idle", START);
+        buckets.tryAcquire("busy", START + 5 * SECOND);
+
+        assertThat(buckets.sweep(START + 5 * SECOND)).isEqualTo(1);
+        assertThat(buckets.size()).isEqualTo(1);
+    }
+
+    @Test
+    void tryAcquire_whenFull_shouldEvictBucketsClosestToFull() {
+        TokenBuckets buckets = new TokenBuckets(2, 60, 4, START);
+        buckets.tryAcquire("busy", START);
+        buckets.tryAcquire("busy", START);
+        buckets.tryAcquire("a", START);
+        buckets.tryAcquire("b", START);
+        buckets.tryAcquire("c", START);
+
+        assertThat(buckets.tryAcquire("d", START)).isZero();
+        assertThat(buckets.tryAcquire("d", START)).isZero();
+        assertThat(buckets.getCapacityEvictions()).isEqualTo(3);
+        assertThat(buckets.size()).isEqualTo(2);
+        assertThat(buckets.tryAcquire("busy", START)).isEqualTo(SECOND);
+    }
+
+    @Test
+    void tryAcquire_whenFull_shouldSweepRefilledBucketsFirst() {
+        TokenBuckets buckets = new TokenBuckets(1, 60, 2, START);
+        buckets.tryAcquire("idle", START);
+        buckets.tryAcquire("busy", START + 5 * SECOND);
+
+        assertThat(buckets.tryAcquire("new", START + 5 * SECOND)).isZero();
+        assertThat(buckets.getCapacityEvictions()).isZero();
+        assertThat(buckets.tryAcquire("busy", START + 5 * SECOND)).isPositive();
+    }
+
+    @Test
+    void constructor_shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> new TokenBuckets(0, 60, 100, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,59 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenVersionRegistryTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TokenVersionRegistry registry;
+
+    @Test
+    void isCurrent_shouldLoadVersionOnceThenAnswerFromMemory() {
+        when(userRepository.findTokenVersionById(1L)).thenReturn(Optional.of(2));
+
+        assertThat(registry.isCurrent(1L, 2)).isTrue();
+        assertThat(registry.isCurrent(1L, 1)).isFalse();
+        assertThat(registry.isCurrent(1L, 2)).isTrue();
+
+        verify(userRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void isCurrent_forUnknownUser_shouldReject() {
+        when(userRepository.findTokenVersionById(9L)).thenReturn(Optional.empty());
+
+        assertThat(registry.isCurrent(9L, 0)).isFalse();
+    }
+
+    @Test
+    void update_shouldInvalidateOlderVersions() {
+        registry.update(1L, 3);
+
+        assertThat(registry.isCurrent(1L, 2)).isFalse();
+        assertThat(registry.isCurrent(1L, 3)).isTrue();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void revoke_shouldRejectEveryVersion() {
+        registry.update(1L, 0);
+        registry.revoke(1L);
+
+        assertThat(registry.isCurrent(1L, 0)).isFalse();
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,153 @@
+package com.grade.rapidjavadevelopment.services;
+
+import com.grade.rapidjavadevelopment.models.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDetailsCacheTest {
+
+    private UserDetailsCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserDetailsCache();
+        loads = new AtomicInteger();
+    }
+
+    private UserPrincipal load(long id, String username) {
+        loads.incrementAndGet();
+        return new UserPrincipal(id, username, "encodedPassword", 0,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Test
+    void get_shouldLoadOnceAndServeCopiesAfterwards() {
+        UserPrincipal first = cache.get("alice", () -> load(1L, "alice"));
+        first.eraseCredentials();
+
+        UserPrincipal second = cache.get("alice", () -> load(1L, "alice"));
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getPassword()).isEqualTo("encodedPassword");
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void get_afterTtl_shouldReload() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "ttlMs", 1L);
+        cache.get("alice", () -> load(1L, "alice"));
+
+        Thread.sleep(5);
+        cache.get("alice", () -> load(1L, "alice"));
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_whenFull_shouldEvictOldestEntry() {
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+
+        cache.get("alice", () -> load(1L, "alice"));
+        cache.get("bob", () -> load(2L, "bob"));
+        cache.get("carol", () -> load(3L, "carol"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        cache.get("bob", () -> load(2L, "bob"));
+        cache.get("alice", () -> load(1L, "alice"));
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void evictUser_shouldDropEntryCachedUnderAnyUsername() {
+        cache.get("oldName", () -> load(1L, "oldName"));
+        cache.get("bob", () -> load(2L, "bob"));
+
+        cache.evictUser(1L);
+        cache.evict("bob");
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getEvictionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void evictUser_afterRename_shouldDropEveryUsernameCachedForThatUser() {
+        cache.get("oldName", () -> load(1L, "oldName"));
+        cache.get("newName", () -> load(1L, "newName"));
+        cache.get("bob", () -> load(2L, "bob"));
+
+        cache.evictUser(1L);
+
+        assertThat(cache.size()).isEqualTo(1);
+        cache.get("bob", () -> load(2L, "bob"));
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void evictUser_afterSizeEviction_shouldNotCountEntriesAlreadyGone() {
+        ReflectionTestUtils.setField(cache, "maxSize", 1);
+        cache.get("alice", () -> load(1L, "alice"));
+        cache.get("bob", () -> load(2L, "bob"));
+
+        cache.evictUser(1L);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_whenOldestEntriesExpired_shouldDropThemBeforeEvictingLiveOnes() throws InterruptedException {
+        ReflectionTestUtils.setField(cache, "maxSize", 2);
+        ReflectionTestUtils.setField(cache, "ttlMs", 1L);
+        cache.get("alice", () -> load(1L, "alice"));
+        Thread.sleep(5);
+        ReflectionTestUtils.setField(cache, "ttlMs", 300000L);
+
+        cache.get("bob", () -> load(2L, "bob"));
+        cache.get("carol", () -> load(3L, "carol"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        cache.get("bob", () -> load(2L, "bob"));
+        cache.get("carol", () -> load(3L, "carol"));
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void get_whenUserChangesDuringLoad_shouldNotCacheStaleUser() {
+        cache.get("alice", () -> {
+            cache.evict("alice");
+            return load(1L, "alice");
+        });
+
+        cache.get("alice", () -> load(1L, "alice"));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void bindTo_shouldRegisterMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.get("alice", () -> load(1L, "alice"));
+        cache.get("alice", () -> load(1L, "alice"));
+
+        assertThat(registry.get("user.details.cache.requests").tag("result", "hit").functionCounter().count())
+                .isEqualTo(1.0);
+        assertThat(registry.get("user.details.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+        assertThat(registry.get("user.details.cache.evictions").tag("cause", "size").functionCounter().count())
+                .isZero();
+        assertThat(registry.get("user.details.cache.size").gauge().value()).isEqualTo(1.0);
+    }
+}
@@ -1,7 +1,11 @@
 package com.grade.rapidjavadevelopment.services;
 
+import com.grade.rapidjavadevelopment.events.GradeBatchChangedEvent;
+import com.grade.rapidjavadevelopment.events.GradeChangedEvent;
+import com.grade.rapidjavadevelopment.models.GradeRow;
 import com.grade.rapidjavadevelopment.models.Role;
 import com.grade.rapidjavadevelopment.models.User;
+import com.grade.rapidjavadevelopment.repositories.GradeRepository;
 import com.grade.rapidjavadevelopment.repositories.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,7 +15,10 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -20,6 +27,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -29,9 +37,21 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private GradeRepository gradeRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    @Mock
+    private UserDetailsCache userDetailsCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -160,6 +180,28 @@ class UserServiceTest {
         userService.deleteUser(1L);
 
         verify(userRepository).deleteById(1L);
+        verify(tokenVersionRegistry).revoke(1L);
+        verify(userDetailsCache).evictUser(1L);
+        verify(gradeRepository, never()).deleteByStudentId(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void deleteUser_withGrades_shouldDeleteThemAndPublishTheirRemoval() {
+        when(gradeRepository.findGradeRowsByStudentId(1L)).thenReturn(List.of(
+                new GradeRow(10L, 1L, 3L, 5, 75.0, null)));
+
+        userService.deleteUser(1L);
+
+        verify(gradeRepository).deleteByStudentId(1L);
+        verify(userRepository).deleteById(1L);
+        ArgumentCaptor<GradeBatchChangedEvent> event = ArgumentCaptor.forClass(GradeBatchChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getChanges()).singleElement().satisfies(change -> {
+            assertThat(change.getType()).isEqualTo(GradeChangedEvent.Type.REMOVED);
+            assertThat(change.getGradeId()).isEqualTo(10L);
+            assertThat(change.getCourseId()).isEqualTo(3L);
+        });
     }
 
     @Test
@@ -183,4 +225,63 @@ class UserServiceTest {
         verify(passwordEncoder).encode("");
         verify(userRepository).save(testUser);
     }
-}
\ No newline at end of file
+
+    @Test
+    void saveUser_withExistingUser_shouldBumpTokenVersion() {
+        testUser.setTokenVersion(2);
+        when(userRepository.save(testUser)).thenReturn(testUser);
+
+        userService.saveUser(testUser);
+
+        assertThat(testUser.getTokenVersion()).isEqualTo(3);
+        verify(tokenVersionRegistry).update(1L, 3);
+        verify(userDetailsCache).evict("testUser");
+        verify(userDetailsCache).evictUser(1L);
+    }
+
+    @Test
+    void saveUser_withExistingUser_shouldUpdateTokenVersionOnlyAfterCommit() {
+        testUser.setTokenVersion(2);
+        when(userRepository.save(testUser)).thenReturn(testUser);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.saveUser(testUser);
+            verify(tokenVersionRegistry, never()).update(any(), anyInt());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(tokenVersionRegistry).update(1L, 3);
+    }
+
+    @Test
+    void saveUser_whenTransactionRollsBack_shouldLeaveTokenVersionsAlone() {
+        testUser.setTokenVersion(2);
+        when(userRepository.save(testUser)).thenReturn(testUser);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.saveUser(testUser);
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verifyNoInteractions(tokenVersionRegistry);
+    }
+
+    @Test
+    void saveUser_withNewUser_shouldNotTouchTokenVersions() {
+        User newUser = new User();
+        newUser.setUsername("newUser");
+        when(userRepository.save(newUser)).thenReturn(newUser);
+
+        userService.saveUser(newUser);
+
+        assertThat(newUser.getTokenVersion()).isZero();
+        verifyNoInteractions(tokenVersionRegistry);
+    }
+}
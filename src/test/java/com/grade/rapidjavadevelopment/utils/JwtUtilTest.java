@@ -0,0 +1,147 @@
+package com.grade.rapidjavadevelopment.utils;
+
+import com.grade.rapidjavadevelopment.models.UserPrincipal;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "your_secret_key_here_make_it_at_least_256_bits_long";
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        userDetails = new User("testUser", "password", Collections.emptyList());
+    }
+
+    private static String token(String subject, long expiresInMillis, String secret) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Test
+    void parseToken_withGeneratedToken_shouldReturnClaims() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        Optional<VerifiedToken> verified = jwtUtil.parseToken(token);
+
+        assertThat(verified).isPresent();
+        assertThat(verified.get().getUsername()).isEqualTo("testUser");
+        assertThat(verified.get().getExpiration()).isAfter(new Date());
+        assertThat(jwtUtil.validateToken(verified.get(), userDetails)).isTrue();
+    }
+
+    @Test
+    void parseToken_repeatedToken_shouldReturnCachedInstance() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        VerifiedToken first = jwtUtil.parseToken(token).orElseThrow();
+        VerifiedToken second = jwtUtil.parseToken(token).orElseThrow();
+
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.getVerifiedCacheSize()).isEqualTo(1);
+    }
+
+    @Test
+    void parseToken_withWrongSignature_shouldReturnEmpty() {
+        String forged = token("testUser", 60_000, "another_secret_key_that_is_also_at_least_256_bits");
+
+        assertThat(jwtUtil.parseToken(forged)).isEmpty();
+        assertThat(jwtUtil.getVerifiedCacheSize()).isZero();
+    }
+
+    @Test
+    void parseToken_withExpiredOrMalformedToken_shouldReturnEmpty() {
+        assertThat(jwtUtil.parseToken(token("testUser", -1_000, SECRET))).isEmpty();
+        assertThat(jwtUtil.parseToken("not.a.jwt")).isEmpty();
+        assertThat(jwtUtil.parseToken("")).isEmpty();
+        assertThat(jwtUtil.parseToken(null)).isEmpty();
+    }
+
+    @Test
+    void parseToken_cachedTokenPastExpiry_shouldBeRejectedAndDropped() throws InterruptedException {
+        String token = token("testUser", 1_500, SECRET);
+        assertThat(jwtUtil.parseToken(token)).isPresent();
+
+        Thread.sleep(1_600);
+
+        assertThat(jwtUtil.parseToken(token)).isEmpty();
+        assertThat(jwtUtil.getVerifiedCacheSize()).isZero();
+    }
+
+    @Test
+    void parseToken_whenCacheFull_shouldStayBounded() {
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheMaxSize", 3);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(jwtUtil.parseToken(token("user" + i, 60_000, SECRET))).isPresent();
+        }
+
+        assertThat(jwtUtil.getVerifiedCacheSize()).isEqualTo(3);
+    }
+
+    @Test
+    void validateToken_forDifferentUser_shouldReturnFalse() {
+        String token = token("someoneElse", 60_000, SECRET);
+
+        assertThat(jwtUtil.validateToken(token, userDetails)).isFalse();
+        assertThat(jwtUtil.validateToken("garbage", userDetails)).isFalse();
+    }
+
+    @Test
+    void generateToken_forUserPrincipal_shouldEmbedIdRoleAndVersion() {
+        UserPrincipal principal = new UserPrincipal(5L, "testUser", "password", 4,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        VerifiedToken verified = jwtUtil.parseToken(jwtUtil.generateToken(principal)).orElseThrow();
+
+        assertThat(verified.isSelfContained()).isTrue();
+        assertThat(verified.getUserId()).isEqualTo(5L);
+        assertThat(verified.getRole()).isEqualTo("ROLE_ADMIN");
+        assertThat(verified.getTokenVersion()).isEqualTo(4);
+    }
+
+    @Test
+    void generateToken_forPlainUserDetails_shouldNotBeSelfContained() {
+        VerifiedToken verified = jwtUtil.parseToken(jwtUtil.generateToken(userDetails)).orElseThrow();
+
+        assertThat(verified.isSelfContained()).isFalse();
+        assertThat(verified.getUsername()).isEqualTo("testUser");
+    }
+
+    @Test
+    void bindTo_shouldTimeParsesByResult() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jwtUtil.bindTo(registry);
+        String token = jwtUtil.generateToken(userDetails);
+
+        jwtUtil.parseToken(token);
+        jwtUtil.parseToken(token);
+        jwtUtil.parseToken("not.a.token");
+
+        assertThat(registry.get("jwt.parse.duration").tag("result", "verified").timer().count()).isEqualTo(1);
+        assertThat(registry.get("jwt.parse.duration").tag("result", "cached").timer().count()).isEqualTo(1);
+        assertThat(registry.get("jwt.parse.duration").tag("result", "rejected").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.grade.rapidjavadevelopment.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetCursorTest {
+
+    @Test
+    void decode_shouldRoundTripValuesContainingSeparators() {
+        String encoded = new KeysetCursor("courseName", "Intro: Part 2", 42L).encode();
+
+        KeysetCursor decoded = KeysetCursor.decode(encoded, "courseName");
+
+        assertThat(decoded.getValue()).isEqualTo("Intro: Part 2");
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void decode_shouldKeepNullAndEmptyValuesApart() {
+        assertThat(KeysetCursor.decode(new KeysetCursor("courseName", null, 1L).encode(), "courseName").getValue())
+                .isNull();
+        assertThat(KeysetCursor.decode(new KeysetCursor("courseName", "", 1L).encode(), "courseName").getValue())
+                .isEmpty();
+    }
+
+    @Test
+    void decode_withCursorForAnotherSort_shouldFail() {
+        String encoded = new KeysetCursor("id", null, 5L).encode();
+
+        assertThatThrownBy(() -> KeysetCursor.decode(encoded, "courseName"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("%%%", "id"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resolveLimit_shouldApplyDefaultAndCap() {
+        assertThat(KeysetCursor.resolveLimit(null, 50, 200)).isEqualTo(50);
+        assertThat(KeysetCursor.resolveLimit(500, 50, 200)).isEqualTo(200);
+        assertThatThrownBy(() -> KeysetCursor.resolveLimit(0, 50, 200))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}